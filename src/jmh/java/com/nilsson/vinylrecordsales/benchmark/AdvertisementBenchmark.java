@@ -0,0 +1,45 @@
+package com.nilsson.vinylrecordsales.benchmark;
+
+import com.nilsson.vinylrecordsales.advertisement.AdvertisementDescription;
+import com.nilsson.vinylrecordsales.advertisement.AdvertisementInformationTestBuilder;
+import com.nilsson.vinylrecordsales.domain.AdvertisementInformation;
+import com.nilsson.vinylrecordsales.domain.AdvertisementInformationConverter;
+import com.nilsson.vinylrecordsales.domain.RecordInformation;
+import com.nilsson.vinylrecordsales.lookup.ExampleJsonResponses;
+import com.nilsson.vinylrecordsales.lookup.RecordInformationConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdvertisementBenchmark {
+
+    private final AdvertisementInformationConverter advertisementInformationConverter = new AdvertisementInformationConverter();
+    private RecordInformation recordInformation;
+    private AdvertisementInformation advertisementInformation;
+
+    @Setup
+    public void setUp() {
+        recordInformation = new RecordInformationConverter()
+                .getRecordInformation("Lena Philipsson - Kärleken Är Evig.", ExampleJsonResponses.releaseInfo())
+                .orElseThrow();
+        advertisementInformation = AdvertisementInformationTestBuilder.populatedAdvertisementInformationBuilder()
+                .withRecordInformation(recordInformation)
+                .build();
+    }
+
+    @Benchmark
+    public String description() {
+        return AdvertisementDescription.getDescription(recordInformation);
+    }
+
+    @Benchmark
+    public String advertisementJson() {
+        return advertisementInformationConverter.asJson(advertisementInformation).toString();
+    }
+}
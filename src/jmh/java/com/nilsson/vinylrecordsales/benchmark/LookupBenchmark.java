@@ -0,0 +1,67 @@
+package com.nilsson.vinylrecordsales.benchmark;
+
+import com.nilsson.vinylrecordsales.domain.RecordInformation;
+import com.nilsson.vinylrecordsales.lookup.ExampleJsonResponses;
+import com.nilsson.vinylrecordsales.lookup.LookupFacade;
+import com.nilsson.vinylrecordsales.lookup.LookupServiceImpl;
+import com.nilsson.vinylrecordsales.lookup.RecordInformationConverter;
+import com.nilsson.vinylrecordsales.lookup.ReleaseMatcher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupBenchmark {
+
+    private static final String CATALOGUE_NUMBER = "MLPH 1622";
+    private static final String TITLE = "Lena Philipsson - Kärleken Är Evig.";
+    private final RecordInformationConverter recordInformationConverter = new RecordInformationConverter();
+    private final ReleaseMatcher releaseMatcher = new ReleaseMatcher(new MockEnvironment().withProperty("lookup.match.country", "Sweden"));
+    private LookupServiceImpl lookupService;
+    private LookupServiceImpl ambiguousLookupService;
+    private String releaseResponse;
+
+    @Setup
+    public void setUp() {
+        releaseResponse = ExampleJsonResponses.releaseInfo();
+        lookupService = new LookupServiceImpl(new RecordedLookupFacade(ExampleJsonResponses.lookupResponse(), releaseResponse),
+                recordInformationConverter, releaseMatcher);
+        ambiguousLookupService = new LookupServiceImpl(new RecordedLookupFacade(ExampleJsonResponses.ambiguousLookupResponse(), releaseResponse),
+                recordInformationConverter, releaseMatcher);
+    }
+
+    @Benchmark
+    public Optional<RecordInformation> selectRelease() {
+        return lookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER).block();
+    }
+
+    @Benchmark
+    public Optional<RecordInformation> selectReleaseWithExtraTitleWords() {
+        return ambiguousLookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER, "Lena", "Philipsson", "Evig").block();
+    }
+
+    @Benchmark
+    public Optional<RecordInformation> convertRelease() {
+        return recordInformationConverter.getRecordInformation(TITLE, releaseResponse);
+    }
+
+    private record RecordedLookupFacade(String searchResponse, String releaseResponse) implements LookupFacade {
+        @Override
+        public Mono<String> findByCatalogueNumber(String catalogueNumber, int page) {
+            return Mono.just(searchResponse);
+        }
+
+        @Override
+        public Mono<String> getByReleaseId(Integer releaseId) {
+            return Mono.just(releaseResponse);
+        }
+    }
+}
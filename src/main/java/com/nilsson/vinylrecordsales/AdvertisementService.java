@@ -1,5 +1,7 @@
 package com.nilsson.vinylrecordsales;
 
+import com.nilsson.vinylrecordsales.domain.AdvertisementRequest;
+import com.nilsson.vinylrecordsales.domain.AdvertisementResult;
 import com.nilsson.vinylrecordsales.domain.ProductId;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -10,5 +12,9 @@ public interface AdvertisementService {
 
     Mono<ProductId> createAdvertisement(String catalogueNumber, String... extraTitleWords);
 
+    Flux<AdvertisementResult> createAdvertisements(Flux<AdvertisementRequest> requests);
+
+    Mono<AdvertisementResult> createListing(AdvertisementRequest request, Flux<URL> imageUrls);
+
     Flux<URL> addImages(ProductId productId, Flux<URL> imageUrls);
 }
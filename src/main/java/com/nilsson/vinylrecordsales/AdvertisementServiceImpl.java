@@ -1,18 +1,24 @@
 package com.nilsson.vinylrecordsales;
 
 import com.nilsson.vinylrecordsales.advertisement.AdvertisementFacade;
+import com.nilsson.vinylrecordsales.domain.AdvertisementInformation;
 import com.nilsson.vinylrecordsales.domain.AdvertisementInformationFactory;
+import com.nilsson.vinylrecordsales.domain.AdvertisementRequest;
+import com.nilsson.vinylrecordsales.domain.AdvertisementResult;
 import com.nilsson.vinylrecordsales.domain.ProductId;
 import com.nilsson.vinylrecordsales.lookup.LookupService;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URL;
+import java.util.List;
+import java.util.Optional;
 
 import static java.util.Objects.requireNonNull;
 
 public class AdvertisementServiceImpl implements AdvertisementService {
 
+    private static final int MAX_CONCURRENT = 4;
     private final LookupService lookupService;
     private final AdvertisementFacade advertisementFacade;
     private final AdvertisementInformationFactory adFactory;
@@ -33,6 +39,41 @@ public class AdvertisementServiceImpl implements AdvertisementService {
                 .log();
     }
 
+    @Override
+    public Flux<AdvertisementResult> createAdvertisements(Flux<AdvertisementRequest> requests) {
+        return requests.flatMapSequential(this::createAdvertisement, MAX_CONCURRENT);
+    }
+
+    private Mono<AdvertisementResult> createAdvertisement(AdvertisementRequest request) {
+        return createAdvertisement(request.catalogueNumber(), request.extraTitleWordsAsArray())
+                .map(productId -> AdvertisementResult.created(request, productId))
+                .defaultIfEmpty(AdvertisementResult.notFound(request))
+                .onErrorResume(error -> Mono.just(AdvertisementResult.failed(request, error)));
+    }
+
+    @Override
+    public Mono<AdvertisementResult> createListing(AdvertisementRequest request, Flux<URL> imageUrls) {
+        Mono<Optional<AdvertisementInformation>> advertisement = lookupService
+                .getRecordInformationByCatalogueNumber(request.catalogueNumber(), request.extraTitleWordsAsArray())
+                .map(recordInformation -> recordInformation.map(adFactory::fromTemplate))
+                .defaultIfEmpty(Optional.empty());
+        return Mono.zip(advertisement, imageUrls.collectList())
+                .flatMap(advertisementAndImages -> advertisementAndImages.getT1()
+                        .map(advertisementInformation -> createProductWithImages(request, advertisementInformation,
+                                advertisementAndImages.getT2()))
+                        .orElseGet(() -> Mono.just(AdvertisementResult.notFound(request))))
+                .onErrorResume(error -> Mono.just(AdvertisementResult.failed(request, error)));
+    }
+
+    private Mono<AdvertisementResult> createProductWithImages(AdvertisementRequest request,
+                                                              AdvertisementInformation advertisementInformation,
+                                                              List<URL> imageUrls) {
+        return advertisementFacade.monoCreateProduct(advertisementInformation)
+                .flatMap(productId -> addImages(productId, Flux.fromIterable(imageUrls))
+                        .then(Mono.just(AdvertisementResult.created(request, productId)))
+                        .onErrorResume(error -> Mono.just(AdvertisementResult.created(request, productId).withoutImages(error))));
+    }
+
     @Override
     public Flux<URL> addImages(ProductId productId, Flux<URL> imageUrls) {
         return advertisementFacade.addImagesToProduct(productId, imageUrls);
@@ -1,22 +1,43 @@
 package com.nilsson.vinylrecordsales;
 
-import com.cloudinary.Cloudinary;
 import com.nilsson.vinylrecordsales.advertisement.AdvertisementFacade;
 import com.nilsson.vinylrecordsales.advertisement.AdvertisementFacadeImpl;
+import com.nilsson.vinylrecordsales.advertisement.MeteredAdvertisementFacade;
+import com.nilsson.vinylrecordsales.advertisement.ResilientAdvertisementFacade;
 import com.nilsson.vinylrecordsales.domain.*;
+import com.nilsson.vinylrecordsales.file.AdvertisementRequestParser;
+import com.nilsson.vinylrecordsales.file.FileMover;
 import com.nilsson.vinylrecordsales.file.FileService;
+import com.nilsson.vinylrecordsales.image.ImageIngest;
 import com.nilsson.vinylrecordsales.image.ImageService;
 import com.nilsson.vinylrecordsales.image.ImageServiceImpl;
+import com.nilsson.vinylrecordsales.image.UploadIndex;
+import com.nilsson.vinylrecordsales.image.UploadIndexImpl;
+import com.nilsson.vinylrecordsales.image.UrlJournal;
 import com.nilsson.vinylrecordsales.image.UrlRepository;
 import com.nilsson.vinylrecordsales.image.UrlRepositoryImpl;
+import com.nilsson.vinylrecordsales.image.processing.ImageProcessor;
+import com.nilsson.vinylrecordsales.image.processing.ImageProcessorFactory;
 import com.nilsson.vinylrecordsales.image.upload.CloudinaryFactory;
 import com.nilsson.vinylrecordsales.image.upload.ImageUploadFacade;
 import com.nilsson.vinylrecordsales.image.upload.ImageUploadFacadeImpl;
+import com.nilsson.vinylrecordsales.image.upload.MeteredImageUploadFacade;
+import com.nilsson.vinylrecordsales.image.upload.ResilientImageUploadFacade;
+import com.nilsson.vinylrecordsales.job.JobRegistry;
 import com.nilsson.vinylrecordsales.lookup.*;
+import com.nilsson.vinylrecordsales.lookup.mirror.DiscogsMirror;
+import com.nilsson.vinylrecordsales.lookup.mirror.MirrorLookupFacade;
+import com.nilsson.vinylrecordsales.outbox.Outbox;
+import com.nilsson.vinylrecordsales.outbox.OutboxWorker;
+import com.nilsson.vinylrecordsales.progress.ProgressPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.env.Environment;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
 
 @Configuration
 @PropertySource("classpath:/application.properties")
@@ -24,16 +45,67 @@ public class SpringConfiguration {
 
 
     @Bean
-    public AdvertisementFacade advertisementFacade(ApiTokenFactory apiTokenFactory, WebClientFactory webClientFactory) {
-        return new AdvertisementFacadeImpl(apiTokenFactory.selloApiToken(),
-                webClientFactory.selloWebClient(),
-                new AdvertisementInformationConverter());
+    public AdvertisementFacade advertisementFacade(ApiCredentials selloCredentials, WebClientFactory webClientFactory,
+                                                   ResilienceFactory resilienceFactory, MeterRegistry meterRegistry) {
+        return new ResilientAdvertisementFacade(new MeteredAdvertisementFacade(
+                new AdvertisementFacadeImpl(webClientFactory.selloWebClient(selloCredentials),
+                        new AdvertisementInformationConverter()),
+                new UpstreamMetrics(meterRegistry, "sello")),
+                resilienceFactory.sello());
     }
 
     @Bean
-    public LookupFacade lookupFacade(ApiTokenFactory apiTokenFactory, WebClientFactory webClientFactory) {
-        return new LookupFacadeImpl(apiTokenFactory.discogsApiToken(),
-                webClientFactory.discogsWebClient());
+    public LookupFacade lookupFacade(ApiCredentials discogsCredentials, WebClientFactory webClientFactory,
+                                     LookupCache searchCache, LookupCache releaseCache,
+                                     DiscogsRateLimiter discogsRateLimiter, ResilienceFactory resilienceFactory,
+                                     DiscogsMirror discogsMirror, CatalogueNumberIndex catalogueNumberIndex,
+                                     MeterRegistry meterRegistry) {
+        LookupFacade discogsLookupFacade = new ResilientLookupFacade(new MeteredLookupFacade(new LookupFacadeImpl(
+                webClientFactory.discogsWebClient(discogsCredentials).mutate()
+                        .filter(discogsRateLimiter)
+                        .build()),
+                new UpstreamMetrics(meterRegistry, "discogs")),
+                resilienceFactory.discogs());
+        return new CorrectingLookupFacade(new MirrorLookupFacade(discogsMirror,
+                new CoalescingLookupFacade(new CachingLookupFacade(discogsLookupFacade,
+                        searchCache,
+                        releaseCache))),
+                catalogueNumberIndex);
+    }
+
+    @Bean
+    public CatalogueNumberIndex catalogueNumberIndex(Environment environment) {
+        return new CatalogueNumberIndex(environment);
+    }
+
+    @Bean
+    public DiscogsMirror discogsMirror(Environment environment) {
+        return new DiscogsMirror(environment);
+    }
+
+    @Bean
+    public LookupCache searchCache(LookupCacheFactory lookupCacheFactory) {
+        return lookupCacheFactory.searchCache();
+    }
+
+    @Bean
+    public LookupCache releaseCache(LookupCacheFactory lookupCacheFactory) {
+        return lookupCacheFactory.releaseCache();
+    }
+
+    @Bean
+    public LookupCacheMetrics lookupCacheMetrics(List<LookupCache> lookupCaches) {
+        return new LookupCacheMetrics(lookupCaches);
+    }
+
+    @Bean
+    public LookupCacheFactory lookupCacheFactory(Environment environment) {
+        return new LookupCacheFactory(environment);
+    }
+
+    @Bean
+    public DiscogsRateLimiter discogsRateLimiter(Environment environment) {
+        return new DiscogsRateLimiter(environment);
     }
 
     @Bean
@@ -41,6 +113,30 @@ public class SpringConfiguration {
         return new ApiTokenFactory(environment);
     }
 
+    @Bean
+    public ResilienceFactory resilienceFactory(Environment environment) {
+        return new ResilienceFactory(environment);
+    }
+
+    @Bean
+    public ApiCredentials discogsCredentials(ApiTokenFactory apiTokenFactory) {
+        return new ApiCredentials(apiTokenFactory.discogsApiToken());
+    }
+
+    @Bean
+    public ApiCredentials selloCredentials(ApiTokenFactory apiTokenFactory) {
+        return new ApiCredentials(apiTokenFactory.selloApiToken());
+    }
+
+    @Bean
+    public ApiTokenWatcher apiTokenWatcher(Environment environment, ApiCredentials discogsCredentials,
+                                           ApiCredentials selloCredentials) {
+        return new ApiTokenWatcher(environment)
+                .watch(ApiTokenProducer.DISCOGS, discogsCredentials::update)
+                .watch(ApiTokenProducer.SELLO, selloCredentials::update)
+                .start();
+    }
+
     @Bean
     public WebClientFactory webClientFactory(Environment environment) {
         return new WebClientFactory(environment);
@@ -57,8 +153,8 @@ public class SpringConfiguration {
     }
 
     @Bean
-    public LookupService lookupService(LookupFacade lookupFacade) {
-        return new LookupServiceImpl(lookupFacade, new RecordInformationConverter());
+    public LookupService lookupService(LookupFacade lookupFacade, Environment environment) {
+        return new LookupServiceImpl(lookupFacade, new RecordInformationConverter(), new ReleaseMatcher(environment));
     }
 
     @Bean
@@ -74,30 +170,99 @@ public class SpringConfiguration {
         return new CloudinaryFactory(environment, apiTokenFactory.cloudinaryApiToken());
     }
 
+    @Bean(destroyMethod = "dispose")
+    public Scheduler imageUploadScheduler(CloudinaryFactory cloudinaryFactory) {
+        return cloudinaryFactory.uploadScheduler();
+    }
+
+    @Bean
+    public ImageUploadFacade imageUploadFacade(CloudinaryFactory cloudinaryFactory, Scheduler imageUploadScheduler,
+                                               ApiTokenWatcher apiTokenWatcher, ResilienceFactory resilienceFactory,
+                                               MeterRegistry meterRegistry) {
+        ImageUploadFacadeImpl imageUploadFacade = new ImageUploadFacadeImpl(cloudinaryFactory.get(), imageUploadScheduler);
+        apiTokenWatcher.watch(ApiTokenProducer.CLOUDINARY, apiToken -> imageUploadFacade.update(cloudinaryFactory.get(apiToken)));
+        return new ResilientImageUploadFacade(new MeteredImageUploadFacade(imageUploadFacade,
+                new UpstreamMetrics(meterRegistry, "cloudinary")),
+                resilienceFactory.cloudinary());
+    }
+
+    @Bean
+    public ImageProcessorFactory imageProcessorFactory(Environment environment) {
+        return new ImageProcessorFactory(environment);
+    }
+
     @Bean
-    public Cloudinary cloudinary(CloudinaryFactory cloudinaryFactory) {
-        return cloudinaryFactory.get();
+    public ImageProcessor imageProcessor(ImageProcessorFactory imageProcessorFactory) {
+        return imageProcessorFactory.get();
     }
 
     @Bean
-    public ImageUploadFacade imageUploadFacade(Cloudinary cloudinary) {
-        return new ImageUploadFacadeImpl(cloudinary);
+    public FileService fileService(MeterRegistry meterRegistry) {
+        return new FileService(meterRegistry);
     }
 
     @Bean
-    public FileService fileService() {
-        return new FileService();
+    public FileMover fileMover(Environment environment) {
+        return new FileMover(environment);
     }
 
     @Bean
-    public UrlRepository urlRepository() {
-        return new UrlRepositoryImpl();
+    public AdvertisementRequestParser advertisementRequestParser() {
+        return new AdvertisementRequestParser();
     }
 
     @Bean
-    public ImageService imageService(ImageUploadFacade imageUploadFacade, UrlRepository urlRepository) {
-        return new ImageServiceImpl(imageUploadFacade,
+    public UrlJournal urlJournal(Environment environment) {
+        return new UrlJournal(environment);
+    }
+
+    @Bean
+    public UrlRepository urlRepository(UrlJournal urlJournal) {
+        return new UrlRepositoryImpl(urlJournal);
+    }
+
+    @Bean
+    public UploadIndex uploadIndex(Environment environment) {
+        return new UploadIndexImpl(environment);
+    }
+
+    @Bean
+    public ImageService imageService(ImageProcessor imageProcessor, ImageUploadFacade imageUploadFacade,
+                                     UploadIndex uploadIndex, UrlRepository urlRepository) {
+        return new ImageServiceImpl(imageProcessor,
+                imageUploadFacade,
+                uploadIndex,
                 urlRepository);
     }
 
+    @Bean
+    public ImageIngest imageIngest(Environment environment, ImageService imageService,
+                                   ProgressPublisher progressPublisher) {
+        return new ImageIngest(environment, imageService, progressPublisher).start();
+    }
+
+    @Bean
+    public JobRegistry jobRegistry(Environment environment) {
+        return new JobRegistry(environment);
+    }
+
+    @Bean
+    public ProgressPublisher progressPublisher(Environment environment) {
+        return new ProgressPublisher(environment);
+    }
+
+    @Bean
+    public Outbox outbox(Environment environment) {
+        return new Outbox(environment);
+    }
+
+    @Bean
+    public OutboxWorker outboxWorker(Outbox outbox, LookupService lookupService,
+                                     AdvertisementInformationFactory adFactory,
+                                     AdvertisementFacade advertisementFacade, ImageService imageService,
+                                     Environment environment) {
+        return new OutboxWorker(outbox, lookupService, adFactory, advertisementFacade, imageService, environment)
+                .start();
+    }
+
 }
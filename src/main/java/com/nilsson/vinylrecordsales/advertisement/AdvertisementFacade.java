@@ -8,6 +8,8 @@ import reactor.core.publisher.Mono;
 import java.net.URL;
 
 public interface AdvertisementFacade {
+	int MAX_IMAGES_PER_REQUEST = 10;
+
 	ProductId createProduct(AdvertisementInformation advertisementInformation);
 
 	Mono<ProductId> monoCreateProduct(AdvertisementInformation advertisementInformation);
@@ -2,7 +2,6 @@ package com.nilsson.vinylrecordsales.advertisement;
 
 import com.nilsson.vinylrecordsales.domain.AdvertisementInformation;
 import com.nilsson.vinylrecordsales.domain.AdvertisementInformationConverter;
-import com.nilsson.vinylrecordsales.domain.ApiToken;
 import com.nilsson.vinylrecordsales.domain.ProductId;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -13,22 +12,17 @@ import reactor.core.publisher.Mono;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.List;
 import java.util.function.Function;
 
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
-import static org.springframework.http.HttpHeaders.AUTHORIZATION;
-import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
-import static org.springframework.http.MediaType.APPLICATION_JSON;
-import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 public class AdvertisementFacadeImpl implements AdvertisementFacade {
-    private final ApiToken apiToken;
     private final WebClient client;
     private final AdvertisementInformationConverter converter;
 
-    public AdvertisementFacadeImpl(ApiToken apiToken, WebClient client, AdvertisementInformationConverter converter) {
-        this.apiToken = requireNonNull(apiToken, "apiToken");
+    public AdvertisementFacadeImpl(WebClient client, AdvertisementInformationConverter converter) {
         this.client = requireNonNull(client, "client");
         this.converter = requireNonNull(converter, "converter");
     }
@@ -48,9 +42,6 @@ public class AdvertisementFacadeImpl implements AdvertisementFacade {
         String requestBody = converter.asJson(advertisementInformation).toString();
         return client.post()
                 .uri("/products")
-                .header(CONTENT_TYPE, APPLICATION_JSON_VALUE)
-                .header(AUTHORIZATION, apiToken.getToken())
-                .accept(APPLICATION_JSON)
                 .body(BodyInserters.fromValue(requestBody))
                 .retrieve()
                 .bodyToMono(String.class)
@@ -61,21 +52,22 @@ public class AdvertisementFacadeImpl implements AdvertisementFacade {
 
     @Override
     public Flux<URL> addImagesToProduct(ProductId productId, Flux<URL> imageUrls) {
+        return imageUrls.buffer(MAX_IMAGES_PER_REQUEST)
+                .concatMap(batch -> postImages(productId, batch))
+                .takeLast(1)
+                .flatMap(this::getElements);
+    }
+
+    private Mono<JSONArray> postImages(ProductId productId, List<URL> imageUrls) {
         String requestBody = converter.asJson(imageUrls).toString();
         return client.post()
                 .uri(format("/products/%s/images", productId.id()))
-                .header(CONTENT_TYPE, APPLICATION_JSON_VALUE)
-                .header(AUTHORIZATION, apiToken.getToken())
-                .accept(APPLICATION_JSON)
                 .body(BodyInserters.fromValue(requestBody))
                 .retrieve()
                 .bodyToMono(String.class)
                 .map(JSONObject::new)
                 .map(jsonObject -> jsonObject.getJSONObject("data"))
-                .map(jsonObject -> jsonObject.getJSONArray("images"))
-                .flatMapMany(this::getElements);
-
-
+                .map(jsonObject -> jsonObject.getJSONArray("images"));
     }
 
     private Flux<URL> getElements(JSONArray array) {
@@ -0,0 +1,38 @@
+package com.nilsson.vinylrecordsales.advertisement;
+
+import com.nilsson.vinylrecordsales.domain.AdvertisementInformation;
+import com.nilsson.vinylrecordsales.domain.ProductId;
+import com.nilsson.vinylrecordsales.domain.UpstreamMetrics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URL;
+
+import static java.util.Objects.requireNonNull;
+
+public class MeteredAdvertisementFacade implements AdvertisementFacade {
+    private static final String CREATE_PRODUCT = "createProduct";
+    private static final String ADD_IMAGES = "addImages";
+    private final AdvertisementFacade advertisementFacade;
+    private final UpstreamMetrics metrics;
+
+    public MeteredAdvertisementFacade(AdvertisementFacade advertisementFacade, UpstreamMetrics metrics) {
+        this.advertisementFacade = requireNonNull(advertisementFacade, "advertisementFacade");
+        this.metrics = requireNonNull(metrics, "metrics");
+    }
+
+    @Override
+    public ProductId createProduct(AdvertisementInformation advertisementInformation) {
+        return metrics.time(CREATE_PRODUCT, () -> advertisementFacade.createProduct(advertisementInformation));
+    }
+
+    @Override
+    public Mono<ProductId> monoCreateProduct(AdvertisementInformation advertisementInformation) {
+        return metrics.time(CREATE_PRODUCT, advertisementFacade.monoCreateProduct(advertisementInformation));
+    }
+
+    @Override
+    public Flux<URL> addImagesToProduct(ProductId productId, Flux<URL> imageUrls) {
+        return metrics.time(ADD_IMAGES, advertisementFacade.addImagesToProduct(productId, imageUrls));
+    }
+}
@@ -0,0 +1,47 @@
+package com.nilsson.vinylrecordsales.advertisement;
+
+import com.nilsson.vinylrecordsales.domain.AdvertisementInformation;
+import com.nilsson.vinylrecordsales.domain.ProductId;
+import com.nilsson.vinylrecordsales.domain.UpstreamResilience;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URL;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+public class ResilientAdvertisementFacade implements AdvertisementFacade {
+    private final AdvertisementFacade advertisementFacade;
+    private final UpstreamResilience resilience;
+
+    public ResilientAdvertisementFacade(AdvertisementFacade advertisementFacade, UpstreamResilience resilience) {
+        this.advertisementFacade = requireNonNull(advertisementFacade, "advertisementFacade");
+        this.resilience = requireNonNull(resilience, "resilience");
+    }
+
+    @Override
+    public ProductId createProduct(AdvertisementInformation advertisementInformation) {
+        try {
+            return monoCreateProduct(advertisementInformation)
+                    .block();
+        } catch (Exception e) {
+            throw new AdvertisementFacadeException(format("Error creating product. advertisementInformation=%s", advertisementInformation), e);
+        }
+    }
+
+    @Override
+    public Mono<ProductId> monoCreateProduct(AdvertisementInformation advertisementInformation) {
+        return resilience.apply(advertisementFacade.monoCreateProduct(advertisementInformation));
+    }
+
+    @Override
+    public Flux<URL> addImagesToProduct(ProductId productId, Flux<URL> imageUrls) {
+        return imageUrls.buffer(MAX_IMAGES_PER_REQUEST)
+                .concatMap(batch -> resilience.apply(advertisementFacade.addImagesToProduct(productId, Flux.fromIterable(batch)))
+                        .collectList())
+                .takeLast(1)
+                .flatMapIterable(Function.identity());
+    }
+}
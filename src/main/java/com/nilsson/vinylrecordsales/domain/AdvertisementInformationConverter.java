@@ -2,9 +2,9 @@ package com.nilsson.vinylrecordsales.domain;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
-import reactor.core.publisher.Flux;
 
 import java.net.URL;
+import java.util.List;
 
 public class AdvertisementInformationConverter {
 
@@ -65,9 +65,9 @@ public class AdvertisementInformationConverter {
         return texts;
     }
 
-    public JSONObject asJson(Flux<URL> imageUrls) {
+    public JSONObject asJson(List<URL> imageUrls) {
         final JSONArray urls = new JSONArray();
-        imageUrls.subscribe(urls::put);
+        imageUrls.forEach(urls::put);
         final JSONObject parentJson = new JSONObject();
         parentJson.put("urls", urls);
         return parentJson;
@@ -0,0 +1,17 @@
+package com.nilsson.vinylrecordsales.domain;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+public record AdvertisementRequest(Integer row, String catalogueNumber, List<String> extraTitleWords) {
+    public AdvertisementRequest {
+        requireNonNull(row, "row");
+        requireNonNull(catalogueNumber, "catalogueNumber");
+        extraTitleWords = List.copyOf(requireNonNull(extraTitleWords, "extraTitleWords"));
+    }
+
+    public String[] extraTitleWordsAsArray() {
+        return extraTitleWords.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,38 @@
+package com.nilsson.vinylrecordsales.domain;
+
+import static java.util.Objects.requireNonNull;
+
+public record AdvertisementResult(AdvertisementRequest request, Status status, ProductId productId, String message) {
+    public AdvertisementResult {
+        requireNonNull(request, "request");
+        requireNonNull(status, "status");
+    }
+
+    public static AdvertisementResult created(AdvertisementRequest request, ProductId productId) {
+        return new AdvertisementResult(request, Status.CREATED, requireNonNull(productId, "productId"), null);
+    }
+
+    public static AdvertisementResult notFound(AdvertisementRequest request) {
+        return new AdvertisementResult(request, Status.NOT_FOUND, null,
+                "Could not determine a unique release for the catalogue number");
+    }
+
+    public static AdvertisementResult failed(AdvertisementRequest request, Throwable error) {
+        return new AdvertisementResult(request, Status.FAILED, null, error.getMessage());
+    }
+
+    public AdvertisementResult withoutImages(Throwable error) {
+        return new AdvertisementResult(request, Status.CREATED_WITHOUT_IMAGES, productId, error.getMessage());
+    }
+
+    public boolean isCreated() {
+        return status == Status.CREATED;
+    }
+
+    public enum Status {
+        CREATED,
+        CREATED_WITHOUT_IMAGES,
+        NOT_FOUND,
+        FAILED
+    }
+}
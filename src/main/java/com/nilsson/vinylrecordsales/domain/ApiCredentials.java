@@ -0,0 +1,44 @@
+package com.nilsson.vinylrecordsales.domain;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+public class ApiCredentials implements ExchangeFilterFunction {
+    private final ApiTokenProducer apiTokenProducer;
+    private volatile String authorization;
+
+    public ApiCredentials(ApiToken apiToken) {
+        this.apiTokenProducer = requireNonNull(apiToken, "apiToken").getTokenProducer();
+        this.authorization = authorizationFor(apiToken);
+    }
+
+    public void update(ApiToken apiToken) {
+        if (requireNonNull(apiToken, "apiToken").getTokenProducer() != apiTokenProducer) {
+            throw new IllegalArgumentException(format("Expected %s token, got %s", apiTokenProducer, apiToken.getTokenProducer()));
+        }
+        this.authorization = authorizationFor(apiToken);
+    }
+
+    public ApiTokenProducer getTokenProducer() {
+        return apiTokenProducer;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String currentAuthorization = authorization;
+        return next.exchange(ClientRequest.from(request)
+                .headers(headers -> headers.set(AUTHORIZATION, currentAuthorization))
+                .build());
+    }
+
+    private static String authorizationFor(ApiToken apiToken) {
+        return format(apiToken.getTokenProducer().getHeaderFormat(), apiToken.getToken());
+    }
+}
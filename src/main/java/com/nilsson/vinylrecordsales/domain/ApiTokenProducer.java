@@ -1,18 +1,24 @@
 package com.nilsson.vinylrecordsales.domain;
 
 public enum ApiTokenProducer {
-    DISCOGS("api.token.path.discogs"),
-    SELLO("api.token.path.sello"),
-    CLOUDINARY("api.token.path.cloudinary");
+    DISCOGS("api.token.path.discogs", "Discogs token=%s"),
+    SELLO("api.token.path.sello", "%s"),
+    CLOUDINARY("api.token.path.cloudinary", "%s");
 
     private final String property;
+    private final String headerFormat;
 
-    ApiTokenProducer(String property) {
+    ApiTokenProducer(String property, String headerFormat) {
 
         this.property = property;
+        this.headerFormat = headerFormat;
     }
 
     public String getProperty() {
         return property;
     }
+
+    public String getHeaderFormat() {
+        return headerFormat;
+    }
 }
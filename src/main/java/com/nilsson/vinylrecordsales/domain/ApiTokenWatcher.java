@@ -0,0 +1,97 @@
+package com.nilsson.vinylrecordsales.domain;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.*;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.Objects.requireNonNull;
+
+public class ApiTokenWatcher implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final String THREAD_NAME = "api-token-watcher";
+    private final Environment environment;
+    private final WatchService watchService;
+    private final Map<Path, List<Registration>> registrations = new ConcurrentHashMap<>();
+    private final Thread thread;
+
+    public ApiTokenWatcher(Environment environment) {
+        this.environment = requireNonNull(environment, "environment");
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.thread = new Thread(this::run, THREAD_NAME);
+        this.thread.setDaemon(true);
+    }
+
+    public ApiTokenWatcher watch(ApiTokenProducer apiTokenProducer, Consumer<ApiToken> listener) {
+        Path tokenFile = Path.of(environment.getRequiredProperty(apiTokenProducer.getProperty())).toAbsolutePath();
+        Path directory = tokenFile.getParent();
+        try {
+            directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        registrations.computeIfAbsent(directory, d -> new CopyOnWriteArrayList<>())
+                .add(new Registration(tokenFile.getFileName(), apiTokenProducer, listener));
+        return this;
+    }
+
+    public ApiTokenWatcher start() {
+        thread.start();
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path changed) {
+                        registrations.getOrDefault(directory, List.of()).stream()
+                                .filter(registration -> registration.fileName().equals(changed))
+                                .forEach(this::reload);
+                    }
+                }
+                key.reset();
+            }
+        } catch (ClosedWatchServiceException e) {
+            LOG.debug("Stopped watching api tokens");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reload(Registration registration) {
+        try {
+            ApiToken apiToken = new ApiToken(environment, registration.apiTokenProducer());
+            registration.listener().accept(apiToken);
+            LOG.info("Reloaded token for {} API", registration.apiTokenProducer());
+        } catch (RuntimeException e) {
+            LOG.warn("Keeping previous {} token, failed reloading it", registration.apiTokenProducer(), e);
+        }
+    }
+
+    private record Registration(Path fileName, ApiTokenProducer apiTokenProducer, Consumer<ApiToken> listener) {
+    }
+}
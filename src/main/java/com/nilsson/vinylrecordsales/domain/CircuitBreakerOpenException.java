@@ -0,0 +1,9 @@
+package com.nilsson.vinylrecordsales.domain;
+
+import static java.lang.String.format;
+
+public class CircuitBreakerOpenException extends RuntimeException {
+    public CircuitBreakerOpenException(String upstream) {
+        super(format("Circuit breaker for %s is open, failing fast", upstream));
+    }
+}
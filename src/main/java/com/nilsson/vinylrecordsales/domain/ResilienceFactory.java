@@ -0,0 +1,65 @@
+package com.nilsson.vinylrecordsales.domain;
+
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+public class ResilienceFactory {
+    private static final String DISCOGS = "discogs";
+    private static final String SELLO = "sello";
+    private static final String CLOUDINARY = "cloudinary";
+    private final Environment environment;
+
+    public ResilienceFactory(Environment environment) {
+        this.environment = requireNonNull(environment, "environment");
+    }
+
+    public UpstreamResilience discogs() {
+        return resilience(DISCOGS, UpstreamResilience::isTransientFailure);
+    }
+
+    public UpstreamResilience sello() {
+        return resilience(SELLO, UpstreamResilience::isConnectionFailure);
+    }
+
+    public UpstreamResilience cloudinary() {
+        return resilience(CLOUDINARY, UpstreamResilience::isConnectionFailure);
+    }
+
+    private UpstreamResilience resilience(String upstream, Predicate<Throwable> retryable) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(upstream,
+                Integer.parseInt(ResilienceProperty.FAILURE_THRESHOLD.get(environment, upstream)),
+                Duration.parse(ResilienceProperty.OPEN_DURATION.get(environment, upstream)));
+        return new UpstreamResilience(circuitBreaker,
+                Duration.parse(ResilienceProperty.TIMEOUT.get(environment, upstream)),
+                Integer.parseInt(ResilienceProperty.MAX_RETRIES.get(environment, upstream)),
+                Duration.parse(ResilienceProperty.MIN_BACKOFF.get(environment, upstream)),
+                Duration.parse(ResilienceProperty.MAX_BACKOFF.get(environment, upstream)),
+                Double.parseDouble(ResilienceProperty.JITTER.get(environment, upstream)),
+                retryable);
+    }
+
+    enum ResilienceProperty {
+        TIMEOUT("timeout"),
+        MAX_RETRIES("maxretries"),
+        MIN_BACKOFF("backoff.min"),
+        MAX_BACKOFF("backoff.max"),
+        JITTER("backoff.jitter"),
+        FAILURE_THRESHOLD("circuitbreaker.failurethreshold"),
+        OPEN_DURATION("circuitbreaker.open");
+
+        private static final String PREFIX = "resilience.";
+        public final String value;
+
+        ResilienceProperty(String value) {
+            this.value = value;
+        }
+
+        String get(Environment environment, String upstream) {
+            return environment.getRequiredProperty(PREFIX + upstream + "." + value);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.nilsson.vinylrecordsales.domain;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+public class UpstreamMetrics {
+    static final String TIMER_NAME = "vinyl.upstream.requests";
+    static final String UPSTREAM_TAG = "upstream";
+    static final String OPERATION_TAG = "operation";
+    static final String OUTCOME_TAG = "outcome";
+    static final String EXCEPTION_TAG = "exception";
+    private static final String NONE = "none";
+    private final MeterRegistry registry;
+    private final String upstream;
+
+    public UpstreamMetrics(MeterRegistry registry, String upstream) {
+        this.registry = requireNonNull(registry, "registry");
+        this.upstream = requireNonNull(upstream, "upstream");
+    }
+
+    public <T> Mono<T> time(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return call
+                    .doOnSuccess(value -> sample.stop(timer(operation, value == null ? Outcome.EMPTY : Outcome.SUCCESS, NONE)))
+                    .doOnError(e -> sample.stop(timer(operation, Outcome.ERROR, e.getClass().getSimpleName())))
+                    .doOnCancel(() -> sample.stop(timer(operation, Outcome.CANCELLED, NONE)));
+        });
+    }
+
+    public <T> Flux<T> time(String operation, Flux<T> call) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return call
+                    .doOnComplete(() -> sample.stop(timer(operation, Outcome.SUCCESS, NONE)))
+                    .doOnError(e -> sample.stop(timer(operation, Outcome.ERROR, e.getClass().getSimpleName())))
+                    .doOnCancel(() -> sample.stop(timer(operation, Outcome.CANCELLED, NONE)));
+        });
+    }
+
+    public <T> T time(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            T value = call.get();
+            sample.stop(timer(operation, Outcome.SUCCESS, NONE));
+            return value;
+        } catch (RuntimeException e) {
+            sample.stop(timer(operation, Outcome.ERROR, e.getClass().getSimpleName()));
+            throw e;
+        }
+    }
+
+    private Timer timer(String operation, Outcome outcome, String exception) {
+        return Timer.builder(TIMER_NAME)
+                .description("Latency of calls to external services")
+                .tag(UPSTREAM_TAG, upstream)
+                .tag(OPERATION_TAG, operation)
+                .tag(OUTCOME_TAG, outcome.value)
+                .tag(EXCEPTION_TAG, exception)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    enum Outcome {
+        SUCCESS("success"),
+        EMPTY("empty"),
+        ERROR("error"),
+        CANCELLED("cancelled");
+
+        final String value;
+
+        Outcome(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.nilsson.vinylrecordsales.domain;
+
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+public class UpstreamResilience {
+    private final CircuitBreaker circuitBreaker;
+    private final Duration timeout;
+    private final RetryBackoffSpec retry;
+    private final Predicate<Throwable> retryable;
+
+    public UpstreamResilience(CircuitBreaker circuitBreaker, Duration timeout, int maxRetries,
+                              Duration minBackoff, Duration maxBackoff, double jitter, Predicate<Throwable> retryable) {
+        this.circuitBreaker = requireNonNull(circuitBreaker, "circuitBreaker");
+        this.timeout = requireNonNull(timeout, "timeout");
+        this.retryable = requireNonNull(retryable, "retryable");
+        this.retry = Retry.backoff(maxRetries, requireNonNull(minBackoff, "minBackoff"))
+                .maxBackoff(requireNonNull(maxBackoff, "maxBackoff"))
+                .jitter(jitter)
+                .filter(retryable)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    public <T> Mono<T> apply(Mono<T> call) {
+        return Mono.defer(() -> circuitBreaker.tryAcquire()
+                        ? call.timeout(timeout)
+                        .doOnSuccess(value -> circuitBreaker.onSuccess())
+                        .doOnError(this::record)
+                        .doOnCancel(circuitBreaker::onIgnored)
+                        : Mono.<T>error(new CircuitBreakerOpenException(circuitBreaker.getName())))
+                .retryWhen(retry);
+    }
+
+    public <T> Flux<T> apply(Flux<T> call) {
+        return Flux.defer(() -> circuitBreaker.tryAcquire()
+                        ? call.timeout(timeout)
+                        .doOnComplete(circuitBreaker::onSuccess)
+                        .doOnError(this::record)
+                        .doOnCancel(circuitBreaker::onIgnored)
+                        : Flux.<T>error(new CircuitBreakerOpenException(circuitBreaker.getName())))
+                .retryWhen(retry);
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    private void record(Throwable failure) {
+        if (isTransientFailure(failure) || retryable.test(failure)) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onIgnored();
+        }
+    }
+
+    public static boolean isTransientFailure(Throwable failure) {
+        return failure instanceof TimeoutException
+                || failure instanceof IOException
+                || failure instanceof WebClientRequestException
+                || failure instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError();
+    }
+
+    public static boolean isConnectionFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException) return true;
+        }
+        return false;
+    }
+}
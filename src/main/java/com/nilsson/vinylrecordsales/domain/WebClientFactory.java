@@ -1,23 +1,72 @@
 package com.nilsson.vinylrecordsales.domain;
 
+import io.netty.channel.ChannelOption;
 import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static java.util.Objects.requireNonNull;
+import static org.springframework.http.HttpHeaders.ACCEPT;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
-public class WebClientFactory {
+public class WebClientFactory implements AutoCloseable {
     private final Environment environment;
+    private final List<ConnectionProvider> connectionProviders = new CopyOnWriteArrayList<>();
 
     public WebClientFactory(Environment environment) {
         this.environment = requireNonNull(environment, "environment");
     }
 
-    public WebClient discogsWebClient() {
-        return WebClient.create(requireNonNull(environment.getProperty(UrlProperty.DISCOGS.value)));
+    public WebClient discogsWebClient(ApiCredentials credentials) {
+        return webClient(UrlProperty.DISCOGS, credentials);
+    }
+
+    public WebClient selloWebClient(ApiCredentials credentials) {
+        return webClient(UrlProperty.SELLO, credentials);
+    }
+
+    @Override
+    public void close() {
+        connectionProviders.forEach(ConnectionProvider::dispose);
     }
 
-    public WebClient selloWebClient() {
-        return WebClient.create(requireNonNull(environment.getProperty(UrlProperty.SELLO.value)));
+    private WebClient webClient(UrlProperty upstream, ApiCredentials credentials) {
+        ConnectionSettings settings = ConnectionSettings.of(environment, upstream.name().toLowerCase());
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(upstream.name().toLowerCase())
+                .maxConnections(settings.maxConnections())
+                .pendingAcquireMaxCount(settings.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(settings.pendingAcquireTimeout())
+                .maxIdleTime(settings.maxIdleTime())
+                .maxLifeTime(settings.maxLifeTime())
+                .evictInBackground(settings.evictInBackground())
+                .lifo()
+                .metrics(true)
+                .build();
+        connectionProviders.add(connectionProvider);
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.connectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, settings.keepAlive())
+                .keepAlive(settings.keepAlive())
+                .compress(settings.compression())
+                .responseTimeout(settings.responseTimeout())
+                .protocol(settings.http2()
+                        ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11});
+        return WebClient.builder()
+                .baseUrl(environment.getRequiredProperty(upstream.value))
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                .defaultHeader(ACCEPT, APPLICATION_JSON_VALUE)
+                .filter(requireNonNull(credentials, "credentials"))
+                .build();
     }
 
     public enum UrlProperty {
@@ -30,4 +79,57 @@ public class WebClientFactory {
             this.value = value;
         }
     }
+
+    record ConnectionSettings(int maxConnections,
+                              int pendingAcquireMaxCount,
+                              Duration pendingAcquireTimeout,
+                              Duration maxIdleTime,
+                              Duration maxLifeTime,
+                              Duration evictInBackground,
+                              Duration connectTimeout,
+                              Duration responseTimeout,
+                              boolean keepAlive,
+                              boolean compression,
+                              boolean http2) {
+
+        static ConnectionSettings of(Environment environment, String upstream) {
+            return new ConnectionSettings(
+                    Integer.parseInt(ConnectionProperty.MAX_CONNECTIONS.get(environment, upstream)),
+                    Integer.parseInt(ConnectionProperty.PENDING_ACQUIRE_MAX_COUNT.get(environment, upstream)),
+                    Duration.parse(ConnectionProperty.PENDING_ACQUIRE_TIMEOUT.get(environment, upstream)),
+                    Duration.parse(ConnectionProperty.MAX_IDLE_TIME.get(environment, upstream)),
+                    Duration.parse(ConnectionProperty.MAX_LIFE_TIME.get(environment, upstream)),
+                    Duration.parse(ConnectionProperty.EVICT_IN_BACKGROUND.get(environment, upstream)),
+                    Duration.parse(ConnectionProperty.CONNECT_TIMEOUT.get(environment, upstream)),
+                    Duration.parse(ConnectionProperty.RESPONSE_TIMEOUT.get(environment, upstream)),
+                    Boolean.parseBoolean(ConnectionProperty.KEEP_ALIVE.get(environment, upstream)),
+                    Boolean.parseBoolean(ConnectionProperty.COMPRESSION.get(environment, upstream)),
+                    Boolean.parseBoolean(ConnectionProperty.HTTP2.get(environment, upstream)));
+        }
+    }
+
+    enum ConnectionProperty {
+        MAX_CONNECTIONS("maxconnections"),
+        PENDING_ACQUIRE_MAX_COUNT("pendingacquire.maxcount"),
+        PENDING_ACQUIRE_TIMEOUT("pendingacquire.timeout"),
+        MAX_IDLE_TIME("maxidletime"),
+        MAX_LIFE_TIME("maxlifetime"),
+        EVICT_IN_BACKGROUND("evictinbackground"),
+        CONNECT_TIMEOUT("connecttimeout"),
+        RESPONSE_TIMEOUT("responsetimeout"),
+        KEEP_ALIVE("keepalive"),
+        COMPRESSION("compression"),
+        HTTP2("http2");
+
+        private static final String PREFIX = "api.connection.";
+        public final String value;
+
+        ConnectionProperty(String value) {
+            this.value = value;
+        }
+
+        String get(Environment environment, String upstream) {
+            return environment.getRequiredProperty(PREFIX + upstream + "." + value);
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package com.nilsson.vinylrecordsales.file;
+
+import com.nilsson.vinylrecordsales.domain.AdvertisementRequest;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+public class AdvertisementRequestParser {
+    private static final Pattern TAB = Pattern.compile("\t");
+    private static final Pattern CSV_SEPARATOR = Pattern.compile("[;,]");
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[\\s;,]+");
+    private static final String COMMENT = "#";
+
+    public Flux<AdvertisementRequest> parse(Flux<DataBuffer> content) {
+        Flux<String> lines = StringDecoder.textPlainOnly()
+                .decode(content, ResolvableType.forClass(String.class), null, null);
+        return parseLines(lines);
+    }
+
+    public Flux<AdvertisementRequest> parseLines(Flux<String> lines) {
+        AtomicInteger row = new AtomicInteger();
+        return lines.map(line -> new NumberedLine(row.incrementAndGet(), line.strip()))
+                .filter(line -> !line.text().isEmpty() && !line.text().startsWith(COMMENT))
+                .map(this::toRequest);
+    }
+
+    private AdvertisementRequest toRequest(NumberedLine line) {
+        Pattern separator = line.text().contains("\t") ? TAB : CSV_SEPARATOR;
+        String[] columns = separator.split(line.text(), 2);
+        String catalogueNumber = columns[0].strip();
+        List<String> extraTitleWords = columns.length > 1 ? words(columns[1]) : List.of();
+        return new AdvertisementRequest(line.row(), catalogueNumber, extraTitleWords);
+    }
+
+    private List<String> words(String column) {
+        return Arrays.stream(WORD_SEPARATOR.split(column.strip()))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    private record NumberedLine(int row, String text) {
+    }
+}
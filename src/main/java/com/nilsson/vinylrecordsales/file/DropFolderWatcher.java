@@ -0,0 +1,95 @@
+package com.nilsson.vinylrecordsales.file;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+import static java.util.Objects.requireNonNull;
+
+public class DropFolderWatcher implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final String THREAD_NAME = "drop-folder-watcher";
+    private final Path directory;
+    private final Duration settle;
+    private final WatchService watchService;
+    private final Sinks.Many<Path> changes = Sinks.many().multicast().onBackpressureBuffer();
+    private final Thread thread;
+
+    public DropFolderWatcher(Path directory, Duration settle) {
+        this.directory = requireNonNull(directory, "directory").toAbsolutePath();
+        this.settle = requireNonNull(settle, "settle");
+        try {
+            Files.createDirectories(this.directory);
+            this.watchService = FileSystems.getDefault().newWatchService();
+            this.directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.thread = new Thread(this::run, THREAD_NAME);
+        this.thread.setDaemon(true);
+    }
+
+    public DropFolderWatcher start() {
+        thread.start();
+        LOG.info("Watching {} for new images", directory);
+        return this;
+    }
+
+    public Flux<File> images() {
+        return Flux.defer(() -> {
+            Set<Path> ingested = ConcurrentHashMap.newKeySet();
+            return changes.asFlux()
+                    .filter(FileService::isImage)
+                    .groupBy(Function.identity())
+                    .flatMap(writes -> writes.sampleTimeout(path -> Mono.delay(settle)).take(1), Integer.MAX_VALUE)
+                    .filter(Files::isRegularFile)
+                    .filter(path -> {
+                        if (ingested.add(path)) return true;
+
+                        LOG.info("Ignoring change to {}, it has already been ingested", path);
+                        return false;
+                    })
+                    .map(Path::toFile);
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        changes.tryEmitComplete();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        LOG.warn("Missed file events in {}, images dropped meanwhile have to be uploaded manually", directory);
+                    } else if (event.context() instanceof Path changed) {
+                        changes.tryEmitNext(directory.resolve(changed));
+                    }
+                }
+                key.reset();
+            }
+        } catch (ClosedWatchServiceException e) {
+            LOG.debug("Stopped watching {}", directory);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
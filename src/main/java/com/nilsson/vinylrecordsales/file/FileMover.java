@@ -1,51 +1,164 @@
 package com.nilsson.vinylrecordsales.file;
 
-import java.io.File;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Arrays;
+import java.lang.invoke.MethodHandles;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.stream.IntStream;
 
+import static com.nilsson.vinylrecordsales.file.FileMover.FileMoverConfigProperty.*;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+import static java.util.Objects.requireNonNull;
+
+public class FileMover implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final String THREAD_NAME = "file-mover";
+    private final int parallelism;
+    private final boolean hardLinks;
+    private final Scheduler scheduler;
+
+    public FileMover(Environment environment) {
+        this(Integer.parseInt(requireNonNull(environment, "environment").getRequiredProperty(PARALLELISM.value)),
+                Boolean.parseBoolean(environment.getRequiredProperty(HARD_LINKS.value)));
+    }
+
+    FileMover(int parallelism, boolean hardLinks) {
+        this.parallelism = parallelism;
+        this.hardLinks = hardLinks;
+        this.scheduler = Schedulers.newBoundedElastic(parallelism, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, THREAD_NAME);
+    }
 
-public class FileMover {
-    private static final Path SOURCE_DIR = Paths.get("/home/andreas/Bilder/lp");
-    private static final Path TARGET_DIR = Paths.get("/home/andreas/Bilder/interesting_lp");
+    public Flux<Path> copyEveryNthFile(Path source, Path target, int everyNthFile) {
+        if (everyNthFile < 1) {
+            throw new IllegalArgumentException("everyNthFile must be at least 1, was " + everyNthFile);
+        }
+        if (source.toAbsolutePath().normalize().equals(target.toAbsolutePath().normalize())) {
+            throw new IllegalArgumentException("Target must differ from source, was " + target);
+        }
+        return Mono.fromCallable(() -> filesOrderedByModified(source))
+                .subscribeOn(scheduler)
+                .doOnNext(files -> createDirectories(target))
+                .flatMapMany(files -> Flux.fromStream(IntStream.iterate(0, i -> i < files.size(), i -> i + everyNthFile)
+                        .mapToObj(files::get)))
+                .flatMap(file -> Mono.fromCallable(() -> copy(file, target.resolve(file.path().getFileName())))
+                        .subscribeOn(scheduler), parallelism);
+    }
 
-    public static void moveEveryNthFiles(Path source, Path target, int everyNthFile) {
-        List<Path> files;
+    @Override
+    public void close() {
+        scheduler.dispose();
+    }
+
+    private static List<SourceFile> filesOrderedByModified(Path source) throws IOException {
+        List<SourceFile> files = new ArrayList<>();
+        Files.walkFileTree(source, EnumSet.noneOf(FileVisitOption.class), 1, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (attributes.isRegularFile()) {
+                    files.add(new SourceFile(file, attributes.lastModifiedTime(), attributes.size()));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        files.sort(Comparator.comparing(SourceFile::lastModified)
+                .thenComparing(file -> file.path().getFileName().toString()));
+        return files;
+    }
+
+    private Path copy(SourceFile file, Path target) throws IOException {
+        if (Files.exists(target) && Files.isSameFile(file.path(), target)) {
+            LOG.debug("{} is already {}, skipping", target, file.path());
+            return target;
+        }
+        Path temporary = target.resolveSibling(target.getFileName() + ".part-" + UUID.randomUUID());
         try {
-            files = getFilesOrderedByModified(source);
+            if (!hardLinks || !link(file.path(), temporary)) {
+                transfer(file, temporary);
+            }
+            Files.move(temporary, target, ATOMIC_MOVE, REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return target;
+    }
 
-            for (var i = 0; i < files.size(); i++) {
-                if (i % everyNthFile == 0) {
-                    var sourceFilePath = files.get(i);
-                    var fileName = sourceFilePath.getFileName();
-                    Files.copy(sourceFilePath, target.resolve(fileName.toString()), REPLACE_EXISTING);
+    private static void transfer(SourceFile file, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(file.path(), READ);
+             FileChannel out = FileChannel.open(target, CREATE_NEW, WRITE)) {
+            long position = 0;
+            while (position < file.size()) {
+                long transferred = in.transferTo(position, file.size() - position, out);
+                if (transferred == 0) {
+                    LOG.warn("{} shrank to {} bytes while copying, expected {}", file.path(), position, file.size());
+                    break;
                 }
+                position += transferred;
             }
+        }
+        Files.setLastModifiedTime(target, file.lastModified());
+    }
+
+    private static boolean link(Path source, Path target) {
+        try {
+            Files.createLink(target, source);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            LOG.debug("Cannot hard link {} to {}, copying instead: {}", source, target, e.toString());
+            return false;
+        }
+    }
+
+    private static void createDirectories(Path directory) {
+        try {
+            Files.createDirectories(directory);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
-    private static List<Path> getFilesOrderedByModified(Path source) {
-        List<Path> files;
-        File[] listFiles = source.toFile().listFiles();
-        Arrays.sort(listFiles, Comparator.comparing(File::lastModified));
-        files = Arrays.stream(listFiles)
-                .map(File::toPath)
-                .collect(Collectors.toList());
-        return files;
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: FileMover <source directory> <target directory> <every nth file>");
+            System.exit(1);
+        }
+        try (FileMover fileMover = new FileMover(Runtime.getRuntime().availableProcessors(), true)) {
+            Long copied = fileMover.copyEveryNthFile(Path.of(args[0]), Path.of(args[1]), Integer.parseInt(args[2]))
+                    .count()
+                    .block();
+            LOG.info("Copied {} files to {}", copied, args[1]);
+        }
     }
 
-    public static void main(String[] args) {
-        moveEveryNthFiles(SOURCE_DIR, TARGET_DIR, 5);
+    private record SourceFile(Path path, FileTime lastModified, long size) {
     }
 
+    enum FileMoverConfigProperty {
+        PARALLELISM("file.mover.parallelism"),
+        HARD_LINKS("file.mover.hardlinks");
+
+        public final String value;
+
+        FileMoverConfigProperty(String value) {
+            this.value = value;
+        }
+    }
 }
@@ -1,36 +1,66 @@
 package com.nilsson.vinylrecordsales.file;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
 import java.io.File;
-import java.util.Arrays;
-import java.util.Collections;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.List;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.stream.Stream;
 
 import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
 
 public class FileService {
 
+    private final Timer scanTimer;
+    private final DistributionSummary imagesFound;
+
+    public FileService() {
+        this(Metrics.globalRegistry);
+    }
+
+    public FileService(MeterRegistry registry) {
+        requireNonNull(registry, "registry");
+        this.scanTimer = Timer.builder("vinyl.file.scan")
+                .description("Time spent listing image files in a directory")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.imagesFound = DistributionSummary.builder("vinyl.file.scan.images")
+                .description("Number of image files found per directory scan")
+                .register(registry);
+    }
+
     public List<File> getImageFilesInDirectoryOrderedByName(File directory) {
         if (!directory.isDirectory()) {
             throw new IllegalArgumentException(format("Input is not a directory %s", directory));
         }
-        File[] filesInDirectory = directory.listFiles();
-        if (filesInDirectory == null) {
-            return Collections.emptyList();
-        }
-        return Arrays.stream(filesInDirectory)
-                .filter(imageFile())
-                .sorted(Comparator.comparing(File::getName))
-                .collect(Collectors.toList());
+        List<File> images = scanTimer.record(() -> listImageFiles(directory));
+        imagesFound.record(images.size());
+        return images;
     }
 
-    private Predicate<File> imageFile() {
-        return file -> {
-            String name = file.getName();
-            return name.endsWith(".jpg") || name.endsWith(".jpeg") || name.endsWith(".png");
-        };
+    public static boolean isImage(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".jpg") || name.endsWith(".jpeg") || name.endsWith(".png");
+    }
+
+    private List<File> listImageFiles(File directory) {
+        try (Stream<Path> images = Files.find(directory.toPath(), 1,
+                (path, attributes) -> attributes.isRegularFile() && isImage(path))) {
+            return images.sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                    .map(Path::toFile)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
 }
@@ -0,0 +1,102 @@
+package com.nilsson.vinylrecordsales.image;
+
+import com.nilsson.vinylrecordsales.file.DropFolderWatcher;
+import com.nilsson.vinylrecordsales.progress.ProgressPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static com.nilsson.vinylrecordsales.image.ImageIngest.ImageIngestConfigProperty.*;
+import static com.nilsson.vinylrecordsales.progress.ProgressEvent.Stage.UPLOADED;
+import static java.util.Objects.requireNonNull;
+
+public class ImageIngest implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private final boolean enabled;
+    private final Path directory;
+    private final Duration settle;
+    private final int parallelism;
+    private final ImageService imageService;
+    private final ProgressPublisher progressPublisher;
+    private DropFolderWatcher dropFolderWatcher;
+    private Disposable subscription;
+
+    public ImageIngest(Environment environment, ImageService imageService, ProgressPublisher progressPublisher) {
+        this(Boolean.parseBoolean(requireNonNull(environment, "environment").getRequiredProperty(ENABLED.value)),
+                Path.of(environment.getRequiredProperty(DIRECTORY.value)),
+                Duration.parse(environment.getRequiredProperty(SETTLE.value)),
+                Integer.parseInt(environment.getRequiredProperty(PARALLELISM.value)),
+                imageService,
+                progressPublisher);
+    }
+
+    ImageIngest(boolean enabled, Path directory, Duration settle, int parallelism, ImageService imageService,
+                ProgressPublisher progressPublisher) {
+        this.enabled = enabled;
+        this.directory = requireNonNull(directory, "directory");
+        this.settle = requireNonNull(settle, "settle");
+        this.parallelism = parallelism;
+        this.imageService = requireNonNull(imageService, "imageService");
+        this.progressPublisher = requireNonNull(progressPublisher, "progressPublisher");
+    }
+
+    public ImageIngest start() {
+        if (!enabled) {
+            LOG.info("Image ingest is disabled, upload images by folder instead");
+            return this;
+        }
+        dropFolderWatcher = new DropFolderWatcher(directory, settle).start();
+        subscription = ingest(dropFolderWatcher.images()).subscribe(
+                url -> LOG.debug("Stored dropped image {}", url),
+                error -> LOG.error("Stopped ingesting {} so later images do not shift onto the wrong records,"
+                        + " upload the failed image and restart", directory, error));
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        if (dropFolderWatcher != null) {
+            dropFolderWatcher.close();
+        }
+    }
+
+    Flux<URL> ingest(Flux<File> images) {
+        return imageService.storeURLs(images.flatMapSequential(this::upload, parallelism));
+    }
+
+    private Flux<URL> upload(File image) {
+        return imageService.uploadImages(List.of(image))
+                .doOnNext(url -> progressPublisher.publish(UPLOADED, image.getName(), url))
+                .doOnError(error -> {
+                    LOG.error("Failed uploading dropped image {}", image, error);
+                    progressPublisher.failed(image.getName(), error);
+                });
+    }
+
+    enum ImageIngestConfigProperty {
+        ENABLED("image.ingest.enabled"),
+        DIRECTORY("image.ingest.directory"),
+        SETTLE("image.ingest.settle"),
+        PARALLELISM("image.upload.parallelism");
+
+        public final String value;
+
+        ImageIngestConfigProperty(String value) {
+            this.value = value;
+        }
+    }
+}
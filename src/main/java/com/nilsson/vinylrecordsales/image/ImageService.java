@@ -10,7 +10,7 @@ import java.util.List;
 public interface ImageService {
     Flux<URL> uploadImages(List<File> images);
 
-    void storeURLs(Flux<URL> urls);
+    Flux<URL> storeURLs(Flux<URL> urls);
 
     Mono<URL> pollUrl();
 
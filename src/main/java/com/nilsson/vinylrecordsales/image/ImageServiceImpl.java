@@ -1,10 +1,14 @@
 package com.nilsson.vinylrecordsales.image;
 
+import com.nilsson.vinylrecordsales.image.processing.ImageProcessor;
 import com.nilsson.vinylrecordsales.image.upload.ImageUploadFacade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.io.File;
+import java.lang.invoke.MethodHandles;
 import java.net.URL;
 import java.util.List;
 
@@ -12,12 +16,18 @@ import static java.util.Objects.requireNonNull;
 
 public class ImageServiceImpl implements ImageService {
 
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
     private static final int MAX_CONCURRENT = 10;
+    private final ImageProcessor imageProcessor;
     private final ImageUploadFacade imageUploadFacade;
+    private final UploadIndex uploadIndex;
     private final UrlRepository urlRepository;
 
-    public ImageServiceImpl(ImageUploadFacade imageUploadFacade, UrlRepository urlRepository) {
+    public ImageServiceImpl(ImageProcessor imageProcessor, ImageUploadFacade imageUploadFacade,
+                            UploadIndex uploadIndex, UrlRepository urlRepository) {
+        this.imageProcessor = requireNonNull(imageProcessor, "imageProcessor");
         this.imageUploadFacade = requireNonNull(imageUploadFacade, "imageUploadFacade");
+        this.uploadIndex = requireNonNull(uploadIndex, "uploadIndex");
         this.urlRepository = requireNonNull(urlRepository, "urlRepository");
     }
 
@@ -25,17 +35,33 @@ public class ImageServiceImpl implements ImageService {
     @Override
     public Flux<URL> uploadImages(List<File> images) {
         return Flux.fromStream(images.stream())
-                .flatMapSequential(imageUploadFacade::uploadImage, MAX_CONCURRENT);
+                .flatMapSequential(this::uploadImage, MAX_CONCURRENT);
+    }
+
+    private Mono<URL> uploadImage(File image) {
+        return uploadIndex.hash(image)
+                .flatMap(contentHash -> uploadIndex.find(contentHash)
+                        .map(url -> {
+                            LOG.info("Skipping {}, already uploaded and queued as {}", image.getName(), url);
+                            return Mono.<URL>empty();
+                        })
+                        .orElseGet(() -> processAndUpload(image)
+                                .doOnNext(url -> uploadIndex.record(contentHash, url))));
+    }
+
+    private Mono<URL> processAndUpload(File image) {
+        return imageProcessor.process(image)
+                .flatMap(processed -> imageUploadFacade.uploadImage(image.getName(), processed));
     }
 
     @Override
-    public void storeURLs(Flux<URL> urls) {
-        urls.subscribe(urlRepository::add);
+    public Flux<URL> storeURLs(Flux<URL> urls) {
+        return urls.doOnNext(urlRepository::add);
     }
 
     @Override
     public Mono<URL> pollUrl() {
-        return Mono.just(urlRepository.poll());
+        return Mono.fromSupplier(urlRepository::poll);
     }
 
     @Override
@@ -0,0 +1,15 @@
+package com.nilsson.vinylrecordsales.image;
+
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+import java.net.URL;
+import java.util.Optional;
+
+public interface UploadIndex {
+    Mono<String> hash(File image);
+
+    Optional<URL> find(String contentHash);
+
+    void record(String contentHash, URL url);
+}
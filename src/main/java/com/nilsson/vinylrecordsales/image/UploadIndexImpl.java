@@ -0,0 +1,132 @@
+package com.nilsson.vinylrecordsales.image;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.nilsson.vinylrecordsales.image.UploadIndexImpl.UploadIndexConfigProperty.PATH;
+import static java.nio.file.StandardOpenOption.*;
+import static java.util.Objects.requireNonNull;
+
+public class UploadIndexImpl implements UploadIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final long MAX_MAPPED_REGION = 64L * 1024 * 1024;
+    private static final String SEPARATOR = " ";
+    private final Path indexFile;
+    private final Scheduler scheduler;
+    private final Map<String, URL> uploads = new ConcurrentHashMap<>();
+
+    public UploadIndexImpl(Environment environment) {
+        this(Path.of(requireNonNull(environment, "environment").getRequiredProperty(PATH.value)), Schedulers.boundedElastic());
+    }
+
+    UploadIndexImpl(Path indexFile, Scheduler scheduler) {
+        this.indexFile = requireNonNull(indexFile, "indexFile");
+        this.scheduler = requireNonNull(scheduler, "scheduler");
+        load();
+    }
+
+    @Override
+    public Mono<String> hash(File image) {
+        return Mono.fromCallable(() -> hash(image.toPath()))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Optional<URL> find(String contentHash) {
+        return Optional.ofNullable(uploads.get(contentHash));
+    }
+
+    @Override
+    public void record(String contentHash, URL url) {
+        if (uploads.putIfAbsent(contentHash, url) != null) return;
+
+        try {
+            append(contentHash + SEPARATOR + url.toExternalForm() + System.lineSeparator());
+        } catch (IOException e) {
+            LOG.warn("Failed recording upload of {} in {}", url, indexFile, e);
+        }
+    }
+
+    private synchronized void append(String line) throws IOException {
+        Files.writeString(indexFile, line, StandardCharsets.UTF_8, CREATE, APPEND, WRITE);
+    }
+
+    private void load() {
+        try {
+            Path parent = indexFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            if (!Files.exists(indexFile)) return;
+
+            List<String> lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                String[] parts = line.split(SEPARATOR, 2);
+                if (parts.length == 2) {
+                    parseUrl(parts[1]).ifPresent(url -> uploads.put(parts[0], url));
+                }
+            }
+            LOG.info("Loaded {} previously uploaded images from {}", uploads.size(), indexFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Optional<URL> parseUrl(String url) {
+        try {
+            return Optional.of(new URL(url));
+        } catch (MalformedURLException e) {
+            LOG.warn("Ignoring malformed url {} in {}", url, indexFile);
+            return Optional.empty();
+        }
+    }
+
+    static String hash(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAX_MAPPED_REGION) {
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAX_MAPPED_REGION, size - position)));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    enum UploadIndexConfigProperty {
+        PATH("image.upload.index.path");
+
+        public final String value;
+
+        UploadIndexConfigProperty(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.nilsson.vinylrecordsales.image;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import static com.nilsson.vinylrecordsales.image.UrlJournal.UrlJournalConfigProperty.PATH;
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+import static java.util.Objects.requireNonNull;
+
+public class UrlJournal implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    private static final int HEADER_LENGTH = Byte.BYTES + Short.BYTES;
+    private static final int CHECKSUM_LENGTH = Integer.BYTES;
+    private static final int MAX_PAYLOAD_LENGTH = 0xFFFF;
+    private static final byte ADDED = '+';
+    private static final byte REMOVED = '-';
+    private final Path file;
+    private final List<URL> replayed;
+    private final FileChannel channel;
+    private final AtomicLong position;
+    private final ReadWriteLock mappingLock = new ReentrantReadWriteLock();
+    private volatile MappedByteBuffer buffer;
+
+    public UrlJournal(Environment environment) {
+        this(Path.of(requireNonNull(environment, "environment").getRequiredProperty(PATH.value)));
+    }
+
+    public UrlJournal(Path file) {
+        this.file = requireNonNull(file, "file");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.replayed = replay();
+            long size = compact(replayed);
+            this.channel = FileChannel.open(file, CREATE, READ, WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityFor(size, INITIAL_CAPACITY));
+            this.position = new AtomicLong(size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<URL> replayed() {
+        return replayed;
+    }
+
+    public void added(URL url) {
+        append(ADDED, url);
+    }
+
+    public void removed(URL url) {
+        append(REMOVED, url);
+    }
+
+    @Override
+    public void close() throws IOException {
+        mappingLock.writeLock().lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            mappingLock.writeLock().unlock();
+        }
+    }
+
+    private void append(byte operation, URL url) {
+        byte[] payload = url.toExternalForm().getBytes(StandardCharsets.UTF_8);
+        if (payload.length > MAX_PAYLOAD_LENGTH) {
+            throw new IllegalArgumentException(format("Url too long for journal: %s", url));
+        }
+        int length = recordLength(payload);
+        long offset = position.getAndAdd(length);
+        while (!tryWrite(offset, operation, payload)) {
+            grow(offset + length);
+        }
+    }
+
+    private boolean tryWrite(long offset, byte operation, byte[] payload) {
+        mappingLock.readLock().lock();
+        try {
+            MappedByteBuffer current = buffer;
+            int length = recordLength(payload);
+            if (offset + length > current.capacity()) return false;
+
+            int index = (int) offset;
+            current.putShort(index + Byte.BYTES, (short) payload.length);
+            current.put(index + HEADER_LENGTH, payload);
+            current.putInt(index + HEADER_LENGTH + payload.length, checksum(operation, payload));
+            current.put(index, operation);
+            current.force(index, length);
+            return true;
+        } finally {
+            mappingLock.readLock().unlock();
+        }
+    }
+
+    private void grow(long required) {
+        mappingLock.writeLock().lock();
+        try {
+            if (required <= buffer.capacity()) return;
+
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityFor(required, buffer.capacity()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            mappingLock.writeLock().unlock();
+        }
+    }
+
+    private List<URL> replay() throws IOException {
+        if (!Files.exists(file)) return List.of();
+
+        Map<String, URL> live = new LinkedHashMap<>();
+        ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(file));
+        int holeStart = -1;
+        while (records.remaining() >= HEADER_LENGTH + CHECKSUM_LENGTH) {
+            int offset = records.position();
+            Optional<byte[]> payload = readRecord(records);
+            if (payload.isEmpty()) {
+                if (holeStart < 0) {
+                    holeStart = offset;
+                }
+                records.position(offset + 1);
+                continue;
+            }
+            if (holeStart >= 0) {
+                LOG.warn("Skipped unreadable journal bytes {}-{} in {}", holeStart, offset, file);
+                holeStart = -1;
+            }
+            byte operation = records.get(offset);
+            String url = new String(payload.get(), StandardCharsets.UTF_8);
+            if (operation == ADDED) {
+                parseUrl(url).ifPresent(parsed -> live.putIfAbsent(url, parsed));
+            } else {
+                live.remove(url);
+            }
+        }
+        LOG.info("Replayed {} queued urls from {}", live.size(), file);
+        return List.copyOf(live.values());
+    }
+
+    private static Optional<byte[]> readRecord(ByteBuffer records) {
+        byte operation = records.get();
+        if (operation != ADDED && operation != REMOVED) return Optional.empty();
+
+        int length = records.getShort() & MAX_PAYLOAD_LENGTH;
+        if (length + CHECKSUM_LENGTH > records.remaining()) return Optional.empty();
+
+        byte[] payload = new byte[length];
+        records.get(payload);
+        return records.getInt() == checksum(operation, payload) ? Optional.of(payload) : Optional.empty();
+    }
+
+    private static int recordLength(byte[] payload) {
+        return HEADER_LENGTH + payload.length + CHECKSUM_LENGTH;
+    }
+
+    private static int checksum(byte operation, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(operation);
+        crc.update(payload.length >>> 8);
+        crc.update(payload.length);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private long compact(List<URL> urls) throws IOException {
+        List<byte[]> payloads = new ArrayList<>();
+        for (URL url : urls) {
+            payloads.add(url.toExternalForm().getBytes(StandardCharsets.UTF_8));
+        }
+        ByteBuffer records = ByteBuffer.allocate(payloads.stream().mapToInt(UrlJournal::recordLength).sum());
+        for (byte[] payload : payloads) {
+            records.put(ADDED).putShort((short) payload.length).put(payload).putInt(checksum(ADDED, payload));
+        }
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        Files.write(compacted, records.array(), CREATE, TRUNCATE_EXISTING, WRITE, SYNC);
+        Files.move(compacted, file, ATOMIC_MOVE, REPLACE_EXISTING);
+        return records.capacity();
+    }
+
+    private Optional<URL> parseUrl(String url) {
+        try {
+            return Optional.of(new URL(url));
+        } catch (MalformedURLException e) {
+            LOG.warn("Ignoring malformed url {} in {}", url, file);
+            return Optional.empty();
+        }
+    }
+
+    private static long capacityFor(long required, long current) {
+        long capacity = Math.max(current, INITIAL_CAPACITY);
+        while (capacity < required) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    enum UrlJournalConfigProperty {
+        PATH("image.url.journal.path");
+
+        public final String value;
+
+        UrlJournalConfigProperty(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -1,24 +1,53 @@
 package com.nilsson.vinylrecordsales.image;
 
 import java.net.URL;
-import java.util.LinkedList;
+import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static java.util.Objects.requireNonNull;
 
 public class UrlRepositoryImpl implements UrlRepository {
     private final Queue<URL> urls;
+    private final Set<String> queued;
+    private final Optional<UrlJournal> journal;
 
     public UrlRepositoryImpl() {
-        urls = new LinkedList<>();
+        this(Optional.empty());
+    }
+
+    public UrlRepositoryImpl(UrlJournal journal) {
+        this(Optional.of(requireNonNull(journal, "journal")));
+        journal.replayed().forEach(url -> {
+            queued.add(url.toExternalForm());
+            urls.add(url);
+        });
+    }
+
+    private UrlRepositoryImpl(Optional<UrlJournal> journal) {
+        this.urls = new ConcurrentLinkedQueue<>();
+        this.queued = ConcurrentHashMap.newKeySet();
+        this.journal = journal;
     }
 
     @Override
     public void add(URL url) {
-        urls.add(url);
+        if (queued.add(url.toExternalForm())) {
+            journal.ifPresent(j -> j.added(url));
+            urls.add(url);
+        }
     }
 
     @Override
     public URL poll() {
-        return urls.poll();
+        URL url = urls.poll();
+        if (url != null) {
+            journal.ifPresent(j -> j.removed(url));
+            queued.remove(url.toExternalForm());
+        }
+        return url;
     }
 
     @Override
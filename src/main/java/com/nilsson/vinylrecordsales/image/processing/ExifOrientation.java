@@ -0,0 +1,104 @@
+package com.nilsson.vinylrecordsales.image.processing;
+
+import java.awt.geom.AffineTransform;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+enum ExifOrientation {
+    NORMAL(false, 0, false),
+    MIRRORED(false, 0, true),
+    ROTATED_180(false, 180, false),
+    ROTATED_180_MIRRORED(false, 180, true),
+    ROTATED_270_MIRRORED(true, 270, true),
+    ROTATED_90(true, 90, false),
+    ROTATED_90_MIRRORED(true, 90, true),
+    ROTATED_270(true, 270, false);
+
+    private static final int START_OF_IMAGE = 0xFFD8;
+    private static final int START_OF_SCAN = 0xDA;
+    private static final int APP1 = 0xE1;
+    private static final byte[] EXIF_HEADER = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+    private static final short LITTLE_ENDIAN = 0x4949;
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final int IFD_ENTRY_LENGTH = 12;
+
+    private final boolean swapsDimensions;
+    private final int degrees;
+    private final boolean mirrored;
+
+    ExifOrientation(boolean swapsDimensions, int degrees, boolean mirrored) {
+        this.swapsDimensions = swapsDimensions;
+        this.degrees = degrees;
+        this.mirrored = mirrored;
+    }
+
+    boolean swapsDimensions() {
+        return swapsDimensions;
+    }
+
+    AffineTransform transform(int width, int height) {
+        AffineTransform transform = new AffineTransform();
+        switch (degrees) {
+            case 90 -> transform.translate(height, 0);
+            case 180 -> transform.translate(width, height);
+            case 270 -> transform.translate(0, width);
+            default -> {
+            }
+        }
+        transform.rotate(Math.toRadians(degrees));
+        if (mirrored) {
+            transform.translate(width, 0);
+            transform.scale(-1, 1);
+        }
+        return transform;
+    }
+
+    static ExifOrientation of(byte[] jpeg) {
+        try {
+            return read(ByteBuffer.wrap(jpeg));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            return NORMAL;
+        }
+    }
+
+    private static ExifOrientation read(ByteBuffer buffer) {
+        if ((buffer.getShort() & 0xFFFF) != START_OF_IMAGE) return NORMAL;
+
+        while (buffer.remaining() > 4) {
+            if ((buffer.get() & 0xFF) != 0xFF) return NORMAL;
+            int marker = buffer.get() & 0xFF;
+            if (marker == START_OF_SCAN) return NORMAL;
+            int segmentLength = buffer.getShort() & 0xFFFF;
+            int segmentEnd = buffer.position() + segmentLength - 2;
+            if (marker == APP1 && hasExifHeader(buffer)) {
+                return readTiff(buffer.slice(buffer.position() + EXIF_HEADER.length,
+                        segmentEnd - buffer.position() - EXIF_HEADER.length));
+            }
+            buffer.position(segmentEnd);
+        }
+        return NORMAL;
+    }
+
+    private static boolean hasExifHeader(ByteBuffer buffer) {
+        for (int i = 0; i < EXIF_HEADER.length; i++) {
+            if (buffer.get(buffer.position() + i) != EXIF_HEADER[i]) return false;
+        }
+        return true;
+    }
+
+    private static ExifOrientation readTiff(ByteBuffer tiff) {
+        tiff.order(tiff.getShort(0) == LITTLE_ENDIAN ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        int firstDirectory = tiff.getInt(4);
+        int entries = tiff.getShort(firstDirectory) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = firstDirectory + 2 + i * IFD_ENTRY_LENGTH;
+            if ((tiff.getShort(entry) & 0xFFFF) == ORIENTATION_TAG) {
+                int value = tiff.getShort(entry + 8) & 0xFFFF;
+                return value >= 1 && value <= values().length ? values()[value - 1] : NORMAL;
+            }
+        }
+        return NORMAL;
+    }
+}
@@ -0,0 +1,9 @@
+package com.nilsson.vinylrecordsales.image.processing;
+
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+
+public interface ImageProcessor {
+    Mono<byte[]> process(File image);
+}
@@ -0,0 +1,33 @@
+package com.nilsson.vinylrecordsales.image.processing;
+
+import org.springframework.core.env.Environment;
+import reactor.core.scheduler.Schedulers;
+
+import static com.nilsson.vinylrecordsales.image.processing.ImageProcessorFactory.ImageProcessingConfigProperty.*;
+import static java.util.Objects.requireNonNull;
+
+public class ImageProcessorFactory {
+    private final int maxDimension;
+    private final float quality;
+
+    public ImageProcessorFactory(Environment environment) {
+        requireNonNull(environment, "environment");
+        this.maxDimension = Integer.parseInt(environment.getRequiredProperty(MAX_DIMENSION.value));
+        this.quality = Float.parseFloat(environment.getRequiredProperty(QUALITY.value));
+    }
+
+    public ImageProcessor get() {
+        return new ImageProcessorImpl(maxDimension, quality, Schedulers.boundedElastic(), Schedulers.parallel());
+    }
+
+    enum ImageProcessingConfigProperty {
+        MAX_DIMENSION("image.processing.maxdimension"),
+        QUALITY("image.processing.quality");
+
+        public final String value;
+
+        ImageProcessingConfigProperty(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.nilsson.vinylrecordsales.image.processing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Files;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+public class ImageProcessorImpl implements ImageProcessor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final String OUTPUT_FORMAT = "jpeg";
+    private final int maxDimension;
+    private final float quality;
+    private final Scheduler ioScheduler;
+    private final Scheduler scheduler;
+
+    public ImageProcessorImpl(int maxDimension, float quality, Scheduler ioScheduler, Scheduler scheduler) {
+        if (maxDimension <= 0) {
+            throw new IllegalArgumentException(format("Max dimension must be positive, was %s", maxDimension));
+        }
+        if (quality <= 0 || quality > 1) {
+            throw new IllegalArgumentException(format("Quality must be in (0, 1], was %s", quality));
+        }
+        this.maxDimension = maxDimension;
+        this.quality = quality;
+        this.ioScheduler = requireNonNull(ioScheduler, "ioScheduler");
+        this.scheduler = requireNonNull(scheduler, "scheduler");
+    }
+
+    @Override
+    public Mono<byte[]> process(File image) {
+        return Mono.fromCallable(() -> Files.readAllBytes(image.toPath()))
+                .subscribeOn(ioScheduler)
+                .publishOn(scheduler)
+                .flatMap(original -> Mono.fromCallable(() -> process(image.getName(), original)));
+    }
+
+    byte[] process(String name, byte[] original) throws IOException {
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(original));
+        if (decoded == null) {
+            LOG.warn("Unsupported image format for {}, keeping original", name);
+            return original;
+        }
+        ExifOrientation orientation = ExifOrientation.of(original);
+        BufferedImage scaled = scale(decoded);
+        byte[] processed = encode(orient(scaled, orientation));
+        if (processed.length >= original.length && scaled == decoded && orientation == ExifOrientation.NORMAL) {
+            return original;
+        }
+        LOG.info("Processed {} from {}x{} ({} bytes) to {} bytes", name,
+                decoded.getWidth(), decoded.getHeight(), original.length, processed.length);
+        return processed;
+    }
+
+    private BufferedImage scale(BufferedImage image) {
+        int largest = Math.max(image.getWidth(), image.getHeight());
+        if (largest <= maxDimension) return image;
+
+        double factor = (double) maxDimension / largest;
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * factor));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * factor));
+        BufferedImage current = image;
+        do {
+            int width = Math.max(targetWidth, current.getWidth() / 2);
+            int height = Math.max(targetHeight, current.getHeight() / 2);
+            current = render(current, width, height, AffineTransform.getScaleInstance(
+                    (double) width / current.getWidth(), (double) height / current.getHeight()));
+        } while (current.getWidth() != targetWidth || current.getHeight() != targetHeight);
+        return current;
+    }
+
+    private BufferedImage orient(BufferedImage image, ExifOrientation orientation) {
+        if (orientation == ExifOrientation.NORMAL) return image;
+
+        int width = orientation.swapsDimensions() ? image.getHeight() : image.getWidth();
+        int height = orientation.swapsDimensions() ? image.getWidth() : image.getHeight();
+        return render(image, width, height, orientation.transform(image.getWidth(), image.getHeight()));
+    }
+
+    private BufferedImage render(BufferedImage source, int width, int height, AffineTransform transform) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        BufferedImage opaque = image.getType() == BufferedImage.TYPE_INT_RGB
+                ? image
+                : render(image, image.getWidth(), image.getHeight(), new AffineTransform());
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(OUTPUT_FORMAT).next();
+        ImageWriteParam parameters = writer.getDefaultWriteParam();
+        parameters.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        parameters.setCompressionQuality(quality);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = new MemoryCacheImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            writer.write(null, new IIOImage(opaque, null, null), parameters);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+}
@@ -4,9 +4,10 @@ import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import com.nilsson.vinylrecordsales.domain.ApiToken;
 import org.springframework.core.env.Environment;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
-import static com.nilsson.vinylrecordsales.image.upload.CloudinaryFactory.CloudinaryConfigProperty.API_KEY;
-import static com.nilsson.vinylrecordsales.image.upload.CloudinaryFactory.CloudinaryConfigProperty.CLOUD_NAME;
+import static com.nilsson.vinylrecordsales.image.upload.CloudinaryFactory.CloudinaryConfigProperty.*;
 import static java.util.Objects.requireNonNull;
 
 public class CloudinaryFactory {
@@ -15,19 +16,26 @@ public class CloudinaryFactory {
     private static final String API_KEY_STR = "api_key";
     private static final String API_SECRET_KEY = "api_secret";
     private static final String GENERATE_HTTPS_URL = "secure";
+    private static final String UPLOAD_THREAD_NAME = "image-upload";
     private final ApiToken apiToken;
     private final String cloudName;
     private final String apiKey;
+    private final int uploadParallelism;
 
     public CloudinaryFactory(Environment environment, ApiToken apiToken) {
         requireNonNull(environment, "environment");
         this.apiToken = requireNonNull(apiToken, "apiToken");
         this.cloudName = requireNonNull(environment.getRequiredProperty(CLOUD_NAME.value));
         this.apiKey = requireNonNull(environment.getRequiredProperty(API_KEY.value));
+        this.uploadParallelism = Integer.parseInt(environment.getRequiredProperty(UPLOAD_PARALLELISM.value));
 
     }
 
     public Cloudinary get() {
+        return get(apiToken);
+    }
+
+    public Cloudinary get(ApiToken apiToken) {
         return new Cloudinary(ObjectUtils.asMap(
                 CLOUD_NAME_KEY, cloudName,
                 API_KEY_STR, apiKey,
@@ -35,9 +43,14 @@ public class CloudinaryFactory {
                 GENERATE_HTTPS_URL, true));
     }
 
+    public Scheduler uploadScheduler() {
+        return Schedulers.newBoundedElastic(uploadParallelism, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, UPLOAD_THREAD_NAME);
+    }
+
     enum CloudinaryConfigProperty {
         CLOUD_NAME("image.upload.cloudinary.cloudname"),
-        API_KEY("image.upload.cloudinary.api.key");
+        API_KEY("image.upload.cloudinary.api.key"),
+        UPLOAD_PARALLELISM("image.upload.parallelism");
 
 
         public final String value;
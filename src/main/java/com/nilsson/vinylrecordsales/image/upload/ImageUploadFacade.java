@@ -7,4 +7,6 @@ import java.net.URL;
 
 public interface ImageUploadFacade {
     Mono<URL> uploadImage(File file);
+
+    Mono<URL> uploadImage(String name, byte[] image);
 }
@@ -5,13 +5,13 @@ import com.cloudinary.utils.ObjectUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.io.File;
-import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.lang.invoke.MethodHandles;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
@@ -19,23 +19,37 @@ import static java.util.Objects.requireNonNull;
 public class ImageUploadFacadeImpl implements ImageUploadFacade {
 
     private static final String URL_KEY = "secure_url";
-    private final Cloudinary cloudinary;
+    private final AtomicReference<Cloudinary> cloudinary;
+    private final Scheduler scheduler;
     private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-    public ImageUploadFacadeImpl(Cloudinary cloudinary) {
-        this.cloudinary = requireNonNull(cloudinary, "cloudinary");
+    public ImageUploadFacadeImpl(Cloudinary cloudinary, Scheduler scheduler) {
+        this.cloudinary = new AtomicReference<>(requireNonNull(cloudinary, "cloudinary"));
+        this.scheduler = requireNonNull(scheduler, "scheduler");
+    }
+
+    public void update(Cloudinary cloudinary) {
+        this.cloudinary.set(requireNonNull(cloudinary, "cloudinary"));
     }
 
     @Override
     public Mono<URL> uploadImage(File file) {
-        try {
-            LOG.info("Uploading file {}", file.getName());
-            return Mono.just(cloudinary.uploader().upload(file, ObjectUtils.emptyMap()))
-                    .map(uploadedInformation -> (String) uploadedInformation.get(URL_KEY))
-                    .map(this::createURL);
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+        return upload(file.getName(), file);
+    }
+
+    @Override
+    public Mono<URL> uploadImage(String name, byte[] image) {
+        return upload(name, image);
+    }
+
+    private Mono<URL> upload(String name, Object image) {
+        return Mono.fromCallable(() -> {
+                    LOG.info("Uploading file {}", name);
+                    return cloudinary.get().uploader().upload(image, ObjectUtils.emptyMap());
+                })
+                .subscribeOn(scheduler)
+                .map(uploadedInformation -> (String) uploadedInformation.get(URL_KEY))
+                .map(this::createURL);
     }
 
     private URL createURL(String site) {
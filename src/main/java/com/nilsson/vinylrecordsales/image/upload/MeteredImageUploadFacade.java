@@ -0,0 +1,30 @@
+package com.nilsson.vinylrecordsales.image.upload;
+
+import com.nilsson.vinylrecordsales.domain.UpstreamMetrics;
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+import java.net.URL;
+
+import static java.util.Objects.requireNonNull;
+
+public class MeteredImageUploadFacade implements ImageUploadFacade {
+    private static final String UPLOAD = "upload";
+    private final ImageUploadFacade imageUploadFacade;
+    private final UpstreamMetrics metrics;
+
+    public MeteredImageUploadFacade(ImageUploadFacade imageUploadFacade, UpstreamMetrics metrics) {
+        this.imageUploadFacade = requireNonNull(imageUploadFacade, "imageUploadFacade");
+        this.metrics = requireNonNull(metrics, "metrics");
+    }
+
+    @Override
+    public Mono<URL> uploadImage(File file) {
+        return metrics.time(UPLOAD, imageUploadFacade.uploadImage(file));
+    }
+
+    @Override
+    public Mono<URL> uploadImage(String name, byte[] image) {
+        return metrics.time(UPLOAD, imageUploadFacade.uploadImage(name, image));
+    }
+}
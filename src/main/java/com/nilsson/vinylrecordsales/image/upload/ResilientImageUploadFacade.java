@@ -0,0 +1,29 @@
+package com.nilsson.vinylrecordsales.image.upload;
+
+import com.nilsson.vinylrecordsales.domain.UpstreamResilience;
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+import java.net.URL;
+
+import static java.util.Objects.requireNonNull;
+
+public class ResilientImageUploadFacade implements ImageUploadFacade {
+    private final ImageUploadFacade imageUploadFacade;
+    private final UpstreamResilience resilience;
+
+    public ResilientImageUploadFacade(ImageUploadFacade imageUploadFacade, UpstreamResilience resilience) {
+        this.imageUploadFacade = requireNonNull(imageUploadFacade, "imageUploadFacade");
+        this.resilience = requireNonNull(resilience, "resilience");
+    }
+
+    @Override
+    public Mono<URL> uploadImage(File file) {
+        return resilience.apply(imageUploadFacade.uploadImage(file));
+    }
+
+    @Override
+    public Mono<URL> uploadImage(String name, byte[] image) {
+        return resilience.apply(imageUploadFacade.uploadImage(name, image));
+    }
+}
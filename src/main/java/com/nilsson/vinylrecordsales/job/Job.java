@@ -0,0 +1,46 @@
+package com.nilsson.vinylrecordsales.job;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static java.util.Objects.requireNonNull;
+
+public record Job(String id, String name, Status status, Instant submitted, Instant started, Instant finished,
+                  String message) {
+    public Job {
+        requireNonNull(id, "id");
+        requireNonNull(name, "name");
+        requireNonNull(status, "status");
+        requireNonNull(submitted, "submitted");
+    }
+
+    static Job queued(String id, String name, Instant submitted) {
+        return new Job(id, name, Status.QUEUED, submitted, null, null, null);
+    }
+
+    Job running(Instant started) {
+        return new Job(id, name, Status.RUNNING, submitted, started, null, null);
+    }
+
+    Job finished(Status status, Instant finished, String message) {
+        return new Job(id, name, status, submitted, started, finished, message);
+    }
+
+    public boolean isFinished() {
+        return finished != null;
+    }
+
+    public Duration duration() {
+        if (started == null || finished == null) return null;
+
+        return Duration.between(started, finished);
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED
+    }
+}
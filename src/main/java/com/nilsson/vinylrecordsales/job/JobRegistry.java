@@ -0,0 +1,180 @@
+package com.nilsson.vinylrecordsales.job;
+
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+
+import java.io.Closeable;
+import java.lang.invoke.MethodHandles;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.nilsson.vinylrecordsales.job.JobRegistry.JobConfigProperty.*;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+public class JobRegistry implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private final int concurrency;
+    private final int maxQueued;
+    private final int history;
+    private final Clock clock;
+    private final Map<String, Entry> jobs = new LinkedHashMap<>();
+    private final Deque<Entry> queue = new ArrayDeque<>();
+    private long nextId = 1;
+    private int running;
+    private int finished;
+
+    public JobRegistry(Environment environment) {
+        this(Integer.parseInt(requireNonNull(environment, "environment").getRequiredProperty(CONCURRENCY.value)),
+                Integer.parseInt(environment.getRequiredProperty(MAX_QUEUED.value)),
+                Integer.parseInt(environment.getRequiredProperty(HISTORY.value)),
+                Clock.systemUTC());
+    }
+
+    JobRegistry(int concurrency, int maxQueued, int history, Clock clock) {
+        this.concurrency = concurrency;
+        this.maxQueued = maxQueued;
+        this.history = history;
+        this.clock = requireNonNull(clock, "clock");
+    }
+
+    public Job submit(String name, Publisher<?> work) {
+        requireNonNull(name, "name");
+        requireNonNull(work, "work");
+        Entry entry;
+        synchronized (this) {
+            if (queue.size() >= maxQueued) {
+                throw new JobRejectedException(format("%d jobs are already waiting, not accepting %s", queue.size(), name));
+            }
+            entry = new Entry(Job.queued(String.valueOf(nextId++), name, clock.instant()), work);
+            jobs.put(entry.job.id(), entry);
+            queue.add(entry);
+        }
+        LOG.info("Submitted job {} {}", entry.job.id(), name);
+        startQueued();
+        return entry.job;
+    }
+
+    public synchronized Optional<Job> get(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(entry -> entry.job);
+    }
+
+    public synchronized List<Job> jobs() {
+        return jobs.values().stream()
+                .map(entry -> entry.job)
+                .toList();
+    }
+
+    public Optional<Job> cancel(String id) {
+        Entry entry;
+        synchronized (this) {
+            entry = jobs.get(id);
+            if (entry == null) return Optional.empty();
+            if (queue.remove(entry)) {
+                entry.job = entry.job.finished(Job.Status.CANCELLED, clock.instant(), "Cancelled before it started");
+                finished++;
+                pruneHistory();
+                return Optional.of(entry.job);
+            }
+        }
+        entry.subscription.dispose();
+        return get(id);
+    }
+
+    @Override
+    public void close() {
+        List<Entry> active;
+        synchronized (this) {
+            queue.clear();
+            active = List.copyOf(jobs.values());
+        }
+        active.forEach(entry -> entry.subscription.dispose());
+    }
+
+    private void startQueued() {
+        Entry next;
+        while ((next = nextToStart()) != null) {
+            start(next);
+        }
+    }
+
+    private synchronized Entry nextToStart() {
+        if (running >= concurrency || queue.isEmpty()) return null;
+
+        Entry entry = queue.poll();
+        entry.job = entry.job.running(clock.instant());
+        running++;
+        return entry;
+    }
+
+    private void start(Entry entry) {
+        LOG.info("Starting job {} {}", entry.job.id(), entry.job.name());
+        entry.subscription.update(Flux.from(entry.work)
+                .then()
+                .doOnCancel(() -> finish(entry, Job.Status.CANCELLED, "Cancelled while running"))
+                .subscribe(nothing -> {
+                        },
+                        error -> {
+                            LOG.error("Job {} {} failed", entry.job.id(), entry.job.name(), error);
+                            finish(entry, Job.Status.FAILED, error.getMessage());
+                        },
+                        () -> finish(entry, Job.Status.SUCCEEDED, null)));
+    }
+
+    private void finish(Entry entry, Job.Status status, String message) {
+        synchronized (this) {
+            if (entry.job.isFinished()) return;
+
+            entry.job = entry.job.finished(status, clock.instant(), message);
+            running--;
+            finished++;
+            pruneHistory();
+        }
+        LOG.info("Job {} {} {} after {}", entry.job.id(), entry.job.name(), status, entry.job.duration());
+        startQueued();
+    }
+
+    private void pruneHistory() {
+        Iterator<Entry> entries = jobs.values().iterator();
+        while (finished > history && entries.hasNext()) {
+            if (entries.next().job.isFinished()) {
+                entries.remove();
+                finished--;
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final Publisher<?> work;
+        private final Disposable.Swap subscription = Disposables.swap();
+        private volatile Job job;
+
+        private Entry(Job job, Publisher<?> work) {
+            this.job = job;
+            this.work = work;
+        }
+    }
+
+    enum JobConfigProperty {
+        CONCURRENCY("job.concurrency"),
+        MAX_QUEUED("job.maxqueued"),
+        HISTORY("job.history");
+
+        public final String value;
+
+        JobConfigProperty(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.lang.invoke.MethodHandles;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+public class CachingLookupFacade implements LookupFacade {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private final LookupFacade lookupFacade;
+    private final LookupCache searchCache;
+    private final LookupCache releaseCache;
+
+    public CachingLookupFacade(LookupFacade lookupFacade, LookupCache searchCache, LookupCache releaseCache) {
+        this.lookupFacade = requireNonNull(lookupFacade, "lookupFacade");
+        this.searchCache = requireNonNull(searchCache, "searchCache");
+        this.releaseCache = requireNonNull(releaseCache, "releaseCache");
+    }
+
+    @Override
+    public Mono<String> findByCatalogueNumber(String catalogueNumber, int page) {
+        return cached(searchCache, searchKey(catalogueNumber, page), () -> lookupFacade.findByCatalogueNumber(catalogueNumber, page));
+    }
+
+    @Override
+    public Mono<String> getByReleaseId(Integer releaseId) {
+        return cached(releaseCache, String.valueOf(releaseId), () -> lookupFacade.getByReleaseId(releaseId));
+    }
+
+    static String searchKey(String catalogueNumber, int page) {
+        return page == FIRST_PAGE ? catalogueNumber : catalogueNumber + "&page=" + page;
+    }
+
+    private Mono<String> cached(LookupCache cache, String key, Supplier<Mono<String>> upstream) {
+        return cache.get(key)
+                .doOnNext(response -> LOG.debug("Found {} in {} cache", key, cache.getName()))
+                .switchIfEmpty(Mono.defer(upstream)
+                        .doOnNext(response -> cache.put(key, response)));
+    }
+}
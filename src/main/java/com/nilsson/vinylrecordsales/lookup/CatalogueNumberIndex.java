@@ -0,0 +1,113 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.core.env.Environment;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.nilsson.vinylrecordsales.lookup.CatalogueNumberIndex.CatalogueNumberIndexConfigProperty.MAXIMUM_SIZE;
+import static java.util.Objects.requireNonNull;
+
+public class CatalogueNumberIndex {
+    private static final char BOUNDARY = '$';
+    private static final int GRAM_LENGTH = 3;
+    private static final double MINIMUM_SIMILARITY = 0.4;
+    private final Cache<String, String> catalogueNumbers;
+    private final Map<String, Set<String>> trigrams = new ConcurrentHashMap<>();
+
+    public CatalogueNumberIndex(Environment environment) {
+        this(Long.parseLong(requireNonNull(environment, "environment").getRequiredProperty(MAXIMUM_SIZE.value)));
+    }
+
+    CatalogueNumberIndex(long maximumSize) {
+        this.catalogueNumbers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .executor(Runnable::run)
+                .<String, String>evictionListener((normalised, catalogueNumber, cause) -> removeTrigrams(normalised))
+                .build();
+    }
+
+    public void add(String catalogueNumber) {
+        requireNonNull(catalogueNumber, "catalogueNumber");
+        String normalised = CatalogueNumbers.normalise(catalogueNumber);
+        if (normalised.isEmpty() || catalogueNumbers.asMap().putIfAbsent(normalised, catalogueNumber.strip()) != null) return;
+
+        for (String trigram : trigrams(normalised)) {
+            trigrams.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(normalised);
+        }
+    }
+
+    public int size() {
+        catalogueNumbers.cleanUp();
+        return Math.toIntExact(catalogueNumbers.estimatedSize());
+    }
+
+    public Optional<String> correct(String catalogueNumber) {
+        return Optional.ofNullable(catalogueNumbers.getIfPresent(CatalogueNumbers.normalise(catalogueNumber)));
+    }
+
+    public List<String> suggest(String query, int limit) {
+        String normalised = CatalogueNumbers.normalise(requireNonNull(query, "query"));
+        if (normalised.isEmpty()) return List.of();
+
+        Set<String> queryTrigrams = trigrams(normalised);
+        Map<String, Integer> sharedTrigrams = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            for (String candidate : trigrams.getOrDefault(trigram, Set.of())) {
+                sharedTrigrams.merge(candidate, 1, Integer::sum);
+            }
+        }
+        return sharedTrigrams.entrySet().stream()
+                .filter(entry -> catalogueNumbers.getIfPresent(entry.getKey()) != null)
+                .map(entry -> new Suggestion(entry.getKey(), normalised,
+                        similarity(entry.getValue(), queryTrigrams.size(), trigrams(entry.getKey()).size())))
+                .filter(suggestion -> suggestion.isPrefix() || suggestion.similarity() >= MINIMUM_SIMILARITY)
+                .sorted(Comparator.comparing(Suggestion::isPrefix).reversed()
+                        .thenComparing(Comparator.comparingDouble(Suggestion::similarity).reversed())
+                        .thenComparing(Suggestion::normalised))
+                .limit(limit)
+                .map(suggestion -> catalogueNumbers.getIfPresent(suggestion.normalised()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void removeTrigrams(String normalised) {
+        for (String trigram : trigrams(normalised)) {
+            trigrams.computeIfPresent(trigram, (key, candidates) -> {
+                candidates.remove(normalised);
+                return candidates.isEmpty() ? null : candidates;
+            });
+        }
+    }
+
+    private static double similarity(int shared, int queryTrigrams, int candidateTrigrams) {
+        return 2.0 * shared / (queryTrigrams + candidateTrigrams);
+    }
+
+    private static Set<String> trigrams(String normalised) {
+        String padded = String.valueOf(BOUNDARY).repeat(GRAM_LENGTH - 1) + normalised + BOUNDARY;
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private record Suggestion(String normalised, String query, double similarity) {
+        boolean isPrefix() {
+            return normalised.startsWith(query);
+        }
+    }
+
+    enum CatalogueNumberIndexConfigProperty {
+        MAXIMUM_SIZE("lookup.index.maximumsize");
+
+        public final String value;
+
+        CatalogueNumberIndexConfigProperty(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import static java.util.Objects.requireNonNull;
+
+public final class CatalogueNumbers {
+    private static final String MISSING = "NONE";
+
+    private CatalogueNumbers() {
+    }
+
+    public static String normalise(String catalogueNumber) {
+        requireNonNull(catalogueNumber, "catalogueNumber");
+        StringBuilder normalised = new StringBuilder(catalogueNumber.length());
+        catalogueNumber.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .map(Character::toUpperCase)
+                .forEach(normalised::appendCodePoint);
+        return MISSING.contentEquals(normalised) ? "" : normalised.toString();
+    }
+}
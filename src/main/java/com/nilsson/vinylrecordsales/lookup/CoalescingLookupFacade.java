@@ -0,0 +1,36 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+public class CoalescingLookupFacade implements LookupFacade {
+    private final LookupFacade lookupFacade;
+    private final Map<String, Mono<String>> catalogueNumbersInFlight = new ConcurrentHashMap<>();
+    private final Map<Integer, Mono<String>> releaseIdsInFlight = new ConcurrentHashMap<>();
+
+    public CoalescingLookupFacade(LookupFacade lookupFacade) {
+        this.lookupFacade = requireNonNull(lookupFacade, "lookupFacade");
+    }
+
+    @Override
+    public Mono<String> findByCatalogueNumber(String catalogueNumber, int page) {
+        return coalesced(catalogueNumbersInFlight, CachingLookupFacade.searchKey(catalogueNumber, page),
+                () -> lookupFacade.findByCatalogueNumber(catalogueNumber, page));
+    }
+
+    @Override
+    public Mono<String> getByReleaseId(Integer releaseId) {
+        return coalesced(releaseIdsInFlight, releaseId, () -> lookupFacade.getByReleaseId(releaseId));
+    }
+
+    private <K> Mono<String> coalesced(Map<K, Mono<String>> inFlight, K key, Supplier<Mono<String>> upstream) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> Mono.defer(upstream)
+                .doFinally(signal -> inFlight.remove(k))
+                .cache()));
+    }
+}
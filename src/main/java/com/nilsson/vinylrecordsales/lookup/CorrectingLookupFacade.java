@@ -0,0 +1,83 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.invoke.MethodHandles;
+
+import static java.util.Objects.requireNonNull;
+
+public class CorrectingLookupFacade implements LookupFacade {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final String CATALOGUE_NUMBER = "catno";
+    private final LookupFacade lookupFacade;
+    private final CatalogueNumberIndex catalogueNumberIndex;
+
+    public CorrectingLookupFacade(LookupFacade lookupFacade, CatalogueNumberIndex catalogueNumberIndex) {
+        this.lookupFacade = requireNonNull(lookupFacade, "lookupFacade");
+        this.catalogueNumberIndex = requireNonNull(catalogueNumberIndex, "catalogueNumberIndex");
+    }
+
+    @Override
+    public Mono<String> findByCatalogueNumber(String catalogueNumber, int page) {
+        String corrected = catalogueNumberIndex.correct(catalogueNumber).orElse(catalogueNumber.strip());
+        if (!corrected.equals(catalogueNumber)) {
+            LOG.debug("Corrected catalogue number {} to {}", catalogueNumber, corrected);
+        }
+        return lookupFacade.findByCatalogueNumber(corrected, page)
+                .doOnNext(response -> index(response, "results"));
+    }
+
+    @Override
+    public Mono<String> getByReleaseId(Integer releaseId) {
+        return lookupFacade.getByReleaseId(releaseId)
+                .doOnNext(response -> index(response, "labels"));
+    }
+
+    private void index(String response, String arrayName) {
+        try (JsonReader reader = new JsonReader(new StringReader(response))) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) return;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (arrayName.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    indexEntries(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed indexing catalogue numbers from lookup response", e);
+        }
+    }
+
+    private void indexEntries(JsonReader reader) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (CATALOGUE_NUMBER.equals(reader.nextName()) && isPrimitive(reader.peek())) {
+                    catalogueNumberIndex.add(reader.nextString());
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endArray();
+    }
+
+    private static boolean isPrimitive(JsonToken token) {
+        return token == JsonToken.STRING || token == JsonToken.NUMBER;
+    }
+}
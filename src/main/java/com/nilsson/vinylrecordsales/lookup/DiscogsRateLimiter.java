@@ -0,0 +1,129 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+import static com.nilsson.vinylrecordsales.lookup.DiscogsRateLimiter.RateLimitConfigProperty.*;
+import static java.util.Objects.requireNonNull;
+
+public class DiscogsRateLimiter implements ExchangeFilterFunction {
+    static final String RATE_LIMIT_HEADER = "X-Discogs-Ratelimit";
+    static final String RATE_LIMIT_REMAINING_HEADER = "X-Discogs-Ratelimit-Remaining";
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final long WINDOW_NANOS = Duration.ofMinutes(1).toNanos();
+    private final int burst;
+    private final int maxRetries;
+    private final LongSupplier nanoClock;
+    private long intervalNanos;
+    private long theoreticalArrivalTime;
+
+    public DiscogsRateLimiter(Environment environment) {
+        this(Integer.parseInt(environment.getRequiredProperty(REQUESTS_PER_MINUTE.value)),
+                Integer.parseInt(environment.getRequiredProperty(BURST.value)),
+                Integer.parseInt(environment.getRequiredProperty(MAX_RETRIES.value)),
+                System::nanoTime);
+    }
+
+    DiscogsRateLimiter(int requestsPerMinute, int burst, int maxRetries, LongSupplier nanoClock) {
+        if (requestsPerMinute <= 0 || burst <= 0 || maxRetries < 0) {
+            throw new IllegalArgumentException(String.format("Invalid rate limit requestsPerMinute=%s, burst=%s, maxRetries=%s",
+                    requestsPerMinute, burst, maxRetries));
+        }
+        this.burst = burst;
+        this.maxRetries = maxRetries;
+        this.nanoClock = requireNonNull(nanoClock, "nanoClock");
+        this.intervalNanos = WINDOW_NANOS / requestsPerMinute;
+        this.theoreticalArrivalTime = nanoClock.getAsLong();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> throttled(request, next))
+                .flatMap(response -> {
+                    updateFromHeaders(response);
+                    if (response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                        LOG.warn("Discogs rate limit exceeded for {}, queueing retry", request.url());
+                        return response.releaseBody()
+                                .then(Mono.error(new RateLimitExceededException(request.url())));
+                    }
+                    return Mono.just(response);
+                })
+                .retryWhen(Retry.max(maxRetries)
+                        .filter(RateLimitExceededException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    private Mono<ClientResponse> throttled(ClientRequest request, ExchangeFunction next) {
+        Duration delay = reserve();
+        if (delay.isZero()) {
+            return next.exchange(request);
+        }
+        LOG.debug("Delaying {} by {} to stay within the Discogs rate limit", request.url(), delay);
+        return Mono.delay(delay).then(next.exchange(request));
+    }
+
+    synchronized Duration reserve() {
+        long now = nanoClock.getAsLong();
+        long burstTolerance = (burst - 1) * intervalNanos;
+        theoreticalArrivalTime = Math.max(theoreticalArrivalTime, now);
+        long delay = Math.max(0, theoreticalArrivalTime - now - burstTolerance);
+        theoreticalArrivalTime += intervalNanos;
+        return Duration.ofNanos(delay);
+    }
+
+    synchronized void update(int limit, int remaining) {
+        if (limit > 0) {
+            intervalNanos = WINDOW_NANOS / limit;
+        }
+        long now = nanoClock.getAsLong();
+        int available = Math.min(Math.max(remaining, 0), burst);
+        theoreticalArrivalTime = Math.max(theoreticalArrivalTime, now + (burst - available) * intervalNanos);
+    }
+
+    private void updateFromHeaders(ClientResponse response) {
+        Optional<Integer> remaining = intHeader(response, RATE_LIMIT_REMAINING_HEADER);
+        if (response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            remaining = Optional.of(0);
+        }
+        remaining.ifPresent(value -> update(intHeader(response, RATE_LIMIT_HEADER).orElse(0), value));
+    }
+
+    private Optional<Integer> intHeader(ClientResponse response, String name) {
+        List<String> values = response.headers().header(name);
+        if (values.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Integer.parseInt(values.get(0).trim()));
+        } catch (NumberFormatException e) {
+            LOG.warn("Ignoring unparseable header {}={}", name, values.get(0));
+            return Optional.empty();
+        }
+    }
+
+    enum RateLimitConfigProperty {
+        REQUESTS_PER_MINUTE("lookup.ratelimit.requestsperminute"),
+        BURST("lookup.ratelimit.burst"),
+        MAX_RETRIES("lookup.ratelimit.maxretries");
+
+        public final String value;
+
+        RateLimitConfigProperty(String value) {
+            this.value = value;
+        }
+    }
+}
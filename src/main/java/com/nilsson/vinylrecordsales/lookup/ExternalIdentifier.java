@@ -10,7 +10,9 @@ public enum ExternalIdentifier {
     TRACK_TITLE("title"),
     TRACK_DURATION("duration"),
     TYPE("type"),
-    RELEASE("release");
+    RELEASE("release"),
+    FORMAT("format"),
+    COUNTRY("country");
 
     private final String value;
 
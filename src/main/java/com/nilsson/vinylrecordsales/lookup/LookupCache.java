@@ -0,0 +1,184 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Objects.requireNonNull;
+
+public class LookupCache {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private final String name;
+    private final Cache<String, String> memory;
+    private final Path directory;
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final Scheduler diskScheduler;
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public LookupCache(String name, long maximumSize, Duration timeToLive, Path directory) {
+        this(name, maximumSize, timeToLive, directory, Clock.systemUTC(), Schedulers.boundedElastic());
+    }
+
+    LookupCache(String name, long maximumSize, Duration timeToLive, Path directory, Clock clock, Scheduler diskScheduler) {
+        this.name = requireNonNull(name, "name");
+        this.timeToLive = requireNonNull(timeToLive, "timeToLive");
+        this.directory = requireNonNull(directory, "directory").resolve(name);
+        this.clock = requireNonNull(clock, "clock");
+        this.diskScheduler = requireNonNull(diskScheduler, "diskScheduler");
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TimeToLiveExpiry(timeToLive))
+                .recordStats()
+                .build();
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        diskScheduler.schedule(this::sweepExpired);
+    }
+
+    public Mono<String> get(String key) {
+        return Mono.defer(() -> {
+            String cached = memory.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return Mono.fromCallable(() -> readFromDisk(key))
+                    .subscribeOn(diskScheduler)
+                    .doOnNext(entry -> {
+                        diskHits.incrementAndGet();
+                        memory.policy().expireVariably().orElseThrow().put(key, entry.response(), entry.remaining());
+                    })
+                    .map(DiskEntry::response)
+                    .switchIfEmpty(Mono.fromRunnable(misses::incrementAndGet));
+        });
+    }
+
+    public void put(String key, String response) {
+        memory.put(key, response);
+        diskScheduler.schedule(() -> writeToDisk(key, response));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Cache<String, String> getMemoryTier() {
+        return memory;
+    }
+
+    public LookupCacheStatistics getStatistics() {
+        return new LookupCacheStatistics(memory.stats().hitCount(), diskHits.get(), misses.get());
+    }
+
+    private DiskEntry readFromDisk(String key) throws IOException {
+        Path file = fileFor(key);
+        try {
+            Duration remaining = remainingTimeToLive(file);
+            if (remaining.isZero() || remaining.isNegative()) {
+                LOG.debug("Expired {} cache entry for key {}", name, key);
+                Files.deleteIfExists(file);
+                return null;
+            }
+            return new DiskEntry(Files.readString(file, StandardCharsets.UTF_8), remaining);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private Duration remainingTimeToLive(Path file) throws IOException {
+        Instant written = Files.getLastModifiedTime(file).toInstant();
+        return Duration.between(clock.instant(), written.plus(timeToLive));
+    }
+
+    private void sweepExpired() {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(Files::isRegularFile).forEach(this::deleteIfExpired);
+        } catch (IOException e) {
+            LOG.warn("Failed sweeping expired {} cache entries from disk", name, e);
+        }
+    }
+
+    private void deleteIfExpired(Path file) {
+        try {
+            Duration remaining = remainingTimeToLive(file);
+            if (remaining.isZero() || remaining.isNegative()) {
+                Files.deleteIfExists(file);
+                LOG.debug("Swept expired {} cache file {}", name, file.getFileName());
+            }
+        } catch (NoSuchFileException e) {
+            LOG.debug("{} cache file {} was removed during sweep", name, file.getFileName());
+        } catch (IOException e) {
+            LOG.warn("Failed sweeping {} cache file {}", name, file.getFileName(), e);
+        }
+    }
+
+    private void writeToDisk(String key, String response) {
+        Path file = fileFor(key);
+        try {
+            Path temporaryFile = Files.createTempFile(directory, null, ".tmp");
+            Files.writeString(temporaryFile, response, StandardCharsets.UTF_8);
+            Files.move(temporaryFile, file, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOG.warn("Failed writing {} cache entry for key {} to disk", name, key, e);
+        }
+    }
+
+    private Path fileFor(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(hash));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    public record LookupCacheStatistics(long memoryHits, long diskHits, long misses) {
+    }
+
+    private record DiskEntry(String response, Duration remaining) {
+    }
+
+    private record TimeToLiveExpiry(Duration timeToLive) implements Expiry<String, String> {
+        @Override
+        public long expireAfterCreate(String key, String value, long currentTime) {
+            return timeToLive.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, String value, long currentTime, long currentDuration) {
+            return timeToLive.toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, String value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static com.nilsson.vinylrecordsales.lookup.LookupCacheFactory.LookupCacheConfigProperty.*;
+import static java.util.Objects.requireNonNull;
+
+public class LookupCacheFactory {
+    private static final String SEARCH_CACHE_NAME = "search";
+    private static final String RELEASE_CACHE_NAME = "release";
+    private final long maximumSize;
+    private final Duration searchTimeToLive;
+    private final Duration releaseTimeToLive;
+    private final Path directory;
+
+    public LookupCacheFactory(Environment environment) {
+        requireNonNull(environment, "environment");
+        this.maximumSize = Long.parseLong(environment.getRequiredProperty(MAXIMUM_SIZE.value));
+        this.searchTimeToLive = Duration.parse(environment.getRequiredProperty(SEARCH_TTL.value));
+        this.releaseTimeToLive = Duration.parse(environment.getRequiredProperty(RELEASE_TTL.value));
+        this.directory = Path.of(environment.getRequiredProperty(DIRECTORY.value));
+    }
+
+    public LookupCache searchCache() {
+        return new LookupCache(SEARCH_CACHE_NAME, maximumSize, searchTimeToLive, directory);
+    }
+
+    public LookupCache releaseCache() {
+        return new LookupCache(RELEASE_CACHE_NAME, maximumSize, releaseTimeToLive, directory);
+    }
+
+    enum LookupCacheConfigProperty {
+        MAXIMUM_SIZE("lookup.cache.maximumsize"),
+        SEARCH_TTL("lookup.cache.ttl.search"),
+        RELEASE_TTL("lookup.cache.ttl.release"),
+        DIRECTORY("lookup.cache.directory");
+
+        public final String value;
+
+        LookupCacheConfigProperty(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+public class LookupCacheMetrics implements MeterBinder {
+    private static final String CACHE_TAG = "cache";
+    private final List<LookupCache> caches;
+
+    public LookupCacheMetrics(List<LookupCache> caches) {
+        this.caches = List.copyOf(requireNonNull(caches, "caches"));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (LookupCache cache : caches) {
+            CaffeineCacheMetrics.monitor(registry, cache.getMemoryTier(), "lookup." + cache.getName());
+            FunctionCounter.builder("vinyl.lookup.cache.disk.hits", cache, c -> c.getStatistics().diskHits())
+                    .description("Lookups answered from the disk tier")
+                    .tag(CACHE_TAG, cache.getName())
+                    .register(registry);
+            FunctionCounter.builder("vinyl.lookup.cache.misses", cache, c -> c.getStatistics().misses())
+                    .description("Lookups answered by neither memory nor disk")
+                    .tag(CACHE_TAG, cache.getName())
+                    .register(registry);
+        }
+    }
+}
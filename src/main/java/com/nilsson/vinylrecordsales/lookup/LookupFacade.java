@@ -3,8 +3,13 @@ package com.nilsson.vinylrecordsales.lookup;
 import reactor.core.publisher.Mono;
 
 public interface LookupFacade {
+    int FIRST_PAGE = 1;
 
-    Mono<String> findByCatalogueNumber(String catalogueNumber);
+    default Mono<String> findByCatalogueNumber(String catalogueNumber) {
+        return findByCatalogueNumber(catalogueNumber, FIRST_PAGE);
+    }
+
+    Mono<String> findByCatalogueNumber(String catalogueNumber, int page);
 
     Mono<String> getByReleaseId(Integer releaseId);
 }
@@ -7,116 +7,78 @@ import com.google.gson.JsonParser;
 import com.nilsson.vinylrecordsales.domain.RecordInformation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.lang.invoke.MethodHandles;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
-import static com.nilsson.vinylrecordsales.lookup.ExternalIdentifier.*;
 import static java.util.Objects.requireNonNull;
 
 public class LookupServiceImpl implements LookupService {
     private final LookupFacade lookupFacade;
     private final RecordInformationConverter recordInformationConverter;
+    private final ReleaseMatcher releaseMatcher;
     private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final int MAX_SEARCH_PAGES = 10;
 
-    public LookupServiceImpl(LookupFacade lookupFacade, RecordInformationConverter recordInformationConverter) {
+    public LookupServiceImpl(LookupFacade lookupFacade, RecordInformationConverter recordInformationConverter,
+                             ReleaseMatcher releaseMatcher) {
         this.lookupFacade = requireNonNull(lookupFacade, "lookupFacade");
         this.recordInformationConverter = requireNonNull(recordInformationConverter, "recordInformationConverter");
+        this.releaseMatcher = requireNonNull(releaseMatcher, "releaseMatcher");
     }
 
     @Override
     public Mono<Optional<RecordInformation>> getRecordInformationByCatalogueNumber(String catalogueNumber,
                                                                                    String... extraTitleWords) {
-        return lookupFacade.findByCatalogueNumber(catalogueNumber)
-                .map(JsonParser::parseString)
-                .map(JsonElement::getAsJsonObject)
-                .map(jsonObject -> jsonObject.getAsJsonArray("results"))
-                .flatMap(catalogueNumberResponse -> createRecordInformation(catalogueNumberResponse, extraTitleWords));
+        return searchResultPages(catalogueNumber)
+                .map(catalogueNumberResponse -> releaseMatcher.rank(catalogueNumberResponse, extraTitleWords))
+                .filter(ReleaseMatcher.Ranking::hasCandidates)
+                .next()
+                .flatMap(ranking -> createRecordInformation(catalogueNumber, ranking))
+                .defaultIfEmpty(Optional.empty());
     }
 
-    private Mono<Optional<RecordInformation>> createRecordInformation(JsonArray catalogueNumberResponse, String... extraTitleWords) {
-        Optional<Integer> releaseId = findCorrectReleaseId(catalogueNumberResponse, extraTitleWords);
-        if (releaseId.isEmpty()) {
-            return Mono.just(Optional.empty());
-        }
-        String title = findTitle(catalogueNumberResponse, releaseId.get());
-        return lookupFacade.getByReleaseId(releaseId.get())
-                .map(JsonParser::parseString)
-                .map(JsonElement::getAsJsonObject)
-                .map(releaseResponse -> recordInformationConverter.getRecordInformation(title, releaseResponse));
+    private Flux<JsonArray> searchResultPages(String catalogueNumber) {
+        return searchResultPages(catalogueNumber, LookupFacade.FIRST_PAGE);
     }
 
-    private String findTitle(JsonArray catalogueNumberResponse, Integer releaseId) {
-        return IntStream.range(0, catalogueNumberResponse.size())
-                .mapToObj(catalogueNumberResponse::get)
-                .map(JsonElement::getAsJsonObject)
-                .filter(response -> response.get(RELEASE_ID.toString()).getAsInt() == releaseId)
-                .findFirst()
-                .map(correctResponse -> correctResponse.get(RECORD_TITLE.toString()))
-                .map(JsonElement::getAsString)
-                .orElseThrow();
-    }
-
-    private Optional<Integer> findCorrectReleaseId(JsonArray catalogueNumberResponse, String... extraTitleWords) {
-        if (extraTitleWords.length <= 0 && !hasDistinctTitle(catalogueNumberResponse)) {
-            return Optional.empty();
-        }
-        return findReleaseId(catalogueNumberResponse, extraTitleWords);
-
-
+    private Flux<JsonArray> searchResultPages(String catalogueNumber, int pageNumber) {
+        return searchPage(catalogueNumber, pageNumber)
+                .flatMapMany(page -> Flux.just(page.results())
+                        .concatWith(page.hasNext()
+                                ? Flux.defer(() -> searchResultPages(catalogueNumber, pageNumber + 1))
+                                : Flux.empty()));
     }
 
-    private Optional<Integer> findReleaseId(JsonArray catalogueNumberResponse, String... extraTitleWords) {
-        List<JsonObject> releaseRecordsWithTitlesMatchingExtraWords = IntStream.range(0, catalogueNumberResponse.size())
-                .mapToObj(catalogueNumberResponse::get)
+    private Mono<SearchPage> searchPage(String catalogueNumber, int page) {
+        return lookupFacade.findByCatalogueNumber(catalogueNumber, page)
+                .map(JsonParser::parseString)
                 .map(JsonElement::getAsJsonObject)
-                .filter(isReleaseRecord())
-                .filter(titleMatchesExtraWords(extraTitleWords))
-                .collect(Collectors.toList());
-        if (hasDistinctTitle(releaseRecordsWithTitlesMatchingExtraWords)) {
-            return releaseRecordsWithTitlesMatchingExtraWords.stream()
-                    .findFirst()
-                    .map(correctResponse -> correctResponse.get(RELEASE_ID.toString()))
-                    .map(JsonElement::getAsInt);
-        }
-        return Optional.empty();
+                .map(response -> SearchPage.of(page, response));
     }
 
-    private Predicate<JsonObject> titleMatchesExtraWords(String[] extraTitleWords) {
-        return response -> Arrays.stream(extraTitleWords)
-                .map(String::toLowerCase)
-                .allMatch(response.get(TRACK_TITLE.toString()).getAsString().toLowerCase()::contains);
-    }
-
-    private Predicate<JsonObject> isReleaseRecord() {
-        return response -> response.get(TYPE.toString()).getAsString().equals(RELEASE.toString());
-    }
-
-    private boolean hasDistinctTitle(JsonArray results) {
-        return hasDistinctTitle(IntStream.range(0, results.size())
-                .mapToObj(results::get)
-                .map(JsonElement::getAsJsonObject)
-                .collect(Collectors.toList()));
+    private Mono<Optional<RecordInformation>> createRecordInformation(String catalogueNumber, ReleaseMatcher.Ranking ranking) {
+        if (ranking.bestMatch().isEmpty()) {
+            return Mono.just(Optional.empty());
+        }
+        ReleaseMatch releaseMatch = ranking.bestMatch().get();
+        LOG.debug("Matched {} to release {} <{}> with confidence {}",
+                catalogueNumber, releaseMatch.releaseId(), releaseMatch.title(), releaseMatch.confidence());
+        return lookupFacade.getByReleaseId(releaseMatch.releaseId())
+                .map(releaseResponse -> recordInformationConverter.getRecordInformation(releaseMatch.title(), releaseResponse));
     }
 
-    private boolean hasDistinctTitle(List<JsonObject> jsonObjects) {
-        var titles = new HashSet<String>();
-        for (JsonObject element : jsonObjects) {
-            titles.add(element.get(RECORD_TITLE.toString()).getAsString());
+    private record SearchPage(int number, int pages, JsonArray results) {
+        static SearchPage of(int number, JsonObject response) {
+            JsonObject pagination = response.getAsJsonObject("pagination");
+            int pages = pagination == null ? number : pagination.get("pages").getAsInt();
+            return new SearchPage(number, pages, response.getAsJsonArray("results"));
         }
 
-        boolean distinctTitle = titles.size() == 1;
-        if (!distinctTitle) {
-            LOG.warn("Cannot determine which title to use. Found titles <{}>", titles);
+        boolean hasNext() {
+            return number < Math.min(pages, MAX_SEARCH_PAGES);
         }
-
-        return distinctTitle;
     }
-}
\ No newline at end of file
+}
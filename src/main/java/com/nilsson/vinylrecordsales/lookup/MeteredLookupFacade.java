@@ -0,0 +1,26 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import com.nilsson.vinylrecordsales.domain.UpstreamMetrics;
+import reactor.core.publisher.Mono;
+
+import static java.util.Objects.requireNonNull;
+
+public class MeteredLookupFacade implements LookupFacade {
+    private final LookupFacade lookupFacade;
+    private final UpstreamMetrics metrics;
+
+    public MeteredLookupFacade(LookupFacade lookupFacade, UpstreamMetrics metrics) {
+        this.lookupFacade = requireNonNull(lookupFacade, "lookupFacade");
+        this.metrics = requireNonNull(metrics, "metrics");
+    }
+
+    @Override
+    public Mono<String> findByCatalogueNumber(String catalogueNumber, int page) {
+        return metrics.time("search", lookupFacade.findByCatalogueNumber(catalogueNumber, page));
+    }
+
+    @Override
+    public Mono<String> getByReleaseId(Integer releaseId) {
+        return metrics.time("release", lookupFacade.getByReleaseId(releaseId));
+    }
+}
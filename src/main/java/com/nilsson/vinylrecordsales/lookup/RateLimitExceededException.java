@@ -0,0 +1,11 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import java.net.URI;
+
+import static java.lang.String.format;
+
+public class RateLimitExceededException extends RuntimeException {
+    public RateLimitExceededException(URI uri) {
+        super(format("Rate limit exceeded when requesting %s", uri));
+    }
+}
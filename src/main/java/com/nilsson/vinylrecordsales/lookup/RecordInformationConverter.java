@@ -1,61 +1,101 @@
 package com.nilsson.vinylrecordsales.lookup;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.nilsson.vinylrecordsales.domain.RecordInformation;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.time.Year;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import static com.nilsson.vinylrecordsales.lookup.ExternalIdentifier.*;
 
 public class RecordInformationConverter {
 
-    public Optional<RecordInformation> getRecordInformation(String title, JsonObject releaseResponse) {
-        return Optional.of(RecordInformation.builder()
-                .withTitle(title)
-                .withTracklist(extractTracklist(releaseResponse))
-                .withYear(extractYear(releaseResponse))
-                .withStyle(extractStyle(releaseResponse))
-                .withGenre(extractGenre(releaseResponse))
-                .build());
+    public Optional<RecordInformation> getRecordInformation(String title, String releaseResponse) {
+        return getRecordInformation(title, new StringReader(releaseResponse));
     }
 
-    private List<String> extractGenre(JsonObject releaseResponse) {
-        var genres = releaseResponse.get(GENRES.toString()).getAsJsonArray();
-        return StreamSupport.stream(genres.spliterator(), true)
-                .map(JsonElement::getAsString)
-                .collect(Collectors.toList());
+    public Optional<RecordInformation> getRecordInformation(String title, Reader releaseResponse) {
+        var builder = RecordInformation.builder()
+                .withTitle(title)
+                .withGenre(Collections.emptyList())
+                .withStyle(Collections.emptyList())
+                .withTracklist(Collections.emptyMap());
+        try (JsonReader reader = new JsonReader(releaseResponse)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (GENRES.toString().equals(name)) {
+                    builder.withGenre(extractStrings(reader));
+                } else if (STYLES.toString().equals(name)) {
+                    builder.withStyle(extractStrings(reader));
+                } else if (YEAR.toString().equals(name)) {
+                    builder.withYear(extractYear(reader));
+                } else if (TRACKLIST.toString().equals(name)) {
+                    builder.withTracklist(extractTracklist(reader));
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Optional.of(builder.build());
     }
 
-    private List<String> extractStyle(JsonObject releaseResponse) {
-        JsonElement styleJson = releaseResponse.get(STYLES.toString());
-        if (styleJson == null || styleJson.isJsonNull()) {
+    private List<String> extractStrings(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
             return Collections.emptyList();
         }
-        var styles = styleJson.getAsJsonArray();
-        return StreamSupport.stream(styles.spliterator(), true)
-                .map(JsonElement::getAsString)
-                .collect(Collectors.toList());
+        List<String> values = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            values.add(reader.nextString());
+        }
+        reader.endArray();
+        return values;
     }
 
-    private Year extractYear(JsonObject releaseResponse) {
-        var element = releaseResponse.get(YEAR.toString());
-        if (element == null || element.getAsInt() == 0) return null;
+    private Year extractYear(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        int year = reader.nextInt();
+        if (year == 0) return null;
 
-        return Year.of(element.getAsInt());
+        return Year.of(year);
     }
 
-    private Map<String, String> extractTracklist(JsonObject jsonObject) {
+    private Map<String, String> extractTracklist(JsonReader reader) throws IOException {
         Map<String, String> tracklist = new LinkedHashMap<>();
-        var tracklistArray = jsonObject.get(TRACKLIST.toString()).getAsJsonArray();
-
-        for (JsonElement track : tracklistArray) {
-            var trackObj = track.getAsJsonObject();
-            tracklist.put(trackObj.get(TRACK_TITLE.toString()).getAsString(), trackObj.get(TRACK_DURATION.toString()).getAsString());
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String trackTitle = null;
+            String trackDuration = "";
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (TRACK_TITLE.toString().equals(name)) {
+                    trackTitle = reader.nextString();
+                } else if (TRACK_DURATION.toString().equals(name)) {
+                    trackDuration = reader.nextString();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            if (trackTitle != null) {
+                tracklist.put(trackTitle, trackDuration);
+            }
         }
+        reader.endArray();
         return tracklist;
     }
-}
\ No newline at end of file
+}
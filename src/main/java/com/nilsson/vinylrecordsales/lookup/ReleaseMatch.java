@@ -0,0 +1,9 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import static java.util.Objects.requireNonNull;
+
+public record ReleaseMatch(int releaseId, String title, double confidence) {
+    public ReleaseMatch {
+        requireNonNull(title, "title");
+    }
+}
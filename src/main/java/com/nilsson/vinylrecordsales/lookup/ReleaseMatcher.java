@@ -0,0 +1,155 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static com.nilsson.vinylrecordsales.lookup.ExternalIdentifier.*;
+import static com.nilsson.vinylrecordsales.lookup.ReleaseMatcher.ReleaseMatcherConfigProperty.PREFERRED_COUNTRY;
+import static java.util.Objects.requireNonNull;
+
+public class ReleaseMatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int VINYL_SCORE = 4;
+    private static final int LP_SCORE = 2;
+    private static final int COUNTRY_SCORE = 2;
+    private static final int YEAR_SCORE = 1;
+    private static final int WHOLE_WORD_SCORE = 2;
+    private static final int PARTIAL_WORD_SCORE = 1;
+    private static final int NO_MATCH = -1;
+    private static final double MINIMUM_CONFIDENCE = 0.25;
+    private final String preferredCountry;
+
+    public ReleaseMatcher(Environment environment) {
+        this(requireNonNull(environment, "environment").getRequiredProperty(PREFERRED_COUNTRY.value));
+    }
+
+    ReleaseMatcher(String preferredCountry) {
+        this.preferredCountry = requireNonNull(preferredCountry, "preferredCountry").strip().toLowerCase(Locale.ROOT);
+    }
+
+    public Ranking rank(Iterable<JsonElement> searchResults, String... extraTitleWords) {
+        List<String> words = Arrays.stream(extraTitleWords)
+                .map(word -> word.toLowerCase(Locale.ROOT))
+                .toList();
+        int candidates = 0;
+        Candidate best = null;
+        Candidate bestWithOtherTitle = null;
+        for (JsonElement element : searchResults) {
+            JsonObject result = element.getAsJsonObject();
+            if (!RELEASE.toString().equals(string(result, TYPE))) continue;
+
+            String title = string(result, RECORD_TITLE);
+            int wordScore = wordScore(title.toLowerCase(Locale.ROOT), words);
+            if (wordScore == NO_MATCH) continue;
+
+            candidates++;
+            Candidate candidate = new Candidate(result.get(RELEASE_ID.toString()).getAsInt(), title,
+                    wordScore + formatScore(result) + countryScore(result) + yearScore(result));
+            if (best == null || candidate.score() > best.score()) {
+                if (best != null && !best.title().equals(title)) {
+                    bestWithOtherTitle = best;
+                }
+                best = candidate;
+            } else if (!best.title().equals(title)
+                    && (bestWithOtherTitle == null || candidate.score() > bestWithOtherTitle.score())) {
+                bestWithOtherTitle = candidate;
+            }
+        }
+        if (best == null) return new Ranking(0, Optional.empty());
+
+        double confidence = confidence(best, bestWithOtherTitle);
+        if (confidence < MINIMUM_CONFIDENCE) {
+            LOG.warn("Cannot determine which title to use. Found titles <{}> and <{}> with scores {} and {}",
+                    best.title(), bestWithOtherTitle.title(), best.score(), bestWithOtherTitle.score());
+            return new Ranking(candidates, Optional.empty());
+        }
+        return new Ranking(candidates, Optional.of(new ReleaseMatch(best.releaseId(), best.title(), confidence)));
+    }
+
+    private static double confidence(Candidate best, Candidate bestWithOtherTitle) {
+        if (bestWithOtherTitle == null) return 1.0;
+        if (best.score() <= 0) return 0.0;
+
+        return (double) (best.score() - bestWithOtherTitle.score()) / best.score();
+    }
+
+    private static int wordScore(String lowerCaseTitle, List<String> words) {
+        if (words.isEmpty()) return 0;
+
+        Set<String> tokens = TOKEN_SEPARATOR.splitAsStream(lowerCaseTitle)
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toSet());
+        int score = 0;
+        for (String word : words) {
+            if (tokens.contains(word)) {
+                score += WHOLE_WORD_SCORE;
+            } else if (lowerCaseTitle.contains(word)) {
+                score += PARTIAL_WORD_SCORE;
+            } else {
+                return NO_MATCH;
+            }
+        }
+        return score;
+    }
+
+    private static int formatScore(JsonObject result) {
+        if (!result.has(FORMAT.toString()) || !result.get(FORMAT.toString()).isJsonArray()) return 0;
+
+        int score = 0;
+        for (JsonElement format : result.getAsJsonArray(FORMAT.toString())) {
+            String lowerCaseFormat = format.getAsString().toLowerCase(Locale.ROOT);
+            if (lowerCaseFormat.equals("vinyl")) {
+                score += VINYL_SCORE;
+            } else if (lowerCaseFormat.equals("lp")) {
+                score += LP_SCORE;
+            }
+        }
+        return score;
+    }
+
+    private int countryScore(JsonObject result) {
+        return !preferredCountry.isEmpty() && preferredCountry.equalsIgnoreCase(string(result, COUNTRY)) ? COUNTRY_SCORE : 0;
+    }
+
+    private static int yearScore(JsonObject result) {
+        String year = string(result, YEAR);
+        return year.isBlank() || year.equals("0") ? 0 : YEAR_SCORE;
+    }
+
+    private static String string(JsonObject result, ExternalIdentifier identifier) {
+        JsonElement value = result.get(identifier.toString());
+        return value == null || value.isJsonNull() ? "" : value.getAsString();
+    }
+
+    private record Candidate(int releaseId, String title, int score) {
+    }
+
+    public record Ranking(int candidates, Optional<ReleaseMatch> bestMatch) {
+        public boolean hasCandidates() {
+            return candidates > 0;
+        }
+    }
+
+    enum ReleaseMatcherConfigProperty {
+        PREFERRED_COUNTRY("lookup.match.country");
+
+        public final String value;
+
+        ReleaseMatcherConfigProperty(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import com.nilsson.vinylrecordsales.domain.UpstreamResilience;
+import reactor.core.publisher.Mono;
+
+import static java.util.Objects.requireNonNull;
+
+public class ResilientLookupFacade implements LookupFacade {
+    private final LookupFacade lookupFacade;
+    private final UpstreamResilience resilience;
+
+    public ResilientLookupFacade(LookupFacade lookupFacade, UpstreamResilience resilience) {
+        this.lookupFacade = requireNonNull(lookupFacade, "lookupFacade");
+        this.resilience = requireNonNull(resilience, "resilience");
+    }
+
+    @Override
+    public Mono<String> findByCatalogueNumber(String catalogueNumber, int page) {
+        return resilience.apply(lookupFacade.findByCatalogueNumber(catalogueNumber, page));
+    }
+
+    @Override
+    public Mono<String> getByReleaseId(Integer releaseId) {
+        return resilience.apply(lookupFacade.getByReleaseId(releaseId));
+    }
+}
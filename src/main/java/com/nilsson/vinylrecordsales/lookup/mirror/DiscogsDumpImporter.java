@@ -0,0 +1,366 @@
+package com.nilsson.vinylrecordsales.lookup.mirror;
+
+import com.google.gson.stream.JsonWriter;
+import com.nilsson.vinylrecordsales.lookup.CatalogueNumbers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.*;
+import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static com.nilsson.vinylrecordsales.lookup.mirror.DiscogsMirror.*;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Objects.requireNonNull;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+public class DiscogsDumpImporter {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int PROGRESS_INTERVAL = 100_000;
+    private static final Pattern ARTIST_NAME_VARIATION = Pattern.compile("\\s\\(\\d+\\)$");
+    private final Path directory;
+    private final XMLInputFactory xmlInputFactory;
+
+    public DiscogsDumpImporter(Path directory) {
+        this.directory = requireNonNull(directory, "directory");
+        this.xmlInputFactory = XMLInputFactory.newFactory();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: DiscogsDumpImporter <discogs_releases.xml.gz> <mirror directory>");
+            System.exit(1);
+        }
+        new DiscogsDumpImporter(Path.of(args[1])).importDump(Path.of(args[0]));
+    }
+
+    public int importDump(Path dump) throws IOException {
+        requireNonNull(dump, "dump");
+        Files.createDirectories(directory);
+        Path dataFile = Files.createTempFile(directory, DATA_FILE, ".tmp");
+        Path offsetsFile = Files.createTempFile(directory, OFFSETS_FILE, ".tmp");
+        Path releaseIndexFile = Files.createTempFile(directory, RELEASE_INDEX_FILE, ".tmp");
+        Path catalogueIndexFile = Files.createTempFile(directory, CATALOGUE_INDEX_FILE, ".tmp");
+        try {
+            int releases = importDump(dump, dataFile, offsetsFile, releaseIndexFile, catalogueIndexFile);
+            Files.move(dataFile, directory.resolve(DATA_FILE), ATOMIC_MOVE, REPLACE_EXISTING);
+            Files.move(offsetsFile, directory.resolve(OFFSETS_FILE), ATOMIC_MOVE, REPLACE_EXISTING);
+            Files.move(releaseIndexFile, directory.resolve(RELEASE_INDEX_FILE), ATOMIC_MOVE, REPLACE_EXISTING);
+            Files.move(catalogueIndexFile, directory.resolve(CATALOGUE_INDEX_FILE), ATOMIC_MOVE, REPLACE_EXISTING);
+            return releases;
+        } finally {
+            Files.deleteIfExists(dataFile);
+            Files.deleteIfExists(offsetsFile);
+            Files.deleteIfExists(releaseIndexFile);
+            Files.deleteIfExists(catalogueIndexFile);
+        }
+    }
+
+    private int importDump(Path dump, Path dataFile, Path offsetsFile, Path releaseIndexFile, Path catalogueIndexFile)
+            throws IOException {
+        LongList releaseKeys = new LongList();
+        LongList catalogueKeys = new LongList();
+        try (InputStream input = open(dump);
+             DataOutputStream data = output(dataFile);
+             DataOutputStream offsets = output(offsetsFile)) {
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(input);
+            long offset = 0;
+            int recordNumber = 0;
+            while (reader.hasNext()) {
+                if (reader.next() != START_ELEMENT || !"release".equals(reader.getLocalName())) continue;
+
+                DumpRelease release = readRelease(reader);
+                byte[] json = release.toJson().getBytes(StandardCharsets.UTF_8);
+                data.writeInt(json.length);
+                data.write(json);
+                offsets.writeLong(offset);
+                offset += Integer.BYTES + json.length;
+                releaseKeys.add(key(release.id, recordNumber));
+                for (String catalogueNumber : release.normalisedCatalogueNumbers()) {
+                    catalogueKeys.add(key(catalogueNumber.hashCode(), recordNumber));
+                }
+                if (++recordNumber % PROGRESS_INTERVAL == 0) {
+                    LOG.info("Imported {} releases from {}", recordNumber, dump);
+                }
+            }
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed Discogs dump " + dump, e);
+        }
+        writeIndex(releaseKeys, releaseIndexFile);
+        writeIndex(catalogueKeys, catalogueIndexFile);
+        LOG.info("Imported {} releases with {} catalogue numbers from {} into {}",
+                releaseKeys.size, catalogueKeys.size, dump, directory);
+        return releaseKeys.size;
+    }
+
+    private InputStream open(Path dump) throws IOException {
+        InputStream input = new BufferedInputStream(Files.newInputStream(dump), BUFFER_SIZE);
+        return dump.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(input, BUFFER_SIZE) : input;
+    }
+
+    private static DataOutputStream output(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+    }
+
+    private static void writeIndex(LongList keys, Path indexFile) throws IOException {
+        try (DataOutputStream index = output(indexFile)) {
+            long[] sorted = keys.sorted();
+            for (int i = 0; i < keys.size; i++) {
+                index.writeLong(sorted[i]);
+            }
+        }
+    }
+
+    private DumpRelease readRelease(XMLStreamReader reader) throws XMLStreamException {
+        DumpRelease release = new DumpRelease(Integer.parseInt(reader.getAttributeValue(null, "id")));
+        forEachChild(reader, name -> {
+            switch (name) {
+                case "title" -> release.title = reader.getElementText();
+                case "released" -> release.released = reader.getElementText();
+                case "artists" -> forEachChild(reader, artist -> readArtist(reader, release));
+                case "labels" -> forEachChild(reader, label -> {
+                    release.labels.add(new DumpLabel(reader.getAttributeValue(null, "name"),
+                            reader.getAttributeValue(null, "catno")));
+                    skip(reader);
+                });
+                case "formats" -> forEachChild(reader, format -> readFormat(reader, release));
+                case "country" -> release.country = reader.getElementText();
+                case "genres" -> forEachChild(reader, genre -> release.genres.add(reader.getElementText()));
+                case "styles" -> forEachChild(reader, style -> release.styles.add(reader.getElementText()));
+                case "tracklist" -> forEachChild(reader, track -> readTrack(reader, release));
+                default -> skip(reader);
+            }
+        });
+        return release;
+    }
+
+    private void readArtist(XMLStreamReader reader, DumpRelease release) throws XMLStreamException {
+        DumpArtist artist = new DumpArtist();
+        forEachChild(reader, name -> {
+            switch (name) {
+                case "name" -> artist.name = reader.getElementText();
+                case "join" -> artist.join = reader.getElementText();
+                default -> skip(reader);
+            }
+        });
+        release.artists.add(artist);
+    }
+
+    private void readFormat(XMLStreamReader reader, DumpRelease release) throws XMLStreamException {
+        DumpFormat format = new DumpFormat(reader.getAttributeValue(null, "name"), reader.getAttributeValue(null, "qty"));
+        forEachChild(reader, name -> {
+            if ("descriptions".equals(name)) {
+                forEachChild(reader, description -> format.descriptions.add(reader.getElementText()));
+            } else {
+                skip(reader);
+            }
+        });
+        release.formats.add(format);
+    }
+
+    private void readTrack(XMLStreamReader reader, DumpRelease release) throws XMLStreamException {
+        DumpTrack track = new DumpTrack();
+        forEachChild(reader, name -> {
+            switch (name) {
+                case "position" -> track.position = reader.getElementText();
+                case "title" -> track.title = reader.getElementText();
+                case "duration" -> track.duration = reader.getElementText();
+                default -> skip(reader);
+            }
+        });
+        release.tracklist.add(track);
+    }
+
+    private static void forEachChild(XMLStreamReader reader, ChildHandler handler) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == START_ELEMENT) {
+                handler.handle(reader.getLocalName());
+            } else if (event == END_ELEMENT) {
+                return;
+            }
+        }
+    }
+
+    private static void skip(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == START_ELEMENT) {
+                depth++;
+            } else if (event == END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChildHandler {
+        void handle(String name) throws XMLStreamException;
+    }
+
+    private static final class DumpRelease {
+        private final int id;
+        private String title = "";
+        private String released = "";
+        private String country = "";
+        private final List<DumpArtist> artists = new ArrayList<>();
+        private final List<DumpLabel> labels = new ArrayList<>();
+        private final List<DumpFormat> formats = new ArrayList<>();
+        private final List<String> genres = new ArrayList<>();
+        private final List<String> styles = new ArrayList<>();
+        private final List<DumpTrack> tracklist = new ArrayList<>();
+
+        private DumpRelease(int id) {
+            this.id = id;
+        }
+
+        private Set<String> normalisedCatalogueNumbers() {
+            Set<String> catalogueNumbers = new LinkedHashSet<>();
+            for (DumpLabel label : labels) {
+                String normalised = CatalogueNumbers.normalise(label.catalogueNumber);
+                if (!normalised.isEmpty()) {
+                    catalogueNumbers.add(normalised);
+                }
+            }
+            return catalogueNumbers;
+        }
+
+        private String artistsSort() {
+            StringBuilder artistsSort = new StringBuilder();
+            for (int i = 0; i < artists.size(); i++) {
+                DumpArtist artist = artists.get(i);
+                artistsSort.append(ARTIST_NAME_VARIATION.matcher(artist.name).replaceFirst(""));
+                if (i == artists.size() - 1) break;
+
+                String join = artist.join.strip();
+                artistsSort.append(join.isEmpty() || join.equals(",") ? ", " : " " + join + " ");
+            }
+            return artistsSort.toString();
+        }
+
+        private int year() {
+            return released.length() >= 4 && released.substring(0, 4).chars().allMatch(Character::isDigit)
+                    ? Integer.parseInt(released.substring(0, 4))
+                    : 0;
+        }
+
+        private String toJson() {
+            StringWriter json = new StringWriter();
+            try (JsonWriter writer = new JsonWriter(json)) {
+                writer.beginObject();
+                writer.name("id").value(id);
+                writer.name("title").value(title);
+                writer.name("artists_sort").value(artistsSort());
+                writer.name("year").value(year());
+                writer.name("released").value(released);
+                writer.name("country").value(country);
+                writer.name("artists").beginArray();
+                for (DumpArtist artist : artists) {
+                    writer.beginObject().name("name").value(artist.name).name("join").value(artist.join).endObject();
+                }
+                writer.endArray();
+                writer.name("labels").beginArray();
+                for (DumpLabel label : labels) {
+                    writer.beginObject().name("name").value(label.name).name("catno").value(label.catalogueNumber).endObject();
+                }
+                writer.endArray();
+                writer.name("formats").beginArray();
+                for (DumpFormat format : formats) {
+                    writer.beginObject().name("name").value(format.name).name("qty").value(format.quantity);
+                    writeStrings(writer, "descriptions", format.descriptions);
+                    writer.endObject();
+                }
+                writer.endArray();
+                writeStrings(writer, "genres", genres);
+                writeStrings(writer, "styles", styles);
+                writer.name("tracklist").beginArray();
+                for (DumpTrack track : tracklist) {
+                    writer.beginObject()
+                            .name("position").value(track.position)
+                            .name("title").value(track.title)
+                            .name("duration").value(track.duration)
+                            .endObject();
+                }
+                writer.endArray();
+                writer.endObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return json.toString();
+        }
+
+        private static void writeStrings(JsonWriter writer, String name, List<String> values) throws IOException {
+            writer.name(name).beginArray();
+            for (String value : values) {
+                writer.value(value);
+            }
+            writer.endArray();
+        }
+    }
+
+    private static final class DumpArtist {
+        private String name = "";
+        private String join = "";
+    }
+
+    private record DumpLabel(String name, String catalogueNumber) {
+        private DumpLabel {
+            name = name == null ? "" : name;
+            catalogueNumber = catalogueNumber == null ? "" : catalogueNumber;
+        }
+    }
+
+    private static final class DumpFormat {
+        private final String name;
+        private final String quantity;
+        private final List<String> descriptions = new ArrayList<>();
+
+        private DumpFormat(String name, String quantity) {
+            this.name = name == null ? "" : name;
+            this.quantity = quantity == null ? "" : quantity;
+        }
+    }
+
+    private static final class DumpTrack {
+        private String position = "";
+        private String title = "";
+        private String duration = "";
+    }
+
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size++] = value;
+        }
+
+        private long[] sorted() {
+            Arrays.parallelSort(values, 0, size);
+            return values;
+        }
+    }
+}
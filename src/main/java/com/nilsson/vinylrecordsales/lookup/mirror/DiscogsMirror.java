@@ -0,0 +1,171 @@
+package com.nilsson.vinylrecordsales.lookup.mirror;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.nilsson.vinylrecordsales.lookup.CatalogueNumbers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.StreamSupport;
+
+import static com.nilsson.vinylrecordsales.lookup.mirror.DiscogsMirror.DiscogsMirrorConfigProperty.DIRECTORY;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Objects.requireNonNull;
+
+public class DiscogsMirror implements Closeable {
+    static final String DATA_FILE = "releases.dat";
+    static final String OFFSETS_FILE = "offsets.idx";
+    static final String RELEASE_INDEX_FILE = "releases.idx";
+    static final String CATALOGUE_INDEX_FILE = "catalogue.idx";
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final LongBuffer EMPTY_INDEX = LongBuffer.allocate(0);
+    private final Optional<FileChannel> data;
+    private final LongBuffer offsets;
+    private final LongBuffer releaseIndex;
+    private final LongBuffer catalogueIndex;
+
+    public DiscogsMirror(Environment environment) {
+        this(Path.of(requireNonNull(environment, "environment").getRequiredProperty(DIRECTORY.value)));
+    }
+
+    public DiscogsMirror(Path directory) {
+        requireNonNull(directory, "directory");
+        if (!Files.exists(directory.resolve(CATALOGUE_INDEX_FILE))) {
+            LOG.info("No Discogs mirror found in {}, all lookups will use the Discogs API", directory);
+            this.data = Optional.empty();
+            this.offsets = EMPTY_INDEX;
+            this.releaseIndex = EMPTY_INDEX;
+            this.catalogueIndex = EMPTY_INDEX;
+            return;
+        }
+        try {
+            this.data = Optional.of(FileChannel.open(directory.resolve(DATA_FILE), READ));
+            this.offsets = map(directory.resolve(OFFSETS_FILE));
+            this.releaseIndex = map(directory.resolve(RELEASE_INDEX_FILE));
+            this.catalogueIndex = map(directory.resolve(CATALOGUE_INDEX_FILE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        LOG.info("Opened Discogs mirror in {} with {} releases", directory, size());
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int size() {
+        return releaseIndex.limit();
+    }
+
+    public Optional<String> getRelease(int releaseId) {
+        return recordNumbers(releaseIndex, releaseId).stream()
+                .findFirst()
+                .map(this::read);
+    }
+
+    public List<String> findByCatalogueNumber(String catalogueNumber) {
+        String normalised = CatalogueNumbers.normalise(catalogueNumber);
+        if (normalised.isEmpty()) return List.of();
+
+        return recordNumbers(catalogueIndex, normalised.hashCode()).stream()
+                .map(this::read)
+                .filter(release -> hasCatalogueNumber(release, normalised))
+                .toList();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (data.isPresent()) {
+            data.get().close();
+        }
+    }
+
+    static long key(int key, int recordNumber) {
+        return (long) key << Integer.SIZE | Integer.toUnsignedLong(recordNumber);
+    }
+
+    private List<Integer> recordNumbers(LongBuffer index, int key) {
+        List<Integer> recordNumbers = new ArrayList<>(1);
+        for (int i = lowerBound(index, key(key, 0));
+             i < index.limit() && (int) (index.get(i) >> Integer.SIZE) == key;
+             i++) {
+            recordNumbers.add((int) index.get(i));
+        }
+        return recordNumbers;
+    }
+
+    private static int lowerBound(LongBuffer index, long value) {
+        int low = 0;
+        int high = index.limit();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (index.get(middle) < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private String read(int recordNumber) {
+        FileChannel channel = data.orElseThrow();
+        long offset = offsets.get(recordNumber);
+        try {
+            ByteBuffer length = readFully(channel, ByteBuffer.allocate(Integer.BYTES), offset);
+            ByteBuffer release = readFully(channel, ByteBuffer.allocate(length.getInt(0)), offset + Integer.BYTES);
+            return new String(release.array(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of Discogs mirror at " + position);
+            }
+        }
+        return buffer;
+    }
+
+    private static boolean hasCatalogueNumber(String release, String normalisedCatalogueNumber) {
+        return StreamSupport.stream(JsonParser.parseString(release).getAsJsonObject().getAsJsonArray("labels").spliterator(), false)
+                .map(JsonElement::getAsJsonObject)
+                .map(label -> label.get("catno").getAsString())
+                .map(CatalogueNumbers::normalise)
+                .anyMatch(normalisedCatalogueNumber::equals);
+    }
+
+    private static LongBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            return channel.map(READ_ONLY, 0, channel.size()).asLongBuffer();
+        }
+    }
+
+    enum DiscogsMirrorConfigProperty {
+        DIRECTORY("lookup.mirror.directory");
+
+        public final String value;
+
+        DiscogsMirrorConfigProperty(String value) {
+            this.value = value;
+        }
+    }
+}
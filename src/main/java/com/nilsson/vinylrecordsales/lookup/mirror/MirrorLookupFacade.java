@@ -0,0 +1,121 @@
+package com.nilsson.vinylrecordsales.lookup.mirror;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.nilsson.vinylrecordsales.lookup.CatalogueNumbers;
+import com.nilsson.vinylrecordsales.lookup.LookupFacade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.StreamSupport;
+
+import static java.util.Objects.requireNonNull;
+
+public class MirrorLookupFacade implements LookupFacade {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private final DiscogsMirror discogsMirror;
+    private final LookupFacade lookupFacade;
+    private final Scheduler scheduler;
+
+    public MirrorLookupFacade(DiscogsMirror discogsMirror, LookupFacade lookupFacade) {
+        this(discogsMirror, lookupFacade, Schedulers.boundedElastic());
+    }
+
+    MirrorLookupFacade(DiscogsMirror discogsMirror, LookupFacade lookupFacade, Scheduler scheduler) {
+        this.discogsMirror = requireNonNull(discogsMirror, "discogsMirror");
+        this.lookupFacade = requireNonNull(lookupFacade, "lookupFacade");
+        this.scheduler = requireNonNull(scheduler, "scheduler");
+    }
+
+    @Override
+    public Mono<String> findByCatalogueNumber(String catalogueNumber, int page) {
+        if (discogsMirror.isEmpty() || page != FIRST_PAGE) return lookupFacade.findByCatalogueNumber(catalogueNumber, page);
+
+        return Mono.fromCallable(() -> discogsMirror.findByCatalogueNumber(catalogueNumber))
+                .subscribeOn(scheduler)
+                .filter(Predicate.not(List::isEmpty))
+                .map(releases -> searchResponse(catalogueNumber, releases))
+                .doOnNext(response -> LOG.debug("Found {} in Discogs mirror", catalogueNumber))
+                .switchIfEmpty(Mono.defer(() -> lookupFacade.findByCatalogueNumber(catalogueNumber, page)));
+    }
+
+    @Override
+    public Mono<String> getByReleaseId(Integer releaseId) {
+        if (discogsMirror.isEmpty()) return lookupFacade.getByReleaseId(releaseId);
+
+        return Mono.fromCallable(() -> discogsMirror.getRelease(releaseId).orElse(null))
+                .subscribeOn(scheduler)
+                .doOnNext(response -> LOG.debug("Found release {} in Discogs mirror", releaseId))
+                .switchIfEmpty(Mono.defer(() -> lookupFacade.getByReleaseId(releaseId)));
+    }
+
+    private String searchResponse(String catalogueNumber, List<String> releases) {
+        JsonArray results = new JsonArray();
+        releases.stream()
+                .map(JsonParser::parseString)
+                .map(JsonElement::getAsJsonObject)
+                .map(release -> searchResult(catalogueNumber, release))
+                .forEach(results::add);
+        JsonObject pagination = new JsonObject();
+        pagination.addProperty("page", 1);
+        pagination.addProperty("pages", 1);
+        pagination.addProperty("per_page", results.size());
+        pagination.addProperty("items", results.size());
+        JsonObject response = new JsonObject();
+        response.add("pagination", pagination);
+        response.add("results", results);
+        return response.toString();
+    }
+
+    private JsonObject searchResult(String catalogueNumber, JsonObject release) {
+        JsonArray labels = release.getAsJsonArray("labels");
+        JsonArray labelNames = new JsonArray();
+        labels.forEach(label -> labelNames.add(label.getAsJsonObject().get("name")));
+        int year = release.get("year").getAsInt();
+        JsonObject result = new JsonObject();
+        result.addProperty("id", release.get("id").getAsInt());
+        result.addProperty("type", "release");
+        result.addProperty("title", release.get("artists_sort").getAsString() + " - " + release.get("title").getAsString());
+        result.addProperty("catno", matchingCatalogueNumber(catalogueNumber, labels));
+        if (year != 0) {
+            result.addProperty("year", String.valueOf(year));
+        }
+        result.add("label", labelNames);
+        result.add("format", formatNames(release));
+        if (release.has("country") && !release.get("country").getAsString().isEmpty()) {
+            result.addProperty("country", release.get("country").getAsString());
+        }
+        result.add("genre", release.get("genres"));
+        result.add("style", release.get("styles"));
+        return result;
+    }
+
+    private static JsonArray formatNames(JsonObject release) {
+        JsonArray formatNames = new JsonArray();
+        if (!release.has("formats")) return formatNames;
+
+        for (JsonElement element : release.getAsJsonArray("formats")) {
+            JsonObject format = element.getAsJsonObject();
+            formatNames.add(format.get("name"));
+            format.getAsJsonArray("descriptions").forEach(formatNames::add);
+        }
+        return formatNames;
+    }
+
+    private static String matchingCatalogueNumber(String catalogueNumber, JsonArray labels) {
+        String normalised = CatalogueNumbers.normalise(catalogueNumber);
+        return StreamSupport.stream(labels.spliterator(), false)
+                .map(label -> label.getAsJsonObject().get("catno").getAsString())
+                .filter(labelCatalogueNumber -> CatalogueNumbers.normalise(labelCatalogueNumber).equals(normalised))
+                .findFirst()
+                .orElse(catalogueNumber);
+    }
+}
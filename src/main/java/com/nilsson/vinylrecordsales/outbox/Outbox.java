@@ -0,0 +1,152 @@
+package com.nilsson.vinylrecordsales.outbox;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.nilsson.vinylrecordsales.domain.AdvertisementRequest;
+import com.nilsson.vinylrecordsales.lookup.CatalogueNumbers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.nilsson.vinylrecordsales.outbox.Outbox.OutboxConfigProperty.PATH;
+import static com.nilsson.vinylrecordsales.outbox.OutboxEntry.Status.*;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+import static java.util.Objects.requireNonNull;
+
+public class Outbox implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final String KEY_SEPARATOR = "/";
+    private final Path file;
+    private final Gson gson = new Gson();
+    private final Map<String, OutboxEntry> entries = new LinkedHashMap<>();
+    private final FileChannel channel;
+
+    public Outbox(Environment environment) {
+        this(Path.of(requireNonNull(environment, "environment").getRequiredProperty(PATH.value)));
+    }
+
+    public Outbox(Path file) {
+        this.file = requireNonNull(file, "file");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            replay();
+            compact();
+            this.channel = FileChannel.open(file, CREATE, WRITE, APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String key(String batch, AdvertisementRequest request) {
+        return String.join(KEY_SEPARATOR, batch, String.valueOf(request.row()), CatalogueNumbers.normalise(request.catalogueNumber()));
+    }
+
+    public synchronized OutboxEntry enqueue(String batch, AdvertisementRequest request) {
+        String key = key(batch, request);
+        OutboxEntry existing = entries.get(key);
+        if (existing != null) {
+            LOG.info("{} is already in the outbox with status {}", key, existing.status());
+            return existing;
+        }
+        return update(OutboxEntry.pending(key, batch, request));
+    }
+
+    public synchronized OutboxEntry update(OutboxEntry entry) {
+        try {
+            channel.write(ByteBuffer.wrap((gson.toJson(entry) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8)));
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        entries.put(entry.key(), entry);
+        return entry;
+    }
+
+    public synchronized Optional<OutboxEntry> get(String key) {
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    public synchronized List<OutboxEntry> entries() {
+        return List.copyOf(entries.values());
+    }
+
+    public synchronized List<OutboxEntry> entries(String batch) {
+        return entries.values().stream()
+                .filter(entry -> entry.batch().equals(batch))
+                .toList();
+    }
+
+    public synchronized List<OutboxEntry> workable() {
+        return entries.values().stream()
+                .filter(entry -> entry.status() == PENDING || entry.status() == CREATED)
+                .toList();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void replay() throws IOException {
+        if (!Files.exists(file)) return;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                try {
+                    OutboxEntry entry = gson.fromJson(line, OutboxEntry.class);
+                    entries.put(entry.key(), entry);
+                } catch (JsonParseException | NullPointerException e) {
+                    LOG.warn("Skipping unreadable outbox record in {}: {}", file, line, e);
+                }
+            }
+        }
+        entries.replaceAll((key, entry) -> entry.status() == CREATING
+                ? entry.with(UNCERTAIN, "Interrupted while creating the product, check Sello before retrying")
+                : entry);
+        LOG.info("Replayed {} outbox entries from {}, {} waiting", entries.size(), file, workable().size());
+    }
+
+    private void compact() throws IOException {
+        Path temporaryFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+            for (OutboxEntry entry : entries.values()) {
+                writer.write(gson.toJson(entry));
+                writer.newLine();
+            }
+        }
+        try (FileChannel compacted = FileChannel.open(temporaryFile, WRITE)) {
+            compacted.force(true);
+        }
+        Files.move(temporaryFile, file, ATOMIC_MOVE, REPLACE_EXISTING);
+    }
+
+    enum OutboxConfigProperty {
+        PATH("outbox.path");
+
+        public final String value;
+
+        OutboxConfigProperty(String value) {
+            this.value = value;
+        }
+    }
+}
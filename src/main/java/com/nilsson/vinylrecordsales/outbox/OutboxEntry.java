@@ -0,0 +1,55 @@
+package com.nilsson.vinylrecordsales.outbox;
+
+import com.nilsson.vinylrecordsales.domain.AdvertisementRequest;
+import com.nilsson.vinylrecordsales.domain.ProductId;
+
+import java.net.URL;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+public record OutboxEntry(String key, String batch, AdvertisementRequest request, Status status, ProductId productId,
+                          int attempts, String message, List<URL> imageUrls) {
+    public OutboxEntry {
+        requireNonNull(key, "key");
+        requireNonNull(batch, "batch");
+        requireNonNull(request, "request");
+        requireNonNull(status, "status");
+        imageUrls = imageUrls == null ? null : List.copyOf(imageUrls);
+    }
+
+    public static OutboxEntry pending(String key, String batch, AdvertisementRequest request) {
+        return new OutboxEntry(key, batch, request, Status.PENDING, null, 0, null, null);
+    }
+
+    public boolean hasImageUrls() {
+        return imageUrls != null;
+    }
+
+    public OutboxEntry withImageUrls(List<URL> imageUrls) {
+        return new OutboxEntry(key, batch, request, status, productId, attempts, message, requireNonNull(imageUrls, "imageUrls"));
+    }
+
+    public OutboxEntry with(Status status, String message) {
+        return new OutboxEntry(key, batch, request, status, productId, attempts, message, imageUrls);
+    }
+
+    public OutboxEntry created(ProductId productId) {
+        return new OutboxEntry(key, batch, request, Status.CREATED, requireNonNull(productId, "productId"), attempts, null, imageUrls);
+    }
+
+    public OutboxEntry failedAttempt(Status status, String message) {
+        return new OutboxEntry(key, batch, request, status, productId, attempts + 1, message, imageUrls);
+    }
+
+    public enum Status {
+        PENDING,
+        CREATING,
+        CREATED,
+        COMPLETED,
+        COMPLETED_WITHOUT_IMAGES,
+        NOT_FOUND,
+        FAILED,
+        UNCERTAIN
+    }
+}
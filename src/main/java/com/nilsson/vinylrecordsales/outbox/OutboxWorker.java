@@ -0,0 +1,172 @@
+package com.nilsson.vinylrecordsales.outbox;
+
+import com.nilsson.vinylrecordsales.advertisement.AdvertisementFacade;
+import com.nilsson.vinylrecordsales.domain.AdvertisementInformationFactory;
+import com.nilsson.vinylrecordsales.domain.AdvertisementRequest;
+import com.nilsson.vinylrecordsales.domain.CircuitBreakerOpenException;
+import com.nilsson.vinylrecordsales.domain.UpstreamResilience;
+import com.nilsson.vinylrecordsales.image.ImageService;
+import com.nilsson.vinylrecordsales.lookup.LookupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Closeable;
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.nilsson.vinylrecordsales.outbox.OutboxEntry.Status.*;
+import static com.nilsson.vinylrecordsales.outbox.OutboxWorker.OutboxWorkerConfigProperty.*;
+import static java.util.Objects.requireNonNull;
+
+public class OutboxWorker implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final int NUMBER_OF_IMAGES_PER_AD = 5;
+    private final Outbox outbox;
+    private final LookupService lookupService;
+    private final AdvertisementInformationFactory adFactory;
+    private final AdvertisementFacade advertisementFacade;
+    private final ImageService imageService;
+    private final Duration interval;
+    private final int maxAttempts;
+    private final int concurrency;
+    private final Scheduler scheduler;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile Disposable polling;
+
+    public OutboxWorker(Outbox outbox, LookupService lookupService, AdvertisementInformationFactory adFactory,
+                        AdvertisementFacade advertisementFacade, ImageService imageService, Environment environment) {
+        this(outbox, lookupService, adFactory, advertisementFacade, imageService,
+                Duration.parse(requireNonNull(environment, "environment").getRequiredProperty(INTERVAL.value)),
+                Integer.parseInt(environment.getRequiredProperty(MAX_ATTEMPTS.value)),
+                Integer.parseInt(environment.getRequiredProperty(CONCURRENCY.value)),
+                Schedulers.boundedElastic());
+    }
+
+    OutboxWorker(Outbox outbox, LookupService lookupService, AdvertisementInformationFactory adFactory,
+                 AdvertisementFacade advertisementFacade, ImageService imageService,
+                 Duration interval, int maxAttempts, int concurrency, Scheduler scheduler) {
+        this.outbox = requireNonNull(outbox, "outbox");
+        this.lookupService = requireNonNull(lookupService, "lookupService");
+        this.adFactory = requireNonNull(adFactory, "adFactory");
+        this.advertisementFacade = requireNonNull(advertisementFacade, "advertisementFacade");
+        this.imageService = requireNonNull(imageService, "imageService");
+        this.interval = requireNonNull(interval, "interval");
+        this.maxAttempts = maxAttempts;
+        this.concurrency = concurrency;
+        this.scheduler = requireNonNull(scheduler, "scheduler");
+    }
+
+    public OutboxWorker start() {
+        polling = Flux.interval(Duration.ZERO, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> drain())
+                .subscribe();
+        return this;
+    }
+
+    public Mono<Void> drain() {
+        return Mono.fromCallable(outbox::workable)
+                .subscribeOn(scheduler)
+                .flatMapMany(Flux::fromIterable)
+                .filter(entry -> inFlight.add(entry.key()))
+                .concatMap(entry -> takeImageUrls(entry)
+                        .onErrorResume(error -> {
+                            LOG.error("Failed taking image urls for outbox entry {}", entry.key(), error);
+                            inFlight.remove(entry.key());
+                            return Mono.empty();
+                        }))
+                .flatMap(entry -> process(entry)
+                        .doOnNext(processed -> LOG.info("Outbox entry {} is {}", processed.key(), processed.status()))
+                        .onErrorResume(error -> {
+                            LOG.error("Failed processing outbox entry {}", entry.key(), error);
+                            return Mono.empty();
+                        })
+                        .doFinally(signal -> inFlight.remove(entry.key())), concurrency)
+                .then();
+    }
+
+    @Override
+    public void close() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    private Mono<OutboxEntry> process(OutboxEntry entry) {
+        if (entry.status() == CREATED) return addImages(entry);
+
+        AdvertisementRequest request = entry.request();
+        return lookupService.getRecordInformationByCatalogueNumber(request.catalogueNumber(), request.extraTitleWordsAsArray())
+                .flatMap(recordInformation -> recordInformation
+                        .map(adFactory::fromTemplate)
+                        .map(advertisementInformation -> save(entry.with(CREATING, null))
+                                .flatMap(creating -> advertisementFacade.monoCreateProduct(advertisementInformation)
+                                        .switchIfEmpty(Mono.error(new IllegalStateException("Sello returned no product id")))
+                                        .flatMap(productId -> save(creating.created(productId)))))
+                        .orElseGet(() -> save(entry.with(NOT_FOUND, "Could not determine a unique release for the catalogue number"))))
+                .onErrorResume(error -> save(afterFailure(entry, error)))
+                .flatMap(processed -> processed.status() == CREATED ? addImages(processed) : Mono.just(processed));
+    }
+
+    private OutboxEntry afterFailure(OutboxEntry entry, Throwable error) {
+        OutboxEntry current = outbox.get(entry.key()).orElse(entry);
+        if (current.status() != CREATING || neverReachedSello(error)) {
+            return current.failedAttempt(current.attempts() + 1 >= maxAttempts ? FAILED : PENDING, error.getMessage());
+        }
+        if (error instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()) {
+            return current.failedAttempt(FAILED, error.getMessage());
+        }
+        LOG.warn("Unknown whether Sello created the product for {}, not retrying", current.key(), error);
+        return current.failedAttempt(UNCERTAIN, error.getMessage());
+    }
+
+    private static boolean neverReachedSello(Throwable error) {
+        return error instanceof CircuitBreakerOpenException || UpstreamResilience.isConnectionFailure(error);
+    }
+
+    private Mono<OutboxEntry> takeImageUrls(OutboxEntry entry) {
+        if (entry.hasImageUrls()) return Mono.just(entry);
+        if (!imageService.haveStoredURLs()) return save(entry.withImageUrls(List.of()));
+
+        return Flux.range(0, NUMBER_OF_IMAGES_PER_AD)
+                .concatMap(i -> imageService.pollUrl())
+                .collectList()
+                .flatMap(imageUrls -> save(entry.withImageUrls(imageUrls)));
+    }
+
+    private Mono<OutboxEntry> addImages(OutboxEntry entry) {
+        if (entry.imageUrls() == null || entry.imageUrls().isEmpty()) {
+            return save(entry.with(COMPLETED_WITHOUT_IMAGES, "No image urls have been stored"));
+        }
+        return advertisementFacade.addImagesToProduct(entry.productId(), Flux.fromIterable(entry.imageUrls()))
+                .then(Mono.defer(() -> save(entry.with(COMPLETED, null))))
+                .onErrorResume(error -> save(entry.with(COMPLETED_WITHOUT_IMAGES, error.getMessage())));
+    }
+
+    private Mono<OutboxEntry> save(OutboxEntry entry) {
+        return Mono.fromCallable(() -> outbox.update(entry))
+                .subscribeOn(scheduler);
+    }
+
+    enum OutboxWorkerConfigProperty {
+        INTERVAL("outbox.worker.interval"),
+        MAX_ATTEMPTS("outbox.worker.maxattempts"),
+        CONCURRENCY("outbox.worker.concurrency");
+
+        public final String value;
+
+        OutboxWorkerConfigProperty(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.nilsson.vinylrecordsales.progress;
+
+import java.time.Instant;
+
+import static java.util.Objects.requireNonNull;
+
+public record ProgressEvent(Instant timestamp, Stage stage, String subject, String detail) {
+    public ProgressEvent {
+        requireNonNull(timestamp, "timestamp");
+        requireNonNull(stage, "stage");
+        requireNonNull(subject, "subject");
+    }
+
+    public enum Stage {
+        UPLOADED,
+        CREATED,
+        ATTACHED,
+        NOT_FOUND,
+        FAILED
+    }
+}
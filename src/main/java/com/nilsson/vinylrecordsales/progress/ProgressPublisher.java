@@ -0,0 +1,70 @@
+package com.nilsson.vinylrecordsales.progress;
+
+import com.nilsson.vinylrecordsales.domain.AdvertisementResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Clock;
+
+import static com.nilsson.vinylrecordsales.progress.ProgressPublisher.ProgressConfigProperty.REPLAY_SIZE;
+import static java.util.Objects.requireNonNull;
+
+public class ProgressPublisher {
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private final Sinks.Many<ProgressEvent> sink;
+    private final Clock clock;
+
+    public ProgressPublisher(Environment environment) {
+        this(Integer.parseInt(requireNonNull(environment, "environment").getRequiredProperty(REPLAY_SIZE.value)),
+                Clock.systemUTC());
+    }
+
+    ProgressPublisher(int replaySize, Clock clock) {
+        this.sink = Sinks.many().replay().limit(replaySize);
+        this.clock = requireNonNull(clock, "clock");
+    }
+
+    public void publish(ProgressEvent.Stage stage, String subject, Object detail) {
+        ProgressEvent event = new ProgressEvent(clock.instant(), stage, subject, detail == null ? null : detail.toString());
+        Sinks.EmitResult result;
+        synchronized (sink) {
+            result = sink.tryEmitNext(event);
+        }
+        if (result.isFailure()) {
+            LOG.warn("Could not publish {}: {}", event, result);
+        }
+    }
+
+    public void failed(String subject, Throwable error) {
+        publish(ProgressEvent.Stage.FAILED, subject, error.getMessage());
+    }
+
+    public void publish(AdvertisementResult result) {
+        String subject = result.request().catalogueNumber();
+        switch (result.status()) {
+            case CREATED -> publish(ProgressEvent.Stage.CREATED, subject, result.productId().id());
+            case CREATED_WITHOUT_IMAGES -> publish(ProgressEvent.Stage.FAILED, subject,
+                    "Created product " + result.productId().id() + " without images: " + result.message());
+            case NOT_FOUND -> publish(ProgressEvent.Stage.NOT_FOUND, subject, result.message());
+            case FAILED -> publish(ProgressEvent.Stage.FAILED, subject, result.message());
+        }
+    }
+
+    public Flux<ProgressEvent> events() {
+        return sink.asFlux();
+    }
+
+    enum ProgressConfigProperty {
+        REPLAY_SIZE("progress.replay.size");
+
+        public final String value;
+
+        ProgressConfigProperty(String value) {
+            this.value = value;
+        }
+    }
+}
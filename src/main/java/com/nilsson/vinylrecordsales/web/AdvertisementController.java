@@ -1,19 +1,27 @@
 package com.nilsson.vinylrecordsales.web;
 
 import com.nilsson.vinylrecordsales.AdvertisementService;
+import com.nilsson.vinylrecordsales.domain.AdvertisementResult;
+import com.nilsson.vinylrecordsales.file.AdvertisementRequestParser;
 import com.nilsson.vinylrecordsales.image.ImageService;
+import com.nilsson.vinylrecordsales.job.Job;
+import com.nilsson.vinylrecordsales.job.JobRegistry;
+import com.nilsson.vinylrecordsales.progress.ProgressPublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.ModelAttribute;
-import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.lang.invoke.MethodHandles;
 import java.net.URL;
+import java.util.List;
 
+import static com.nilsson.vinylrecordsales.progress.ProgressEvent.Stage.*;
 import static java.util.Objects.requireNonNull;
 
 @Controller
@@ -24,10 +32,18 @@ public class AdvertisementController {
     private static final int MAX_CONCURRENT = 10;
     private final AdvertisementService advertisementService;
     private final ImageService imageService;
+    private final AdvertisementRequestParser advertisementRequestParser;
+    private final ProgressPublisher progressPublisher;
+    private final JobRegistry jobRegistry;
 
-    public AdvertisementController(AdvertisementService advertisementService, ImageService imageService) {
+    public AdvertisementController(AdvertisementService advertisementService, ImageService imageService,
+                                   AdvertisementRequestParser advertisementRequestParser,
+                                   ProgressPublisher progressPublisher, JobRegistry jobRegistry) {
         this.advertisementService = requireNonNull(advertisementService, "advertisementService");
         this.imageService = requireNonNull(imageService, "imageService");
+        this.advertisementRequestParser = requireNonNull(advertisementRequestParser, "advertisementRequestParser");
+        this.progressPublisher = requireNonNull(progressPublisher, "progressPublisher");
+        this.jobRegistry = requireNonNull(jobRegistry, "jobRegistry");
     }
 
     @GetMapping("/record")
@@ -50,15 +66,73 @@ public class AdvertisementController {
         if (!imageService.haveStoredURLs()) {
             throw new IllegalStateException("Cannot create ad if no image url has been stored");
         }
-        Flux<URL> imageUrls = Flux.range(0, NUMBER_OF_IMAGES_PER_AD)
-                .flatMapSequential(i -> imageService.pollUrl(), MAX_CONCURRENT);
+        Flux<URL> imageUrls = pollImageUrls();
+        String catalogueId = recordFinder.getCatalogueId();
 
-        advertisementService.createAdvertisement(recordFinder.getCatalogueId(), recordFinder.getExtraTitleWords())
-                .log()
-                .flatMapMany(id -> advertisementService.addImages(id, imageUrls))
-                .subscribe(url -> LOG.info("Stored url on product, url={}", url));
+        Job job = jobRegistry.submit("Create ad for " + catalogueId,
+                advertisementService.createAdvertisement(catalogueId, recordFinder.getExtraTitleWords())
+                        .log()
+                        .doOnNext(id -> progressPublisher.publish(CREATED, catalogueId, id.id()))
+                        .switchIfEmpty(Mono.fromRunnable(() -> progressPublisher.publish(NOT_FOUND, catalogueId, null)))
+                        .flatMapMany(id -> advertisementService.addImages(id, imageUrls))
+                        .doOnNext(url -> {
+                            LOG.info("Stored url on product, url={}", url);
+                            progressPublisher.publish(ATTACHED, catalogueId, url);
+                        })
+                        .doOnError(error -> progressPublisher.failed(catalogueId, error)));
+        LOG.info("Creating ad for {} as job {}", catalogueId, job.id());
 
         return "redirect:/record";
     }
 
+    @PostMapping(value = "/record/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseBody
+    public Flux<AdvertisementResult> createAds(@RequestPart("file") Mono<FilePart> file) {
+        return file.doOnNext(filePart -> LOG.info("Creating ads from file {}", filePart.filename()))
+                .flatMapMany(filePart -> advertisementRequestParser.parse(filePart.content()))
+                .transform(advertisementService::createAdvertisements)
+                .doOnNext(progressPublisher::publish)
+                .concatMap(result -> takeImageUrls(result).map(imageUrls -> new ResultWithImages(result, imageUrls)))
+                .flatMapSequential(this::addImages, MAX_CONCURRENT)
+                .doOnNext(result -> LOG.info("Bulk result {}", result));
+    }
+
+    private Mono<List<URL>> takeImageUrls(AdvertisementResult result) {
+        if (!imageService.haveStoredURLs()) {
+            return Mono.just(List.of());
+        }
+        return pollImageUrls()
+                .collectList()
+                .doOnNext(imageUrls -> {
+                    if (!result.isCreated() && !imageUrls.isEmpty()) {
+                        LOG.warn("Discarding images {} of row {}, no product was created for {}",
+                                imageUrls, result.request().row(), result.request().catalogueNumber());
+                    }
+                });
+    }
+
+    private Mono<AdvertisementResult> addImages(ResultWithImages resultWithImages) {
+        AdvertisementResult result = resultWithImages.result();
+        if (!result.isCreated() || resultWithImages.imageUrls().isEmpty()) {
+            return Mono.just(result);
+        }
+        String catalogueNumber = result.request().catalogueNumber();
+        return advertisementService.addImages(result.productId(), Flux.fromIterable(resultWithImages.imageUrls()))
+                .doOnNext(url -> progressPublisher.publish(ATTACHED, catalogueNumber, url))
+                .then(Mono.just(result))
+                .onErrorResume(error -> {
+                    AdvertisementResult withoutImages = result.withoutImages(error);
+                    progressPublisher.publish(withoutImages);
+                    return Mono.just(withoutImages);
+                });
+    }
+
+    private Flux<URL> pollImageUrls() {
+        return Flux.range(0, NUMBER_OF_IMAGES_PER_AD)
+                .concatMap(i -> imageService.pollUrl());
+    }
+
+    private record ResultWithImages(AdvertisementResult result, List<URL> imageUrls) {
+    }
+
 }
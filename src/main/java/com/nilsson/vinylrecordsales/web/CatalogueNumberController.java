@@ -0,0 +1,29 @@
+package com.nilsson.vinylrecordsales.web;
+
+import com.nilsson.vinylrecordsales.lookup.CatalogueNumberIndex;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+@Controller
+public class CatalogueNumberController {
+
+    private static final int MAX_SUGGESTIONS = 10;
+    private final CatalogueNumberIndex catalogueNumberIndex;
+
+    public CatalogueNumberController(CatalogueNumberIndex catalogueNumberIndex) {
+        this.catalogueNumberIndex = requireNonNull(catalogueNumberIndex, "catalogueNumberIndex");
+    }
+
+    @GetMapping(value = "/catalogue-numbers/suggestions", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<String> suggestions(@RequestParam("q") String query) {
+        return catalogueNumberIndex.suggest(query, MAX_SUGGESTIONS);
+    }
+}
@@ -1,21 +1,32 @@
 package com.nilsson.vinylrecordsales.web;
 
+import com.nilsson.vinylrecordsales.file.FileMover;
 import com.nilsson.vinylrecordsales.file.FileService;
 import com.nilsson.vinylrecordsales.image.ImageService;
+import com.nilsson.vinylrecordsales.job.Job;
+import com.nilsson.vinylrecordsales.job.JobRegistry;
+import com.nilsson.vinylrecordsales.progress.ProgressPublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Controller;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 
 import java.io.File;
 import java.lang.invoke.MethodHandles;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.List;
 
+import static com.nilsson.vinylrecordsales.progress.ProgressEvent.Stage.UPLOADED;
 import static java.util.Objects.requireNonNull;
 
 @Controller
@@ -24,10 +35,17 @@ public class ImageUploadController {
 	private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 	private final ImageService imageService;
 	private final FileService fileService;
+	private final ProgressPublisher progressPublisher;
+	private final JobRegistry jobRegistry;
+	private final FileMover fileMover;
 
-	public ImageUploadController(ImageService imageService, FileService fileService) {
+	public ImageUploadController(ImageService imageService, FileService fileService, ProgressPublisher progressPublisher,
+								 JobRegistry jobRegistry, FileMover fileMover) {
 		this.imageService = requireNonNull(imageService, "imageService");
 		this.fileService = requireNonNull(fileService, "fileService");
+		this.progressPublisher = requireNonNull(progressPublisher, "progressPublisher");
+		this.jobRegistry = requireNonNull(jobRegistry, "jobRegistry");
+		this.fileMover = requireNonNull(fileMover, "fileMover");
 	}
 
 	@GetMapping("/image")
@@ -45,9 +63,27 @@ public class ImageUploadController {
 		LOG.info("Received image folder location {}", imageFolderLocation.getLocation());
 		File imageDirectory = new File(imageFolderLocation.getLocation());
 		List<File> images = fileService.getImageFilesInDirectoryOrderedByName(imageDirectory);
-		Flux<URL> urls = imageService.uploadImages(images);
-		imageService.storeURLs(urls);
+		String location = imageFolderLocation.getLocation();
+		Flux<URL> urls = imageService.uploadImages(images)
+				.doOnNext(url -> progressPublisher.publish(UPLOADED, location, url))
+				.doOnError(error -> progressPublisher.failed(location, error));
+		Job job = jobRegistry.submit("Upload images in " + location, imageService.storeURLs(urls));
+		LOG.info("Uploading images in {} as job {}", location, job.id());
 		return "redirect:/image";
 	}
 
+	@PostMapping(value = "/image/cull", produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public Job cull(@RequestParam("source") String source, @RequestParam("target") String target,
+					@RequestParam("every") int everyNthFile) {
+		LOG.info("Copying every {} file from {} to {}", everyNthFile, source, target);
+		Flux<Path> copies;
+		try {
+			copies = fileMover.copyEveryNthFile(Path.of(source), Path.of(target), everyNthFile);
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+		}
+		return jobRegistry.submit("Copy every " + everyNthFile + " file from " + source, copies);
+	}
+
 }
@@ -0,0 +1,48 @@
+package com.nilsson.vinylrecordsales.web;
+
+import com.nilsson.vinylrecordsales.job.Job;
+import com.nilsson.vinylrecordsales.job.JobRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+@Controller
+public class JobController {
+
+    private final JobRegistry jobRegistry;
+
+    public JobController(JobRegistry jobRegistry) {
+        this.jobRegistry = requireNonNull(jobRegistry, "jobRegistry");
+    }
+
+    @GetMapping(value = "/jobs", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<Job> jobs() {
+        return jobRegistry.jobs();
+    }
+
+    @GetMapping(value = "/jobs/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Job job(@PathVariable("id") String id) {
+        return jobRegistry.get(id).orElseThrow(() -> notFound(id));
+    }
+
+    @PostMapping(value = "/jobs/{id}/cancel", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Job cancel(@PathVariable("id") String id) {
+        return jobRegistry.cancel(id).orElseThrow(() -> notFound(id));
+    }
+
+    private static ResponseStatusException notFound(String id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "No job " + id);
+    }
+}
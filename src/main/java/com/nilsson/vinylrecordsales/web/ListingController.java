@@ -0,0 +1,63 @@
+package com.nilsson.vinylrecordsales.web;
+
+import com.nilsson.vinylrecordsales.AdvertisementService;
+import com.nilsson.vinylrecordsales.file.FileService;
+import com.nilsson.vinylrecordsales.image.ImageService;
+import com.nilsson.vinylrecordsales.job.Job;
+import com.nilsson.vinylrecordsales.job.JobRegistry;
+import com.nilsson.vinylrecordsales.progress.ProgressPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.File;
+import java.lang.invoke.MethodHandles;
+
+import static com.nilsson.vinylrecordsales.progress.ProgressEvent.Stage.UPLOADED;
+import static java.util.Objects.requireNonNull;
+
+@Controller
+public class ListingController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private final AdvertisementService advertisementService;
+    private final ImageService imageService;
+    private final FileService fileService;
+    private final ProgressPublisher progressPublisher;
+    private final JobRegistry jobRegistry;
+
+    public ListingController(AdvertisementService advertisementService, ImageService imageService,
+                             FileService fileService, ProgressPublisher progressPublisher, JobRegistry jobRegistry) {
+        this.advertisementService = requireNonNull(advertisementService, "advertisementService");
+        this.imageService = requireNonNull(imageService, "imageService");
+        this.fileService = requireNonNull(fileService, "fileService");
+        this.progressPublisher = requireNonNull(progressPublisher, "progressPublisher");
+        this.jobRegistry = requireNonNull(jobRegistry, "jobRegistry");
+    }
+
+    @PostMapping(value = "/listing", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Job createListing(@ModelAttribute ListingForm listingForm) {
+        LOG.info("Creating listing {}", listingForm);
+        if (listingForm.getCatalogueId() == null || listingForm.getCatalogueId().isBlank()
+                || listingForm.getImageFolder() == null || listingForm.getImageFolder().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Catalogue id and image folder are required");
+        }
+        File imageFolder = new File(listingForm.getImageFolder());
+        return jobRegistry.submit("Create listing for " + listingForm.getCatalogueId(), advertisementService.createListing(listingForm.toRequest(),
+                        Mono.fromCallable(() -> fileService.getImageFilesInDirectoryOrderedByName(imageFolder))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .flatMapMany(imageService::uploadImages)
+                                .doOnNext(url -> progressPublisher.publish(UPLOADED, listingForm.getImageFolder(), url)))
+                .doOnNext(result -> LOG.info("Listing result {}", result))
+                .doOnNext(progressPublisher::publish));
+    }
+}
@@ -0,0 +1,54 @@
+package com.nilsson.vinylrecordsales.web;
+
+import com.nilsson.vinylrecordsales.domain.AdvertisementRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class ListingForm {
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("\\s+");
+    private String catalogueId;
+    private String extraTitleWords;
+    private String imageFolder;
+
+    public String getCatalogueId() {
+        return catalogueId;
+    }
+
+    public void setCatalogueId(String catalogueId) {
+        this.catalogueId = catalogueId;
+    }
+
+    public String getExtraTitleWords() {
+        return extraTitleWords;
+    }
+
+    public void setExtraTitleWords(String extraTitleWords) {
+        this.extraTitleWords = extraTitleWords;
+    }
+
+    public String getImageFolder() {
+        return imageFolder;
+    }
+
+    public void setImageFolder(String imageFolder) {
+        this.imageFolder = imageFolder;
+    }
+
+    public AdvertisementRequest toRequest() {
+        List<String> words = extraTitleWords == null ? List.of() : Arrays.stream(WORD_SEPARATOR.split(extraTitleWords.strip()))
+                .filter(word -> !word.isEmpty())
+                .toList();
+        return new AdvertisementRequest(1, catalogueId.strip(), words);
+    }
+
+    @Override
+    public String toString() {
+        return "ListingForm{" +
+                "catalogueId='" + catalogueId + '\'' +
+                ", extraTitleWords='" + extraTitleWords + '\'' +
+                ", imageFolder='" + imageFolder + '\'' +
+                '}';
+    }
+}
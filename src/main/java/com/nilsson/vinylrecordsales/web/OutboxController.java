@@ -0,0 +1,68 @@
+package com.nilsson.vinylrecordsales.web;
+
+import com.nilsson.vinylrecordsales.file.AdvertisementRequestParser;
+import com.nilsson.vinylrecordsales.outbox.Outbox;
+import com.nilsson.vinylrecordsales.outbox.OutboxEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.Set;
+
+import static com.nilsson.vinylrecordsales.outbox.OutboxEntry.Status.*;
+import static java.util.Objects.requireNonNull;
+
+@Controller
+public class OutboxController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final Set<OutboxEntry.Status> RETRYABLE = Set.of(FAILED, UNCERTAIN, NOT_FOUND);
+    private final Outbox outbox;
+    private final AdvertisementRequestParser advertisementRequestParser;
+
+    public OutboxController(Outbox outbox, AdvertisementRequestParser advertisementRequestParser) {
+        this.outbox = requireNonNull(outbox, "outbox");
+        this.advertisementRequestParser = requireNonNull(advertisementRequestParser, "advertisementRequestParser");
+    }
+
+    @PostMapping(value = "/outbox", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseBody
+    public Flux<OutboxEntry> enqueue(@RequestPart("file") Mono<FilePart> file,
+                                     @RequestParam(value = "batch", required = false) String batch) {
+        return file.flatMapMany(filePart -> {
+            String batchName = batch == null || batch.isBlank() ? filePart.filename() : batch;
+            LOG.info("Queueing ads from file {} as batch {}", filePart.filename(), batchName);
+            return advertisementRequestParser.parse(filePart.content())
+                    .publishOn(Schedulers.boundedElastic())
+                    .map(request -> outbox.enqueue(batchName, request));
+        });
+    }
+
+    @GetMapping(value = "/outbox", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<OutboxEntry> entries(@RequestParam(value = "batch", required = false) String batch) {
+        return batch == null ? outbox.entries() : outbox.entries(batch);
+    }
+
+    @PostMapping(value = "/outbox/retry", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public OutboxEntry retry(@RequestParam("key") String key) {
+        OutboxEntry entry = outbox.get(key)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No outbox entry " + key));
+        if (!RETRYABLE.contains(entry.status())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, key + " is " + entry.status());
+        }
+        LOG.info("Retrying outbox entry {} which was {}", key, entry.status());
+        return outbox.update(entry.with(PENDING, null));
+    }
+}
@@ -0,0 +1,34 @@
+package com.nilsson.vinylrecordsales.web;
+
+import com.nilsson.vinylrecordsales.progress.ProgressEvent;
+import com.nilsson.vinylrecordsales.progress.ProgressPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+
+import static java.util.Objects.requireNonNull;
+
+@Controller
+public class ProgressController {
+
+    private static final int MAX_BUFFERED_EVENTS = 256;
+    private final ProgressPublisher progressPublisher;
+
+    public ProgressController(ProgressPublisher progressPublisher) {
+        this.progressPublisher = requireNonNull(progressPublisher, "progressPublisher");
+    }
+
+    @GetMapping(value = "/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public Flux<ServerSentEvent<ProgressEvent>> progress() {
+        return progressPublisher.events()
+                .onBackpressureBuffer(MAX_BUFFERED_EVENTS, BufferOverflowStrategy.DROP_OLDEST)
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.stage().name().toLowerCase())
+                        .build());
+    }
+}
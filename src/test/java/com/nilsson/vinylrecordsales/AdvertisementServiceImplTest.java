@@ -12,14 +12,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -97,4 +101,103 @@ class AdvertisementServiceImplTest {
                 .expectNext(anURL, anotherURL)
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReportResultPerRequestInOrder() {
+        //given
+        AdvertisementRequest found = new AdvertisementRequest(1, "found", List.of());
+        AdvertisementRequest notFound = new AdvertisementRequest(2, "notFound", List.of("extra"));
+        AdvertisementRequest failing = new AdvertisementRequest(3, "failing", List.of());
+        Optional<RecordInformation> recordInformation = Optional.of(RecordInformationTestBuilder.populatedRecordInformationBuilder().build());
+        when(lookupService.getRecordInformationByCatalogueNumber("found")).thenReturn(Mono.just(recordInformation));
+        when(lookupService.getRecordInformationByCatalogueNumber("notFound", "extra")).thenReturn(Mono.just(Optional.empty()));
+        when(lookupService.getRecordInformationByCatalogueNumber("failing")).thenReturn(Mono.error(new IllegalStateException("Discogs unavailable")));
+        AdvertisementInformation ad = AdvertisementInformationTestBuilder.populatedAdvertisementInformationBuilder().build();
+        when(adFactory.fromTemplate(recordInformation.orElseThrow())).thenReturn(ad);
+        when(advertisementFacade.monoCreateProduct(ad)).thenReturn(Mono.just(PRODUCT_ID));
+        //when
+        Flux<AdvertisementResult> results = advertisementService.createAdvertisements(Flux.just(found, notFound, failing));
+        //then
+        StepVerifier.create(results)
+                .expectNext(AdvertisementResult.created(found, PRODUCT_ID))
+                .expectNext(AdvertisementResult.notFound(notFound))
+                .expectNext(new AdvertisementResult(failing, AdvertisementResult.Status.FAILED, null, "Discogs unavailable"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldLookUpReleaseWhileImagesAreUploaded() throws MalformedURLException {
+        //given
+        AdvertisementRequest request = new AdvertisementRequest(1, "catalogueNumber", List.of());
+        Sinks.One<Optional<RecordInformation>> lookup = Sinks.one();
+        Sinks.Many<URL> uploads = Sinks.many().unicast().onBackpressureBuffer();
+        Optional<RecordInformation> recordInformation = Optional.of(RecordInformationTestBuilder.populatedRecordInformationBuilder().build());
+        when(lookupService.getRecordInformationByCatalogueNumber("catalogueNumber")).thenReturn(lookup.asMono());
+        AdvertisementInformation ad = AdvertisementInformationTestBuilder.populatedAdvertisementInformationBuilder().build();
+        when(adFactory.fromTemplate(recordInformation.orElseThrow())).thenReturn(ad);
+        when(advertisementFacade.monoCreateProduct(ad)).thenReturn(Mono.just(PRODUCT_ID));
+        URL anURL = new URL("https://httpstat.us/");
+        when(advertisementFacade.addImagesToProduct(any(), any())).thenReturn(Flux.just(anURL));
+        //when
+        Mono<AdvertisementResult> result = advertisementService.createListing(request, uploads.asFlux());
+        //then
+        StepVerifier.create(result)
+                .then(() -> {
+                    uploads.tryEmitNext(anURL);
+                    verify(lookupService).getRecordInformationByCatalogueNumber("catalogueNumber");
+                    verify(advertisementFacade, never()).monoCreateProduct(any());
+                })
+                .then(() -> lookup.tryEmitValue(recordInformation))
+                .then(() -> verify(advertisementFacade, never()).monoCreateProduct(any()))
+                .then(uploads::tryEmitComplete)
+                .expectNext(AdvertisementResult.created(request, PRODUCT_ID))
+                .verifyComplete();
+        verify(advertisementFacade).addImagesToProduct(any(), any());
+    }
+
+    @Test
+    void shouldNotCreateListingWhenReleaseIsNotFound() throws MalformedURLException {
+        //given
+        AdvertisementRequest request = new AdvertisementRequest(1, "notFound", List.of());
+        when(lookupService.getRecordInformationByCatalogueNumber("notFound")).thenReturn(Mono.just(Optional.empty()));
+        //when
+        Mono<AdvertisementResult> result = advertisementService.createListing(request, Flux.just(new URL("https://httpstat.us/")));
+        //then
+        StepVerifier.create(result)
+                .expectNext(AdvertisementResult.notFound(request))
+                .verifyComplete();
+        verify(advertisementFacade, never()).monoCreateProduct(any());
+    }
+
+    @Test
+    void shouldReportListingCreatedWithoutImagesWhenAddingImagesFails() throws MalformedURLException {
+        //given
+        AdvertisementRequest request = new AdvertisementRequest(1, "found", List.of());
+        Optional<RecordInformation> recordInformation = Optional.of(RecordInformationTestBuilder.populatedRecordInformationBuilder().build());
+        when(lookupService.getRecordInformationByCatalogueNumber("found")).thenReturn(Mono.just(recordInformation));
+        AdvertisementInformation ad = AdvertisementInformationTestBuilder.populatedAdvertisementInformationBuilder().build();
+        when(adFactory.fromTemplate(recordInformation.orElseThrow())).thenReturn(ad);
+        when(advertisementFacade.monoCreateProduct(ad)).thenReturn(Mono.just(PRODUCT_ID));
+        when(advertisementFacade.addImagesToProduct(any(), any())).thenReturn(Flux.error(new IllegalStateException("Sello unavailable")));
+        //when
+        Mono<AdvertisementResult> result = advertisementService.createListing(request, Flux.just(new URL("https://httpstat.us/")));
+        //then
+        StepVerifier.create(result)
+                .expectNext(new AdvertisementResult(request, AdvertisementResult.Status.CREATED_WITHOUT_IMAGES, PRODUCT_ID, "Sello unavailable"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFailListingWhenImageUploadFails() {
+        //given
+        AdvertisementRequest request = new AdvertisementRequest(1, "found", List.of());
+        when(lookupService.getRecordInformationByCatalogueNumber("found")).thenReturn(Mono.never());
+        //when
+        Mono<AdvertisementResult> result = advertisementService.createListing(request, Flux.error(new IllegalStateException("Cloudinary unavailable")));
+        //then
+        StepVerifier.create(result)
+                .expectNext(new AdvertisementResult(request, AdvertisementResult.Status.FAILED, null, "Cloudinary unavailable"))
+                .verifyComplete();
+        verify(advertisementFacade, never()).monoCreateProduct(any());
+    }
+}
@@ -2,7 +2,9 @@ package com.nilsson.vinylrecordsales.advertisement;
 
 import com.nilsson.vinylrecordsales.domain.AdvertisementInformation;
 import com.nilsson.vinylrecordsales.domain.AdvertisementInformationConverter;
+import com.nilsson.vinylrecordsales.domain.ApiCredentials;
 import com.nilsson.vinylrecordsales.domain.ApiToken;
+import com.nilsson.vinylrecordsales.domain.ApiTokenProducer;
 import com.nilsson.vinylrecordsales.domain.ProductId;
 import com.nilsson.vinylrecordsales.lookup.ExampleJsonResponses;
 import okhttp3.mockwebserver.MockResponse;
@@ -21,12 +23,18 @@ import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.lang.String.format;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,7 +56,11 @@ class AdvertisementFacadeImplTest {
         mockBackend.start();
         String baseUrl = format("http://localhost:%s", mockBackend.getPort());
         when(apiToken.getToken()).thenReturn("secretToken");
-        advertisementFacade = new AdvertisementFacadeImpl(apiToken, WebClient.create(baseUrl), converter);
+        when(apiToken.getTokenProducer()).thenReturn(ApiTokenProducer.SELLO);
+        advertisementFacade = new AdvertisementFacadeImpl(WebClient.builder()
+                .baseUrl(baseUrl)
+                .filter(new ApiCredentials(apiToken))
+                .build(), converter);
     }
 
     @AfterEach
@@ -105,7 +117,7 @@ class AdvertisementFacadeImplTest {
                 .addHeader("Content-Type", "application/json"));
         final URL expectedURL = new URL("https://httpstat.us/");
         final Flux<URL> imageUrls = Flux.just(expectedURL);
-        when(converter.asJson(imageUrls)).thenReturn(mockedJSON);
+        when(converter.asJson(List.of(expectedURL))).thenReturn(mockedJSON);
         String expectedJSONRequest = "mockedJson";
         when(mockedJSON.toString()).thenReturn(expectedJSONRequest);
         //when
@@ -122,4 +134,78 @@ class AdvertisementFacadeImplTest {
         assertThat(recordedRequest.getBody().readUtf8()).isEqualTo(expectedJSONRequest);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldWaitForImageUrlsArrivingLater() throws Exception {
+        //given
+        mockBackend.enqueue(new MockResponse()
+                .setBody(ExampleJsonResponses.imageAddedToProduct())
+                .addHeader("Content-Type", "application/json"));
+        final URL anURL = new URL("https://httpstat.us/");
+        final URL anotherURL = new URL("https://another-url.us/");
+        final Flux<URL> imageUrls = Flux.just(anURL, anotherURL).delayElements(Duration.ofMillis(50));
+        when(converter.asJson(List.of(anURL, anotherURL))).thenReturn(mockedJSON);
+        when(mockedJSON.toString()).thenReturn("mockedJson");
+        //when
+        final Flux<URL> urlFlux = advertisementFacade.addImagesToProduct(new ProductId(11), imageUrls);
+        //then
+        StepVerifier.create(urlFlux)
+                .expectNextCount(1)
+                .verifyComplete();
+        assertThat(mockBackend.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAddImagesInBatches() throws Exception {
+        //given
+        final List<URL> urls = IntStream.rangeClosed(1, AdvertisementFacade.MAX_IMAGES_PER_REQUEST + 1)
+                .mapToObj(i -> "https://httpstat.us/" + i)
+                .map(AdvertisementFacadeImplTest::url)
+                .toList();
+        final List<URL> firstBatch = urls.subList(0, AdvertisementFacade.MAX_IMAGES_PER_REQUEST);
+        final List<URL> secondBatch = urls.subList(AdvertisementFacade.MAX_IMAGES_PER_REQUEST, urls.size());
+        mockBackend.enqueue(new MockResponse()
+                .setBody(productWithImages(firstBatch))
+                .addHeader("Content-Type", "application/json"));
+        mockBackend.enqueue(new MockResponse()
+                .setBody(productWithImages(urls))
+                .addHeader("Content-Type", "application/json"));
+        when(converter.asJson(firstBatch)).thenReturn(mockedJSON);
+        when(converter.asJson(secondBatch)).thenReturn(mockedJSON);
+        when(mockedJSON.toString()).thenReturn("mockedJson");
+        //when
+        final Flux<URL> urlFlux = advertisementFacade.addImagesToProduct(new ProductId(11), Flux.fromIterable(urls));
+        //then
+        StepVerifier.create(urlFlux)
+                .expectNextSequence(urls)
+                .verifyComplete();
+        assertThat(mockBackend.getRequestCount()).isEqualTo(2);
+        verify(converter).asJson(firstBatch);
+        verify(converter).asJson(secondBatch);
+    }
+
+    @Test
+    void shouldNotPostWhenThereAreNoImages() {
+        //given
+        //when
+        final Flux<URL> urlFlux = advertisementFacade.addImagesToProduct(new ProductId(11), Flux.empty());
+        //then
+        StepVerifier.create(urlFlux)
+                .verifyComplete();
+        assertThat(mockBackend.getRequestCount()).isZero();
+    }
+
+    private static String productWithImages(List<URL> images) {
+        return images.stream()
+                .map(image -> "\"" + image + "\"")
+                .collect(Collectors.joining(",", "{\"data\":{\"images\":[", "]}}"));
+    }
+
+    private static URL url(String url) {
+        try {
+            return new URL(url);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.nilsson.vinylrecordsales.advertisement;
+
+import com.nilsson.vinylrecordsales.domain.AdvertisementInformationConverter;
+import com.nilsson.vinylrecordsales.domain.CircuitBreaker;
+import com.nilsson.vinylrecordsales.domain.ProductId;
+import com.nilsson.vinylrecordsales.domain.UpstreamMetrics;
+import com.nilsson.vinylrecordsales.domain.UpstreamResilience;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientAdvertisementFacadeTest {
+    @Mock
+    private AdvertisementInformationConverter converter;
+    @Mock
+    private JSONObject mockedJSON;
+
+    private MockWebServer mockBackend;
+    private AdvertisementFacade advertisementFacade;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockBackend = new MockWebServer();
+        mockBackend.start();
+        AdvertisementFacadeImpl advertisementFacadeImpl = new AdvertisementFacadeImpl(WebClient.builder()
+                .baseUrl(format("http://localhost:%s", mockBackend.getPort()))
+                .build(), converter);
+        UpstreamResilience resilience = new UpstreamResilience(new CircuitBreaker("sello", 5, Duration.ofSeconds(30)),
+                Duration.ofSeconds(5), 2, Duration.ofMillis(1), Duration.ofMillis(10), 0.5,
+                UpstreamResilience::isConnectionFailure);
+        advertisementFacade = new ResilientAdvertisementFacade(new MeteredAdvertisementFacade(advertisementFacadeImpl,
+                new UpstreamMetrics(new SimpleMeterRegistry(), "sello")), resilience);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockBackend.shutdown();
+    }
+
+    @Test
+    void shouldEmitEveryImageOnceWhenPostingInBatches() {
+        //given
+        List<URL> urls = IntStream.rangeClosed(1, 15)
+                .mapToObj(ResilientAdvertisementFacadeTest::url)
+                .toList();
+        mockBackend.enqueue(productWithImages(urls.subList(0, AdvertisementFacade.MAX_IMAGES_PER_REQUEST)));
+        mockBackend.enqueue(productWithImages(urls));
+        when(converter.asJson(anyList())).thenReturn(mockedJSON);
+        when(mockedJSON.toString()).thenReturn("mockedJson");
+        //when
+        Flux<URL> added = advertisementFacade.addImagesToProduct(new ProductId(11), Flux.fromIterable(urls));
+        //then
+        StepVerifier.create(added)
+                .expectNextSequence(urls)
+                .verifyComplete();
+        assertThat(mockBackend.getRequestCount()).isEqualTo(2);
+    }
+
+    private static MockResponse productWithImages(List<URL> images) {
+        return new MockResponse()
+                .setBody(images.stream()
+                        .map(image -> "\"" + image + "\"")
+                        .collect(Collectors.joining(",", "{\"data\":{\"images\":[", "]}}")))
+                .addHeader("Content-Type", "application/json");
+    }
+
+    private static URL url(int i) {
+        try {
+            return new URL("https://httpstat.us/" + i);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
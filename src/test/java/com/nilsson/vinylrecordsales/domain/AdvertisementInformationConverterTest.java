@@ -7,9 +7,9 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import reactor.core.publisher.Flux;
 
 import java.net.URL;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -58,7 +58,7 @@ class AdvertisementInformationConverterTest {
         final URL anotherURL = new URL("https://another-url.us/");
 
         //when
-        JSONObject parentJson = converter.asJson(Flux.just(anURL, anotherURL));
+        JSONObject parentJson = converter.asJson(List.of(anURL, anotherURL));
 
         //then
         final JSONArray urls = parentJson.getJSONArray("urls");
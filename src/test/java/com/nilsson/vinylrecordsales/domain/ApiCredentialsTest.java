@@ -0,0 +1,77 @@
+package com.nilsson.vinylrecordsales.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApiCredentialsTest {
+
+    @Mock
+    private ApiToken discogsToken;
+    @Mock
+    private ApiToken rotatedDiscogsToken;
+    @Mock
+    private ApiToken selloToken;
+    @Mock
+    private ClientResponse response;
+
+    private ApiCredentials credentials;
+
+    @BeforeEach
+    void setUp() {
+        when(discogsToken.getToken()).thenReturn("secretToken");
+        when(discogsToken.getTokenProducer()).thenReturn(ApiTokenProducer.DISCOGS);
+        credentials = new ApiCredentials(discogsToken);
+    }
+
+    @Test
+    void shouldSetFormattedAuthorizationHeader() {
+        //when
+        //then
+        assertThat(authorizationSent()).isEqualTo("Discogs token=secretToken");
+    }
+
+    @Test
+    void shouldUseRotatedToken() {
+        //given
+        when(rotatedDiscogsToken.getToken()).thenReturn("rotatedToken");
+        when(rotatedDiscogsToken.getTokenProducer()).thenReturn(ApiTokenProducer.DISCOGS);
+        //when
+        credentials.update(rotatedDiscogsToken);
+        //then
+        assertThat(authorizationSent()).isEqualTo("Discogs token=rotatedToken");
+    }
+
+    @Test
+    void shouldRejectTokenForAnotherApi() {
+        //given
+        when(selloToken.getTokenProducer()).thenReturn(ApiTokenProducer.SELLO);
+        //when
+        //then
+        assertThrows(IllegalArgumentException.class, () -> credentials.update(selloToken));
+    }
+
+    private String authorizationSent() {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/releases/1")).build();
+        credentials.filter(request, filtered -> {
+            sent.set(filtered);
+            return Mono.just(response);
+        }).block();
+        return sent.get().headers().getFirst("Authorization");
+    }
+}
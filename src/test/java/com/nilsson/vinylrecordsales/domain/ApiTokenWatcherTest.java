@@ -0,0 +1,60 @@
+package com.nilsson.vinylrecordsales.domain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiTokenWatcherTest {
+
+    @TempDir
+    private Path directory;
+
+    private Path tokenFile;
+    private ApiTokenWatcher watcher;
+    private final BlockingQueue<ApiToken> reloaded = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tokenFile = Files.writeString(directory.resolve("api_token.txt"), "firstToken");
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(ApiTokenProducer.DISCOGS.getProperty(), tokenFile.toString());
+        watcher = new ApiTokenWatcher(environment)
+                .watch(ApiTokenProducer.DISCOGS, reloaded::add)
+                .start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        watcher.close();
+    }
+
+    @Test
+    void shouldReloadTokenWhenFileChanges() throws IOException, InterruptedException {
+        //when
+        Files.writeString(tokenFile, "rotatedToken");
+        //then
+        ApiToken apiToken = reloaded.poll(30, TimeUnit.SECONDS);
+        assertThat(apiToken).isNotNull();
+        assertThat(apiToken.getToken()).isEqualTo("rotatedToken");
+        assertThat(apiToken.getTokenProducer()).isEqualTo(ApiTokenProducer.DISCOGS);
+    }
+
+    @Test
+    void shouldIgnoreOtherFilesInDirectory() throws IOException, InterruptedException {
+        //when
+        Files.writeString(directory.resolve("notes.txt"), "unrelated");
+        //then
+        assertThat(reloaded.poll(1, TimeUnit.SECONDS)).isNull();
+    }
+}
@@ -0,0 +1,82 @@
+package com.nilsson.vinylrecordsales.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+    private final AtomicLong nanoTime = new AtomicLong();
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker("discogs", 2, OPEN_DURATION, nanoTime::get);
+    }
+
+    @Test
+    void shouldOpenAfterConsecutiveFailures() {
+        //when
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        //then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void shouldResetFailureCountOnSuccess() {
+        //when
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        //then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void shouldLetSingleTrialThroughAfterOpenDuration() {
+        //given
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        //when
+        nanoTime.addAndGet(OPEN_DURATION.toNanos());
+        //then
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void shouldCloseWhenTrialSucceeds() {
+        //given
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        nanoTime.addAndGet(OPEN_DURATION.toNanos());
+        circuitBreaker.tryAcquire();
+        //when
+        circuitBreaker.onSuccess();
+        //then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldReopenWhenTrialFails() {
+        //given
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        nanoTime.addAndGet(OPEN_DURATION.toNanos());
+        circuitBreaker.tryAcquire();
+        //when
+        circuitBreaker.onFailure();
+        //then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+}
@@ -0,0 +1,76 @@
+package com.nilsson.vinylrecordsales.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilienceFactoryTest {
+
+    private ResilienceFactory resilienceFactory;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment();
+        for (String upstream : new String[]{"discogs", "sello", "cloudinary"}) {
+            String prefix = "resilience." + upstream + ".";
+            environment.withProperty(prefix + "timeout", "PT5S")
+                    .withProperty(prefix + "maxretries", "2")
+                    .withProperty(prefix + "backoff.min", "PT0.001S")
+                    .withProperty(prefix + "backoff.max", "PT0.01S")
+                    .withProperty(prefix + "backoff.jitter", "0.5")
+                    .withProperty(prefix + "circuitbreaker.failurethreshold", "5")
+                    .withProperty(prefix + "circuitbreaker.open", "PT30S");
+        }
+        resilienceFactory = new ResilienceFactory(environment);
+    }
+
+    @Test
+    void shouldNotRetryCloudinaryUploadThatTimedOut() {
+        //given
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> upload = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new TimeoutException());
+        });
+        //when
+        //then
+        StepVerifier.create(resilienceFactory.cloudinary().apply(upload))
+                .verifyError(TimeoutException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldRetryCloudinaryUploadThatNeverConnected() {
+        //given
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> upload = Mono.defer(() -> attempts.incrementAndGet() < 3
+                ? Mono.error(new IOException("Upload failed", new ConnectException("Connection refused")))
+                : Mono.just("https://res.cloudinary.com/image.jpg"));
+        //when
+        //then
+        StepVerifier.create(resilienceFactory.cloudinary().apply(upload))
+                .expectNext("https://res.cloudinary.com/image.jpg")
+                .verifyComplete();
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void shouldRequireEveryResilienceSetting() {
+        //given
+        ResilienceFactory incomplete = new ResilienceFactory(new MockEnvironment()
+                .withProperty("resilience.sello.timeout", "PT30S"));
+        //when
+        //then
+        assertThatThrownBy(incomplete::sello).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.nilsson.vinylrecordsales.domain;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static com.nilsson.vinylrecordsales.domain.UpstreamMetrics.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UpstreamMetricsTest {
+
+    private static final String UPSTREAM = "discogs";
+    private static final String OPERATION = "search";
+    private SimpleMeterRegistry registry;
+    private UpstreamMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new UpstreamMetrics(registry, UPSTREAM);
+    }
+
+    @Test
+    void shouldTimeSuccessfulMono() {
+        //when
+        StepVerifier.create(metrics.time(OPERATION, Mono.just("response")))
+                .expectNext("response")
+                .verifyComplete();
+        //then
+        assertThat(timer("success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTimeEmptyMono() {
+        //when
+        StepVerifier.create(metrics.time(OPERATION, Mono.empty()))
+                .verifyComplete();
+        //then
+        assertThat(timer("empty").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTimeFailedMonoTaggedWithException() {
+        //when
+        StepVerifier.create(metrics.time(OPERATION, Mono.error(new IllegalStateException())))
+                .verifyError(IllegalStateException.class);
+        //then
+        Timer timer = registry.get(TIMER_NAME)
+                .tag(OUTCOME_TAG, "error")
+                .tag(EXCEPTION_TAG, "IllegalStateException")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTimeFluxOncePerSubscription() {
+        //when
+        StepVerifier.create(metrics.time(OPERATION, Flux.just(1, 2, 3)))
+                .expectNextCount(3)
+                .verifyComplete();
+        //then
+        assertThat(timer("success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotTimeUntilSubscribed() {
+        //when
+        metrics.time(OPERATION, Mono.just("response"));
+        //then
+        assertThat(registry.find(TIMER_NAME).timer()).isNull();
+    }
+
+    @Test
+    void shouldTimeBlockingCallAndRethrow() {
+        //when
+        metrics.time(OPERATION, () -> "response");
+        assertThrows(IllegalArgumentException.class, () -> metrics.time(OPERATION, () -> {
+            throw new IllegalArgumentException();
+        }));
+        //then
+        assertThat(timer("success").count()).isEqualTo(1);
+        assertThat(timer("error").count()).isEqualTo(1);
+    }
+
+    private Timer timer(String outcome) {
+        return registry.get(TIMER_NAME)
+                .tag(UPSTREAM_TAG, UPSTREAM)
+                .tag(OPERATION_TAG, OPERATION)
+                .tag(OUTCOME_TAG, outcome)
+                .timer();
+    }
+}
@@ -0,0 +1,116 @@
+package com.nilsson.vinylrecordsales.domain;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamResilienceTest {
+
+    private static final Duration BACKOFF = Duration.ofMillis(1);
+
+    @Test
+    void shouldRetryTransientFailures() {
+        //given
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> attempts.incrementAndGet() < 3
+                ? Mono.error(serverError())
+                : Mono.just("response"));
+        //when
+        //then
+        StepVerifier.create(resilience(3, UpstreamResilience::isTransientFailure).apply(call))
+                .expectNext("response")
+                .verifyComplete();
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void shouldNotRetryClientErrors() {
+        //given
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(WebClientResponseException.create(HttpStatus.NOT_FOUND.value(), "Not Found", HttpHeaders.EMPTY, new byte[0], null));
+        });
+        //when
+        //then
+        StepVerifier.create(resilience(3, UpstreamResilience::isTransientFailure).apply(call))
+                .verifyError(WebClientResponseException.NotFound.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldRethrowOriginalFailureWhenRetriesAreExhausted() {
+        //given
+        Mono<String> call = Mono.error(serverError());
+        //when
+        //then
+        StepVerifier.create(resilience(1, UpstreamResilience::isTransientFailure).apply(call))
+                .verifyError(WebClientResponseException.ServiceUnavailable.class);
+    }
+
+    @Test
+    void shouldTimeOutSlowCalls() {
+        //given
+        UpstreamResilience resilience = new UpstreamResilience(new CircuitBreaker("discogs", 5, Duration.ofSeconds(30)),
+                Duration.ofMillis(50), 0, BACKOFF, BACKOFF, 0.5, UpstreamResilience::isTransientFailure);
+        //when
+        //then
+        StepVerifier.create(resilience.apply(Mono.never()))
+                .verifyError(TimeoutException.class);
+    }
+
+    @Test
+    void shouldFailFastWhileCircuitIsOpen() {
+        //given
+        AtomicInteger attempts = new AtomicInteger();
+        Flux<String> call = Flux.defer(() -> {
+            attempts.incrementAndGet();
+            return Flux.error(new IOException("Connection reset"));
+        });
+        UpstreamResilience resilience = new UpstreamResilience(new CircuitBreaker("cloudinary", 2, Duration.ofMinutes(1)),
+                Duration.ofSeconds(1), 5, BACKOFF, BACKOFF, 0.5, UpstreamResilience::isTransientFailure);
+        //when
+        //then
+        StepVerifier.create(resilience.apply(call))
+                .verifyError(CircuitBreakerOpenException.class);
+        assertThat(attempts).hasValue(2);
+        assertThat(resilience.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldOnlyRetryConnectionFailuresWhenConfigured() {
+        //given
+        WebClientRequestException connectionRefused = new WebClientRequestException(new ConnectException("Connection refused"),
+                HttpMethod.POST, URI.create("https://api.sello.io/v5/products"), HttpHeaders.EMPTY);
+        //when
+        //then
+        assertThat(UpstreamResilience.isConnectionFailure(connectionRefused)).isTrue();
+        assertThat(UpstreamResilience.isConnectionFailure(serverError())).isFalse();
+        assertThat(UpstreamResilience.isConnectionFailure(new TimeoutException())).isFalse();
+    }
+
+    private static UpstreamResilience resilience(int maxRetries, Predicate<Throwable> retryable) {
+        return new UpstreamResilience(new CircuitBreaker("discogs", 10, Duration.ofSeconds(30)),
+                Duration.ofSeconds(1), maxRetries, BACKOFF, BACKOFF, 0.5, retryable);
+    }
+
+    private static WebClientResponseException serverError() {
+        return WebClientResponseException.create(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable", HttpHeaders.EMPTY, new byte[0], null);
+    }
+}
@@ -0,0 +1,115 @@
+package com.nilsson.vinylrecordsales.domain;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WebClientFactoryTest {
+
+    private MockWebServer mockBackend;
+    private MockEnvironment environment;
+    private WebClientFactory webClientFactory;
+    private ApiCredentials credentials;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockBackend = new MockWebServer();
+        mockBackend.start();
+        environment = new MockEnvironment()
+                .withProperty(WebClientFactory.UrlProperty.DISCOGS.value, format("http://localhost:%s", mockBackend.getPort()));
+        withConnectionSettings("discogs");
+        withConnectionSettings("sello");
+        environment.withProperty("api.connection.discogs.maxconnections", "1");
+        webClientFactory = new WebClientFactory(environment);
+        ApiToken apiToken = mock(ApiToken.class);
+        when(apiToken.getToken()).thenReturn("secretToken");
+        when(apiToken.getTokenProducer()).thenReturn(ApiTokenProducer.DISCOGS);
+        credentials = new ApiCredentials(apiToken);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        webClientFactory.close();
+        mockBackend.shutdown();
+    }
+
+    @Test
+    void shouldReuseConnectionsToUpstream() throws InterruptedException {
+        //given
+        mockBackend.enqueue(new MockResponse().setBody("first"));
+        mockBackend.enqueue(new MockResponse().setBody("second"));
+        WebClient client = webClientFactory.discogsWebClient(credentials);
+        //when
+        client.get().uri("/").retrieve().bodyToMono(String.class).block();
+        client.get().uri("/").retrieve().bodyToMono(String.class).block();
+        //then
+        assertThat(mockBackend.takeRequest().getSequenceNumber()).isZero();
+        assertThat(mockBackend.takeRequest().getSequenceNumber()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSendDefaultHeaders() throws InterruptedException {
+        //given
+        mockBackend.enqueue(new MockResponse().setBody("response"));
+        //when
+        webClientFactory.discogsWebClient(credentials).get().uri("/").retrieve().bodyToMono(String.class).block();
+        //then
+        RecordedRequest request = mockBackend.takeRequest();
+        assertThat(request.getHeader("Accept-Encoding")).contains("gzip");
+        assertThat(request.getHeader("Accept")).isEqualTo("application/json");
+        assertThat(request.getHeader("Authorization")).isEqualTo("Discogs token=secretToken");
+    }
+
+    @Test
+    void shouldReadConnectionSettingsPerUpstream() {
+        //given
+        environment.withProperty("api.connection.sello.maxidletime", "PT5S");
+        //when
+        WebClientFactory.ConnectionSettings discogs = WebClientFactory.ConnectionSettings.of(environment, "discogs");
+        WebClientFactory.ConnectionSettings sello = WebClientFactory.ConnectionSettings.of(environment, "sello");
+        //then
+        assertThat(discogs.maxConnections()).isEqualTo(1);
+        assertThat(sello.maxConnections()).isEqualTo(16);
+        assertThat(sello.maxIdleTime()).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldRequireEveryConnectionSetting() {
+        //given
+        MockEnvironment incomplete = new MockEnvironment()
+                .withProperty("api.connection.sello.maxconnections", "16");
+        //when
+        //then
+        assertThatThrownBy(() -> WebClientFactory.ConnectionSettings.of(incomplete, "sello"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private void withConnectionSettings(String upstream) {
+        String prefix = "api.connection." + upstream + ".";
+        environment.withProperty(prefix + "maxconnections", "16")
+                .withProperty(prefix + "pendingacquire.maxcount", "256")
+                .withProperty(prefix + "pendingacquire.timeout", "PT60S")
+                .withProperty(prefix + "maxidletime", "PT50S")
+                .withProperty(prefix + "maxlifetime", "PT10M")
+                .withProperty(prefix + "evictinbackground", "PT30S")
+                .withProperty(prefix + "connecttimeout", "PT10S")
+                .withProperty(prefix + "responsetimeout", "PT60S")
+                .withProperty(prefix + "keepalive", "true")
+                .withProperty(prefix + "compression", "true")
+                .withProperty(prefix + "http2", "false");
+    }
+}
@@ -0,0 +1,76 @@
+package com.nilsson.vinylrecordsales.file;
+
+import com.nilsson.vinylrecordsales.domain.AdvertisementRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+class AdvertisementRequestParserTest {
+
+    private AdvertisementRequestParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new AdvertisementRequestParser();
+    }
+
+    @Test
+    void shouldParseCatalogueNumbersWithoutExtraWords() {
+        //when
+        Flux<AdvertisementRequest> requests = parser.parseLines(Flux.just("MLPH 1622", "SKL 5001"));
+        //then
+        StepVerifier.create(requests)
+                .expectNext(new AdvertisementRequest(1, "MLPH 1622", List.of()))
+                .expectNext(new AdvertisementRequest(2, "SKL 5001", List.of()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldParseTabSeparatedExtraWords() {
+        //when
+        Flux<AdvertisementRequest> requests = parser.parseLines(Flux.just("MLPH 1622\tLena Evig"));
+        //then
+        StepVerifier.create(requests)
+                .expectNext(new AdvertisementRequest(1, "MLPH 1622", List.of("Lena", "Evig")))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldParseCommaAndSemicolonSeparatedExtraWords() {
+        //when
+        Flux<AdvertisementRequest> requests = parser.parseLines(Flux.just("MLPH 1622, Lena", "SKL 5001;Philipsson Evig"));
+        //then
+        StepVerifier.create(requests)
+                .expectNext(new AdvertisementRequest(1, "MLPH 1622", List.of("Lena")))
+                .expectNext(new AdvertisementRequest(2, "SKL 5001", List.of("Philipsson", "Evig")))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldSkipBlankLinesAndCommentsButKeepRowNumbers() {
+        //when
+        Flux<AdvertisementRequest> requests = parser.parseLines(Flux.just("# estate lot", "", "MLPH 1622"));
+        //then
+        StepVerifier.create(requests)
+                .expectNext(new AdvertisementRequest(3, "MLPH 1622", List.of()))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldSplitDataBuffersIntoLines() {
+        //given
+        byte[] content = "MLPH 1622\r\nSKL 5001\tLena\n".getBytes(StandardCharsets.UTF_8);
+        //when
+        Flux<AdvertisementRequest> requests = parser.parse(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(content)));
+        //then
+        StepVerifier.create(requests)
+                .expectNext(new AdvertisementRequest(1, "MLPH 1622", List.of()))
+                .expectNext(new AdvertisementRequest(2, "SKL 5001", List.of("Lena")))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,68 @@
+package com.nilsson.vinylrecordsales.file;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+class DropFolderWatcherTest {
+
+    @TempDir
+    private Path directory;
+
+    private DropFolderWatcher dropFolderWatcher;
+
+    @BeforeEach
+    void setUp() {
+        dropFolderWatcher = new DropFolderWatcher(directory, Duration.ofMillis(200)).start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        dropFolderWatcher.close();
+    }
+
+    @Test
+    void shouldEmitImageOnceItHasBeenWritten() {
+        //given
+        Path image = directory.resolve("IMG_20211024_161011.JPG");
+        //when
+        //then
+        StepVerifier.create(dropFolderWatcher.images().take(1))
+                .then(() -> write(directory.resolve("notes.txt"), "not an image"))
+                .then(() -> write(image, "first part"))
+                .then(() -> write(image, "first part and the rest"))
+                .expectNext(image.toFile())
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void shouldNotEmitImageAgainWhenItIsModifiedAfterSettling() {
+        //given
+        Path image = directory.resolve("IMG_20211024_161011.JPG");
+        //when
+        //then
+        StepVerifier.create(dropFolderWatcher.images())
+                .then(() -> write(image, "image"))
+                .expectNext(image.toFile())
+                .then(() -> write(image, "image with edited exif"))
+                .expectNoEvent(Duration.ofSeconds(1))
+                .thenCancel()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    private static void write(Path file, String content) {
+        try {
+            Files.writeString(file, content);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
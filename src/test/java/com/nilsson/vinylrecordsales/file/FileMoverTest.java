@@ -4,15 +4,18 @@ import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.concurrent.TimeUnit;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 
 public class FileMoverTest {
@@ -21,6 +24,7 @@ public class FileMoverTest {
     private static final Path destFolder = resources.resolve("destFolder");
     private static final int EVERY_NTH_FILE = 5;
 
+    private FileMover fileMover;
 
     @BeforeEach
     public void setUp() throws Exception {
@@ -28,10 +32,12 @@ public class FileMoverTest {
         destFolder.toFile().mkdirs();
         FileUtils.cleanDirectory(srcFolder.toFile());
         FileUtils.cleanDirectory(destFolder.toFile());
+        fileMover = new FileMover(2, false);
     }
 
     @AfterEach
     public void tearDown() throws Exception {
+        fileMover.close();
         FileUtils.cleanDirectory(srcFolder.toFile());
         FileUtils.cleanDirectory(destFolder.toFile());
     }
@@ -40,25 +46,88 @@ public class FileMoverTest {
     public void shouldCopyFile() throws IOException {
         File.createTempFile("test", "a", srcFolder.toFile());
 
-        FileMover.moveEveryNthFiles(srcFolder, destFolder, EVERY_NTH_FILE);
+        StepVerifier.create(fileMover.copyEveryNthFile(srcFolder, destFolder, EVERY_NTH_FILE))
+                .expectNextCount(1)
+                .verifyComplete();
         assertThat(destFolder.toFile()).isDirectoryContaining(file -> file.getName().matches("test.*a"));
 
     }
 
     @Test
-    public void shouldCopyEveryNthFile() throws IOException, InterruptedException {
+    public void shouldCopyEveryNthFile() throws IOException {
         for (int i = 1; i <= 6; i++) {
-            File.createTempFile(i + "test", "a", srcFolder.toFile());
-            TimeUnit.MILLISECONDS.sleep(50);
+            File file = File.createTempFile(i + "test", "a", srcFolder.toFile());
+            Files.setLastModifiedTime(file.toPath(), FileTime.from(Instant.parse("2021-10-24T16:10:00Z").plusSeconds(7 - i)));
         }
 
-        FileMover.moveEveryNthFiles(srcFolder, destFolder, EVERY_NTH_FILE);
+        StepVerifier.create(fileMover.copyEveryNthFile(srcFolder, destFolder, EVERY_NTH_FILE))
+                .expectNextCount(2)
+                .verifyComplete();
 
         assertThat(Files.list(destFolder)).hasSize(2);
         assertThat(destFolder.toFile())
-                .isDirectoryContaining(file -> file.getName().matches("1test.*a"))
-                .isDirectoryContaining(file -> file.getName().matches("6test.*a"));
+                .isDirectoryContaining(file -> file.getName().matches("6test.*a"))
+                .isDirectoryContaining(file -> file.getName().matches("1test.*a"));
+    }
 
+    @Test
+    public void shouldCopyContentAndModificationTime() throws IOException {
+        Path source = srcFolder.resolve("IMG_20211024_161011.jpg");
+        byte[] content = new byte[3 * 1024 * 1024 + 17];
+        content[content.length - 1] = 42;
+        Files.write(source, content);
+        FileTime lastModified = FileTime.from(Instant.parse("2021-10-24T16:10:11Z"));
+        Files.setLastModifiedTime(source, lastModified);
+        Files.writeString(destFolder.resolve("IMG_20211024_161011.jpg"), "previous copy");
+
+        StepVerifier.create(fileMover.copyEveryNthFile(srcFolder, destFolder, 1))
+                .expectNext(destFolder.resolve("IMG_20211024_161011.jpg"))
+                .verifyComplete();
+
+        Path copy = destFolder.resolve("IMG_20211024_161011.jpg");
+        assertThat(Files.readAllBytes(copy)).isEqualTo(content);
+        assertThat(Files.getLastModifiedTime(copy)).isEqualTo(lastModified);
+        assertThat(Files.isSameFile(source, copy)).isFalse();
+        assertThat(Files.list(destFolder)).containsExactly(copy);
+    }
 
+    @Test
+    public void shouldHardLinkWhenEnabled() throws IOException {
+        Path source = srcFolder.resolve("IMG_20211024_161011.jpg");
+        Files.writeString(source, "image");
+
+        try (FileMover linkingFileMover = new FileMover(2, true)) {
+            StepVerifier.create(linkingFileMover.copyEveryNthFile(srcFolder, destFolder, 1))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        }
+
+        assertThat(Files.isSameFile(source, destFolder.resolve("IMG_20211024_161011.jpg"))).isTrue();
+    }
+
+    @Test
+    public void shouldKeepSourceWhenTargetIsAlreadyLinkedToIt() throws IOException {
+        Path source = srcFolder.resolve("IMG_20211024_161011.jpg");
+        Files.writeString(source, "image");
+        Files.createLink(destFolder.resolve("IMG_20211024_161011.jpg"), source);
+
+        StepVerifier.create(fileMover.copyEveryNthFile(srcFolder, destFolder, 1))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(source).hasContent("image");
+        assertThat(Files.list(destFolder)).hasSize(1);
+    }
+
+    @Test
+    public void shouldRejectTargetEqualToSource() {
+        assertThatThrownBy(() -> fileMover.copyEveryNthFile(srcFolder, srcFolder.resolve("."), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void shouldRejectNonPositiveInterval() {
+        assertThatThrownBy(() -> fileMover.copyEveryNthFile(srcFolder, destFolder, 0))
+                .isInstanceOf(IllegalArgumentException.class);
     }
-}
\ No newline at end of file
+}
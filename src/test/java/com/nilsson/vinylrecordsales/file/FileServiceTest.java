@@ -1,5 +1,6 @@
 package com.nilsson.vinylrecordsales.file;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -66,4 +67,29 @@ class FileServiceTest {
         assertThat(files).containsExactly(anImage, anotherImage);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldGetImagesWithUpperCaseExtensionFromCamera() throws IOException {
+        //given
+        File anImage = File.createTempFile("IMG_20211024_161011", ".JPG", folder.toFile());
+        File.createTempFile("IMG_20211024_161211", ".MOV", folder.toFile());
+        //when
+        List<File> files = fileService.getImageFilesInDirectoryOrderedByName(folder.toFile());
+        //then
+        assertThat(files).containsExactly(anImage);
+    }
+
+    @Test
+    void shouldRecordScanMetrics() throws IOException {
+        //given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FileService meteredFileService = new FileService(registry);
+        File.createTempFile("IMG_20211024_161011", ".jpg", folder.toFile());
+        File.createTempFile("IMG_20211024_161211", ".jpg", folder.toFile());
+        //when
+        meteredFileService.getImageFilesInDirectoryOrderedByName(folder.toFile());
+        //then
+        assertThat(registry.get("vinyl.file.scan").timer().count()).isEqualTo(1);
+        assertThat(registry.get("vinyl.file.scan.images").summary().totalAmount()).isEqualTo(2);
+    }
+}
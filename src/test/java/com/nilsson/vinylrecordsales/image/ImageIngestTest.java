@@ -0,0 +1,78 @@
+package com.nilsson.vinylrecordsales.image;
+
+import com.nilsson.vinylrecordsales.progress.ProgressPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static com.nilsson.vinylrecordsales.progress.ProgressEvent.Stage.UPLOADED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageIngestTest {
+
+    @Mock
+    private ImageService imageService;
+    @Mock
+    private ProgressPublisher progressPublisher;
+
+    private ImageIngest imageIngest;
+
+    @BeforeEach
+    void setUp() {
+        imageIngest = new ImageIngest(false, Path.of("drop"), Duration.ofSeconds(2), 4, imageService, progressPublisher);
+        when(imageService.storeURLs(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void shouldUploadAndStoreDroppedImagesInArrivalOrder() throws MalformedURLException {
+        //given
+        File first = new File("IMG_1.jpg");
+        File second = new File("IMG_2.jpg");
+        URL firstUrl = new URL("https://httpstat.us/1");
+        URL secondUrl = new URL("https://httpstat.us/2");
+        when(imageService.uploadImages(List.of(first))).thenReturn(Flux.just(firstUrl).delayElements(Duration.ofMillis(100)));
+        when(imageService.uploadImages(List.of(second))).thenReturn(Flux.just(secondUrl));
+        //when
+        Flux<URL> stored = imageIngest.ingest(Flux.just(first, second));
+        //then
+        StepVerifier.create(stored)
+                .expectNext(firstUrl, secondUrl)
+                .verifyComplete();
+        verify(progressPublisher).publish(UPLOADED, "IMG_1.jpg", firstUrl);
+        verify(progressPublisher).publish(UPLOADED, "IMG_2.jpg", secondUrl);
+    }
+
+    @Test
+    void shouldStopIngestingWhenAnUploadFails() throws MalformedURLException {
+        //given
+        File uploaded = new File("IMG_1.jpg");
+        File failing = new File("IMG_2.jpg");
+        File later = new File("IMG_3.jpg");
+        URL url = new URL("https://httpstat.us/1");
+        IllegalStateException error = new IllegalStateException("Cloudinary unavailable");
+        when(imageService.uploadImages(List.of(uploaded))).thenReturn(Flux.just(url));
+        when(imageService.uploadImages(List.of(failing))).thenReturn(Flux.error(error));
+        //when
+        Flux<URL> stored = imageIngest.ingest(Flux.just(uploaded, failing, later));
+        //then
+        StepVerifier.create(stored)
+                .expectNext(url)
+                .verifyErrorSatisfies(thrown -> assertThat(thrown).isSameAs(error));
+        verify(progressPublisher).failed("IMG_2.jpg", error);
+        verify(imageService, never()).uploadImages(List.of(later));
+    }
+}
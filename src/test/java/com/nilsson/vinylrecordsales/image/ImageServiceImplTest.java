@@ -1,19 +1,26 @@
 package com.nilsson.vinylrecordsales.image;
 
+import com.nilsson.vinylrecordsales.image.processing.ImageProcessor;
 import com.nilsson.vinylrecordsales.image.upload.ImageUploadFacade;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -26,9 +33,16 @@ class ImageServiceImplTest {
     private static final String ANOTHER_EXAMPLE_FILE_URL = "http://url-to-another-example-file.com";
     private ImageServiceImpl imageUploadService;
 
+    @TempDir
+    private Path directory;
+
+    @Mock
+    ImageProcessor imageProcessor;
     @Mock
     ImageUploadFacade imageUploadFacade;
     @Mock
+    private UploadIndex uploadIndex;
+    @Mock
     private UrlRepository urlRepository;
     @Mock
     private File anExampleFile;
@@ -38,25 +52,70 @@ class ImageServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        imageUploadService = new ImageServiceImpl(imageUploadFacade, urlRepository);
+        imageUploadService = new ImageServiceImpl(imageProcessor, imageUploadFacade, uploadIndex, urlRepository);
     }
 
     @Test
     void shouldUploadImages() throws MalformedURLException {
         //given
+        byte[] processedExampleFile = {1};
+        byte[] processedAnotherExampleFile = {2};
+        when(uploadIndex.hash(anExampleFile)).thenReturn(Mono.just("example-hash"));
+        when(uploadIndex.hash(anotherExampleFile)).thenReturn(Mono.just("another-example-hash"));
+        when(anExampleFile.getName()).thenReturn("example.jpg");
+        when(anotherExampleFile.getName()).thenReturn("another-example.jpg");
+        when(imageProcessor.process(anExampleFile)).thenReturn(Mono.just(processedExampleFile));
+        when(imageProcessor.process(anotherExampleFile)).thenReturn(Mono.just(processedAnotherExampleFile));
         URL exampleFileUrl = new URL(EXAMPLE_FILE_URL);
-        when(imageUploadFacade.uploadImage(anExampleFile)).thenReturn(Mono.just(exampleFileUrl));
+        when(imageUploadFacade.uploadImage("example.jpg", processedExampleFile)).thenReturn(Mono.just(exampleFileUrl));
         URL anotherExampleFileUrl = new URL(ANOTHER_EXAMPLE_FILE_URL);
-        when(imageUploadFacade.uploadImage(anotherExampleFile)).thenReturn(Mono.just(anotherExampleFileUrl));
+        when(imageUploadFacade.uploadImage("another-example.jpg", processedAnotherExampleFile)).thenReturn(Mono.just(anotherExampleFileUrl));
         //when
         Flux<URL> urls = imageUploadService.uploadImages(List.of(anExampleFile, anotherExampleFile));
         //then
         StepVerifier.create(urls)
                 .expectNext(exampleFileUrl, anotherExampleFileUrl)
                 .verifyComplete();
-        verify(imageUploadFacade).uploadImage(anExampleFile);
-        verify(imageUploadFacade).uploadImage(anotherExampleFile);
+        verify(imageUploadFacade).uploadImage("example.jpg", processedExampleFile);
+        verify(imageUploadFacade).uploadImage("another-example.jpg", processedAnotherExampleFile);
         verifyNoMoreInteractions(imageUploadFacade);
+        verify(uploadIndex).record("example-hash", exampleFileUrl);
+        verify(uploadIndex).record("another-example-hash", anotherExampleFileUrl);
+    }
+
+    @Test
+    void shouldNotUploadImageAlreadyUploaded() throws MalformedURLException {
+        //given
+        URL exampleFileUrl = new URL(EXAMPLE_FILE_URL);
+        when(uploadIndex.hash(anExampleFile)).thenReturn(Mono.just("example-hash"));
+        when(uploadIndex.find("example-hash")).thenReturn(Optional.of(exampleFileUrl));
+        //when
+        Flux<URL> urls = imageUploadService.uploadImages(List.of(anExampleFile));
+        //then
+        StepVerifier.create(urls)
+                .verifyComplete();
+        verify(uploadIndex, never()).record(any(), any());
+        verifyNoInteractions(imageProcessor);
+        verifyNoInteractions(imageUploadFacade);
+    }
+
+    @Test
+    void shouldNotQueueUrlsAgainWhenFolderIsResubmitted() throws IOException {
+        //given
+        File image = Files.write(directory.resolve("IMG_1.jpg"), new byte[]{1, 2, 3}).toFile();
+        byte[] processed = {4};
+        URL url = new URL(EXAMPLE_FILE_URL);
+        when(imageProcessor.process(image)).thenReturn(Mono.just(processed));
+        when(imageUploadFacade.uploadImage("IMG_1.jpg", processed)).thenReturn(Mono.just(url));
+        ImageServiceImpl imageService = new ImageServiceImpl(imageProcessor, imageUploadFacade,
+                new UploadIndexImpl(directory.resolve("upload-index.txt"), Schedulers.immediate()), new UrlRepositoryImpl());
+        imageService.storeURLs(imageService.uploadImages(List.of(image))).blockLast();
+        assertThat(imageService.pollUrl().block()).isEqualTo(url);
+        //when
+        imageService.storeURLs(imageService.uploadImages(List.of(image))).blockLast();
+        //then
+        assertThat(imageService.haveStoredURLs()).isFalse();
+        verify(imageUploadFacade, times(1)).uploadImage("IMG_1.jpg", processed);
     }
 
     @Test
@@ -65,7 +124,9 @@ class ImageServiceImplTest {
         URL exampleFileUrl = new URL(EXAMPLE_FILE_URL);
 
         //when
-        imageUploadService.storeURLs(Flux.just(exampleFileUrl));
+        StepVerifier.create(imageUploadService.storeURLs(Flux.just(exampleFileUrl)))
+                .expectNext(exampleFileUrl)
+                .verifyComplete();
 
         //then
         verify(urlRepository).add(exampleFileUrl);
@@ -76,7 +137,8 @@ class ImageServiceImplTest {
     @Test
     void shouldNotStoreAnythingIfZeroUrlsToStore() {
         //when
-        imageUploadService.storeURLs(Flux.empty());
+        StepVerifier.create(imageUploadService.storeURLs(Flux.empty()))
+                .verifyComplete();
         //then
         verifyNoInteractions(urlRepository);
         verifyNoInteractions(imageUploadFacade);
@@ -0,0 +1,85 @@
+package com.nilsson.vinylrecordsales.image;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadIndexImplTest {
+
+    private static final String SHA_256_OF_ABC = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @TempDir
+    private Path directory;
+
+    private Path indexFile;
+    private UploadIndexImpl uploadIndex;
+    private URL anUrl;
+
+    @BeforeEach
+    void setUp() throws MalformedURLException {
+        indexFile = directory.resolve("index").resolve("upload-index.txt");
+        uploadIndex = new UploadIndexImpl(indexFile, Schedulers.immediate());
+        anUrl = new URL("https://res.cloudinary.com/image.jpg");
+    }
+
+    @Test
+    void shouldHashFileContent() throws IOException {
+        //given
+        Path image = Files.writeString(directory.resolve("image.jpg"), "abc");
+        //when
+        //then
+        StepVerifier.create(uploadIndex.hash(image.toFile()))
+                .expectNext(SHA_256_OF_ABC)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldHashSameContentEquallyRegardlessOfName() throws IOException {
+        //given
+        Path image = Files.writeString(directory.resolve("image.jpg"), "abc");
+        Path copy = Files.writeString(directory.resolve("copy.jpg"), "abc");
+        //when
+        //then
+        assertThat(UploadIndexImpl.hash(image)).isEqualTo(UploadIndexImpl.hash(copy));
+    }
+
+    @Test
+    void shouldFindRecordedUpload() {
+        //when
+        uploadIndex.record(SHA_256_OF_ABC, anUrl);
+        //then
+        assertThat(uploadIndex.find(SHA_256_OF_ABC)).contains(anUrl);
+        assertThat(uploadIndex.find("unknown")).isEmpty();
+    }
+
+    @Test
+    void shouldPersistRecordedUploads() {
+        //given
+        uploadIndex.record(SHA_256_OF_ABC, anUrl);
+        //when
+        UploadIndexImpl reloaded = new UploadIndexImpl(indexFile, Schedulers.immediate());
+        //then
+        assertThat(reloaded.find(SHA_256_OF_ABC)).contains(anUrl);
+    }
+
+    @Test
+    void shouldIgnoreMalformedLines() throws IOException {
+        //given
+        Files.writeString(indexFile, "garbage\nabc not-a-url\n" + SHA_256_OF_ABC + " " + anUrl + "\n");
+        //when
+        UploadIndexImpl reloaded = new UploadIndexImpl(indexFile, Schedulers.immediate());
+        //then
+        assertThat(reloaded.find(SHA_256_OF_ABC)).contains(anUrl);
+        assertThat(reloaded.find("abc")).isEmpty();
+    }
+}
@@ -0,0 +1,141 @@
+package com.nilsson.vinylrecordsales.image;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UrlJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldReplayUrlsStillQueued() throws IOException {
+        //given
+        Path file = directory.resolve("journal.bin");
+        try (UrlJournal journal = new UrlJournal(file)) {
+            journal.added(url(1));
+            journal.added(url(2));
+            journal.added(url(3));
+            journal.removed(url(1));
+        }
+        //when
+        try (UrlJournal reopened = new UrlJournal(file)) {
+            //then
+            assertThat(reopened.replayed()).containsExactly(url(2), url(3));
+        }
+    }
+
+    @Test
+    void shouldCompactOnOpen() throws IOException {
+        //given
+        Path file = directory.resolve("journal.bin");
+        try (UrlJournal journal = new UrlJournal(file)) {
+            journal.added(url(1));
+            journal.removed(url(1));
+        }
+        //when
+        try (UrlJournal reopened = new UrlJournal(file)) {
+            //then
+            assertThat(reopened.replayed()).isEmpty();
+            assertThat(Files.readAllBytes(file)).containsOnly(0);
+        }
+    }
+
+    @Test
+    void shouldGrowBeyondInitialMapping() throws IOException {
+        //given
+        Path file = directory.resolve("journal.bin");
+        List<URL> urls = IntStream.range(0, 5000).mapToObj(UrlJournalTest::url).toList();
+        try (UrlJournal journal = new UrlJournal(file)) {
+            //when
+            urls.forEach(journal::added);
+        }
+        //then
+        assertThat(Files.size(file)).isGreaterThan(64 * 1024);
+        try (UrlJournal reopened = new UrlJournal(file)) {
+            assertThat(reopened.replayed()).containsExactlyElementsOf(urls);
+        }
+    }
+
+    @Test
+    void shouldKeepEveryUrlAddedConcurrently() throws IOException, InterruptedException {
+        //given
+        Path file = directory.resolve("journal.bin");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (UrlJournal journal = new UrlJournal(file)) {
+            //when
+            IntStream.range(0, 4000).forEach(i -> executor.execute(() -> journal.added(url(i))));
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+        //then
+        try (UrlJournal reopened = new UrlJournal(file)) {
+            assertThat(reopened.replayed()).hasSize(4000);
+        }
+    }
+
+    @Test
+    void shouldSkipReservedButUnwrittenRecord() throws IOException {
+        //given
+        Path file = directory.resolve("journal.bin");
+        try (UrlJournal journal = new UrlJournal(file)) {
+            journal.added(url(1));
+            journal.added(url(2));
+            journal.added(url(3));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        int first = recordLength(url(1));
+        Arrays.fill(bytes, first, first + recordLength(url(2)), (byte) 0);
+        Files.write(file, bytes);
+        //when
+        try (UrlJournal reopened = new UrlJournal(file)) {
+            //then
+            assertThat(reopened.replayed()).containsExactly(url(1), url(3));
+        }
+    }
+
+    @Test
+    void shouldSkipRecordWrittenWithoutItsOperation() throws IOException {
+        //given
+        Path file = directory.resolve("journal.bin");
+        try (UrlJournal journal = new UrlJournal(file)) {
+            journal.added(url(1));
+            journal.added(url(2));
+            journal.added(url(3));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[recordLength(url(1))] = 0;
+        Files.write(file, bytes);
+        //when
+        try (UrlJournal reopened = new UrlJournal(file)) {
+            //then
+            assertThat(reopened.replayed()).containsExactly(url(1), url(3));
+        }
+    }
+
+    private static int recordLength(URL url) {
+        return Byte.BYTES + Short.BYTES + url.toExternalForm().length() + Integer.BYTES;
+    }
+
+    private static URL url(int i) {
+        try {
+            return new URL("https://res.cloudinary.com/image/upload/" + i + ".jpg");
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
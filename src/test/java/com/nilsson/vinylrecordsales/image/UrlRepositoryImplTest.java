@@ -2,9 +2,12 @@ package com.nilsson.vinylrecordsales.image;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -49,6 +52,47 @@ class UrlRepositoryImplTest {
 
     }
 
+    @Test
+    void shouldIgnoreUrlAlreadyQueued() {
+        //given
+        urlRepository.add(anUrl);
+        //when
+        urlRepository.add(anUrl);
+        urlRepository.poll();
+        //then
+        assertThat(urlRepository.haveStoredURLs()).isFalse();
+    }
+
+    @Test
+    void shouldQueueUrlAgainAfterItHasBeenPolled() {
+        //given
+        urlRepository.add(anUrl);
+        urlRepository.poll();
+        //when
+        urlRepository.add(anUrl);
+        //then
+        assertThat(urlRepository.poll()).isEqualTo(anUrl);
+    }
+
+    @Test
+    void shouldKeepQueuedUrlsAcrossRestarts(@TempDir Path directory) throws IOException {
+        //given
+        Path journalFile = directory.resolve("url-journal.bin");
+        try (UrlJournal journal = new UrlJournal(journalFile)) {
+            UrlRepositoryImpl journaledRepository = new UrlRepositoryImpl(journal);
+            journaledRepository.add(anUrl);
+            journaledRepository.add(anotherUrl);
+            journaledRepository.poll();
+        }
+        //when
+        try (UrlJournal journal = new UrlJournal(journalFile)) {
+            UrlRepositoryImpl restartedRepository = new UrlRepositoryImpl(journal);
+            //then
+            assertThat(restartedRepository.poll()).isEqualTo(anotherUrl);
+            assertThat(restartedRepository.haveStoredURLs()).isFalse();
+        }
+    }
+
     @Test
     void haveStoredURLs() {
         //given
@@ -0,0 +1,134 @@
+package com.nilsson.vinylrecordsales.image.processing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImageProcessorImplTest {
+
+    private static final int MAX_DIMENSION = 100;
+    private static final File PHOTO = new File("src/test/resources/images/skansens_spelmanslag.jpg");
+
+    @TempDir
+    private Path directory;
+
+    private ImageProcessorImpl imageProcessor;
+
+    @BeforeEach
+    void setUp() {
+        imageProcessor = new ImageProcessorImpl(MAX_DIMENSION, 0.8f, Schedulers.immediate(), Schedulers.immediate());
+    }
+
+    @Test
+    void shouldDownscalePhotoToMaxDimension() {
+        //when
+        //then
+        StepVerifier.create(imageProcessor.process(PHOTO))
+                .assertNext(processed -> {
+                    BufferedImage image = decode(processed);
+                    assertThat(Math.max(image.getWidth(), image.getHeight())).isEqualTo(MAX_DIMENSION);
+                    assertThat(processed.length).isLessThan((int) PHOTO.length());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldKeepAspectRatio() throws IOException {
+        //given
+        File image = write("wide.jpg", jpeg(400, 200));
+        //when
+        byte[] processed = imageProcessor.process(image).block();
+        //then
+        BufferedImage decoded = decode(processed);
+        assertThat(decoded.getWidth()).isEqualTo(100);
+        assertThat(decoded.getHeight()).isEqualTo(50);
+    }
+
+    @Test
+    void shouldRotateAccordingToExifOrientation() throws IOException {
+        //given
+        File image = write("rotated.jpg", withOrientation(jpeg(40, 20), 6));
+        //when
+        byte[] processed = imageProcessor.process(image).block();
+        //then
+        BufferedImage decoded = decode(processed);
+        assertThat(decoded.getWidth()).isEqualTo(20);
+        assertThat(decoded.getHeight()).isEqualTo(40);
+    }
+
+    @Test
+    void shouldKeepOriginalWhenFormatIsUnsupported() throws IOException {
+        //given
+        byte[] original = "not an image".getBytes(StandardCharsets.UTF_8);
+        File image = write("notes.txt", original);
+        //when
+        //then
+        StepVerifier.create(imageProcessor.process(image))
+                .assertNext(processed -> assertThat(processed).isEqualTo(original))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFailWhenFileIsMissing() {
+        //when
+        //then
+        StepVerifier.create(imageProcessor.process(directory.resolve("missing.jpg").toFile()))
+                .verifyError(IOException.class);
+    }
+
+    @Test
+    void shouldRejectInvalidQuality() {
+        //when
+        //then
+        assertThrows(IllegalArgumentException.class, () -> new ImageProcessorImpl(MAX_DIMENSION, 1.5f, Schedulers.immediate(), Schedulers.immediate()));
+    }
+
+    private File write(String name, byte[] content) throws IOException {
+        return Files.write(directory.resolve(name), content).toFile();
+    }
+
+    private static byte[] jpeg(int width, int height) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpeg", output);
+        return output.toByteArray();
+    }
+
+    private static byte[] withOrientation(byte[] jpeg, int orientation) {
+        ByteBuffer tiff = ByteBuffer.allocate(26)
+                .put("MM".getBytes(StandardCharsets.US_ASCII)).putShort((short) 42).putInt(8)
+                .putShort((short) 1)
+                .putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0)
+                .putInt(0);
+        byte[] exif = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer result = ByteBuffer.allocate(jpeg.length + 4 + exif.length + tiff.capacity())
+                .put(jpeg, 0, 2)
+                .put((byte) 0xFF).put((byte) 0xE1).putShort((short) (2 + exif.length + tiff.capacity()))
+                .put(exif).put(tiff.array())
+                .put(jpeg, 2, jpeg.length - 2);
+        return result.array();
+    }
+
+    private static BufferedImage decode(byte[] image) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(image));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
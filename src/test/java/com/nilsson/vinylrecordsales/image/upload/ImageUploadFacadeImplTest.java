@@ -9,11 +9,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -34,7 +36,7 @@ class ImageUploadFacadeImplTest {
 
     @BeforeEach
     void setUp() {
-        imageUploadFacade = new ImageUploadFacadeImpl(cloudinary);
+        imageUploadFacade = new ImageUploadFacadeImpl(cloudinary, Schedulers.immediate());
     }
 
     @Test
@@ -66,4 +68,60 @@ class ImageUploadFacadeImplTest {
 
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldUploadProcessedImage() throws IOException {
+        //given
+        byte[] image = {1, 2, 3};
+        String secureUrlString = "https://httpstat.us/";
+        when(cloudinary.uploader()).thenReturn(uploader);
+        when(uploader.upload(image, ObjectUtils.emptyMap())).thenReturn(Map.of("secure_url", secureUrlString));
+        //when
+        URL url = imageUploadFacade.uploadImage("image.jpg", image).block();
+        //then
+        assertThat(url).isEqualTo(new URL(secureUrlString));
+        verify(uploader).upload(eq(image), anyMap());
+        verifyNoMoreInteractions(uploader);
+    }
+
+    @Test
+    void shouldUploadWithUpdatedCloudinary() throws IOException {
+        //given
+        Cloudinary reloaded = mock(Cloudinary.class);
+        Uploader reloadedUploader = mock(Uploader.class);
+        when(reloaded.uploader()).thenReturn(reloadedUploader);
+        when(reloadedUploader.upload(file, ObjectUtils.emptyMap())).thenReturn(Map.of("secure_url", "https://httpstat.us/"));
+        //when
+        imageUploadFacade.update(reloaded);
+        imageUploadFacade.uploadImage(file).block();
+        //then
+        verify(reloadedUploader).upload(eq(file), anyMap());
+        verifyNoInteractions(cloudinary);
+    }
+
+    @Test
+    void shouldNotUploadUntilSubscribed() {
+        //when
+        imageUploadFacade.uploadImage(file);
+        //then
+        verifyNoInteractions(cloudinary);
+    }
+
+    @Test
+    void shouldUploadOnProvidedScheduler() throws IOException {
+        //given
+        var scheduler = Schedulers.newSingle("test-upload");
+        imageUploadFacade = new ImageUploadFacadeImpl(cloudinary, scheduler);
+        var uploadThread = new AtomicReference<String>();
+        when(cloudinary.uploader()).thenReturn(uploader);
+        when(uploader.upload(file, ObjectUtils.emptyMap())).thenAnswer(invocation -> {
+            uploadThread.set(Thread.currentThread().getName());
+            return Map.of("secure_url", "https://httpstat.us/");
+        });
+        //when
+        imageUploadFacade.uploadImage(file).block();
+        //then
+        assertThat(uploadThread.get()).startsWith("test-upload");
+        scheduler.dispose();
+    }
+}
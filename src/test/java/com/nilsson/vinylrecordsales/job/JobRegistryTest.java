@@ -0,0 +1,104 @@
+package com.nilsson.vinylrecordsales.job;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.nilsson.vinylrecordsales.job.Job.Status.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JobRegistryTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T10:15:30Z");
+
+    private JobRegistry jobRegistry;
+
+    @BeforeEach
+    void setUp() {
+        jobRegistry = new JobRegistry(2, 1, 2, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void shouldRunJobAndRecordOutcome() {
+        //given
+        //when
+        Job succeeded = jobRegistry.submit("succeeding", Flux.just(1, 2, 3));
+        Job failed = jobRegistry.submit("failing", Mono.error(new IllegalStateException("Sello unavailable")));
+        //then
+        assertThat(jobRegistry.get(succeeded.id())).get()
+                .isEqualTo(new Job(succeeded.id(), "succeeding", SUCCEEDED, NOW, NOW, NOW, null));
+        assertThat(jobRegistry.get(failed.id())).get()
+                .isEqualTo(new Job(failed.id(), "failing", FAILED, NOW, NOW, NOW, "Sello unavailable"));
+    }
+
+    @Test
+    void shouldQueueJobsBeyondConcurrencyAndStartThemWhenOthersFinish() {
+        //given
+        Sinks.Empty<Void> first = Sinks.empty();
+        Sinks.Empty<Void> second = Sinks.empty();
+        AtomicBoolean thirdStarted = new AtomicBoolean();
+        jobRegistry.submit("first", first.asMono());
+        jobRegistry.submit("second", second.asMono());
+        //when
+        Job third = jobRegistry.submit("third", Mono.fromRunnable(() -> thirdStarted.set(true)));
+        //then
+        assertThat(third.status()).isEqualTo(QUEUED);
+        assertThat(thirdStarted).isFalse();
+        first.tryEmitEmpty();
+        assertThat(thirdStarted).isTrue();
+        assertThat(jobRegistry.jobs()).extracting(Job::status).containsExactly(SUCCEEDED, RUNNING, SUCCEEDED);
+    }
+
+    @Test
+    void shouldRejectJobsWhenQueueIsFull() {
+        //given
+        jobRegistry.submit("first", Mono.never());
+        jobRegistry.submit("second", Mono.never());
+        jobRegistry.submit("third", Mono.never());
+        //when
+        //then
+        assertThatThrownBy(() -> jobRegistry.submit("fourth", Mono.never()))
+                .isInstanceOf(JobRejectedException.class)
+                .hasMessage("1 jobs are already waiting, not accepting fourth");
+    }
+
+    @Test
+    void shouldCancelRunningAndQueuedJobs() {
+        //given
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Job running = jobRegistry.submit("running", Mono.never().doOnCancel(() -> cancelled.set(true)));
+        jobRegistry.submit("other", Mono.never());
+        Job queued = jobRegistry.submit("queued", Mono.never());
+        //when
+        Job cancelledQueued = jobRegistry.cancel(queued.id()).orElseThrow();
+        Job cancelledRunning = jobRegistry.cancel(running.id()).orElseThrow();
+        //then
+        assertThat(cancelled).isTrue();
+        assertThat(cancelledRunning.status()).isEqualTo(CANCELLED);
+        assertThat(cancelledQueued.status()).isEqualTo(CANCELLED);
+        assertThat(cancelledQueued.started()).isNull();
+        assertThat(jobRegistry.cancel("unknown")).isEmpty();
+    }
+
+    @Test
+    void shouldForgetOldestFinishedJobsBeyondHistory() {
+        //given
+        Job running = jobRegistry.submit("running", Mono.never());
+        Job oldest = jobRegistry.submit("oldest", Mono.empty());
+        //when
+        jobRegistry.submit("newer", Mono.empty());
+        jobRegistry.submit("newest", Mono.empty());
+        //then
+        assertThat(jobRegistry.get(oldest.id())).isEmpty();
+        assertThat(jobRegistry.jobs()).extracting(Job::name).containsExactly("running", "newer", "newest");
+        assertThat(jobRegistry.get(running.id())).get().extracting(Job::status).isEqualTo(RUNNING);
+    }
+}
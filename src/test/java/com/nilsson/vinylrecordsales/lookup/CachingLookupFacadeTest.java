@@ -0,0 +1,85 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingLookupFacadeTest {
+
+    private static final String CATALOGUE_NUMBER = "MLPH 1622";
+    private static final Integer RELEASE_ID = 2229646;
+
+    @Mock
+    private LookupFacade lookupFacade;
+
+    @TempDir
+    Path directory;
+
+    private CachingLookupFacade cachingLookupFacade;
+
+    @BeforeEach
+    void setUp() {
+        cachingLookupFacade = new CachingLookupFacade(lookupFacade,
+                new LookupCache("search", 10, Duration.ofDays(1), directory),
+                new LookupCache("release", 10, Duration.ofDays(1), directory));
+    }
+
+    @Test
+    void shouldOnlyRequestCatalogueNumberOnce() {
+        //given
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(ExampleJsonResponses.lookupResponse()));
+        //when
+        //then
+        StepVerifier.create(cachingLookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER))
+                .expectNext(ExampleJsonResponses.lookupResponse())
+                .verifyComplete();
+        StepVerifier.create(cachingLookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER))
+                .expectNext(ExampleJsonResponses.lookupResponse())
+                .verifyComplete();
+        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
+        verifyNoMoreInteractions(lookupFacade);
+    }
+
+    @Test
+    void shouldOnlyRequestReleaseIdOnce() {
+        //given
+        when(lookupFacade.getByReleaseId(RELEASE_ID)).thenReturn(Mono.just(ExampleJsonResponses.releaseInfo()));
+        //when
+        //then
+        StepVerifier.create(cachingLookupFacade.getByReleaseId(RELEASE_ID))
+                .expectNext(ExampleJsonResponses.releaseInfo())
+                .verifyComplete();
+        StepVerifier.create(cachingLookupFacade.getByReleaseId(RELEASE_ID))
+                .expectNext(ExampleJsonResponses.releaseInfo())
+                .verifyComplete();
+        verify(lookupFacade).getByReleaseId(RELEASE_ID);
+        verifyNoMoreInteractions(lookupFacade);
+    }
+
+    @Test
+    void shouldNotCacheFailedLookups() {
+        //given
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1))
+                .thenReturn(Mono.error(new IllegalStateException("Discogs unavailable")))
+                .thenReturn(Mono.just(ExampleJsonResponses.lookupResponse()));
+        //when
+        //then
+        StepVerifier.create(cachingLookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER))
+                .verifyError(IllegalStateException.class);
+        StepVerifier.create(cachingLookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER))
+                .expectNext(ExampleJsonResponses.lookupResponse())
+                .verifyComplete();
+        verify(lookupFacade, times(2)).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
+    }
+}
@@ -0,0 +1,87 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogueNumberIndexTest {
+
+    private CatalogueNumberIndex catalogueNumberIndex;
+
+    @BeforeEach
+    void setUp() {
+        catalogueNumberIndex = new CatalogueNumberIndex(100);
+        catalogueNumberIndex.add("SKL 5001");
+        catalogueNumberIndex.add("SKL 5011");
+        catalogueNumberIndex.add("MLPH 1622");
+        catalogueNumberIndex.add("POS 1255");
+    }
+
+    @Test
+    void shouldCorrectToCatalogueNumberAsSeenInLookups() {
+        //given
+        //when
+        //then
+        assertThat(catalogueNumberIndex.correct("skl-5001")).contains("SKL 5001");
+        assertThat(catalogueNumberIndex.correct("SKL5001")).contains("SKL 5001");
+        assertThat(catalogueNumberIndex.correct("SKL 5002")).isEmpty();
+    }
+
+    @Test
+    void shouldKeepFirstSeenFormOfCatalogueNumber() {
+        //given
+        //when
+        catalogueNumberIndex.add("skl5001");
+        //then
+        assertThat(catalogueNumberIndex.size()).isEqualTo(4);
+        assertThat(catalogueNumberIndex.correct("SKL5001")).contains("SKL 5001");
+    }
+
+    @Test
+    void shouldSuggestPrefixMatchesFirst() {
+        //given
+        //when
+        //then
+        assertThat(catalogueNumberIndex.suggest("skl 50", 10)).containsExactly("SKL 5001", "SKL 5011");
+    }
+
+    @Test
+    void shouldSuggestCatalogueNumbersWithTypos() {
+        //given
+        //when
+        //then
+        assertThat(catalogueNumberIndex.suggest("MLHP 1622", 10)).first().isEqualTo("MLPH 1622");
+        assertThat(catalogueNumberIndex.suggest("SKL 5010", 10)).containsExactly("SKL 5011", "SKL 5001");
+    }
+
+    @Test
+    void shouldNotSuggestUnrelatedCatalogueNumbers() {
+        //given
+        //when
+        //then
+        assertThat(catalogueNumberIndex.suggest("ABC 999", 10)).isEmpty();
+        assertThat(catalogueNumberIndex.suggest(" - ", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldLimitSuggestions() {
+        //given
+        //when
+        //then
+        assertThat(catalogueNumberIndex.suggest("SKL", 1)).containsExactly("SKL 5001");
+    }
+
+    @Test
+    void shouldNotGrowBeyondMaximumSize() {
+        //given
+        CatalogueNumberIndex boundedIndex = new CatalogueNumberIndex(2);
+        //when
+        boundedIndex.add("SKL 5001");
+        boundedIndex.add("SKL 5011");
+        boundedIndex.add("SKL 5021");
+        //then
+        assertThat(boundedIndex.size()).isEqualTo(2);
+        assertThat(boundedIndex.suggest("SKL", 10)).hasSize(2);
+    }
+}
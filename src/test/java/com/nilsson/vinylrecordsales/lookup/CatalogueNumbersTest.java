@@ -0,0 +1,35 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogueNumbersTest {
+
+    @Test
+    void shouldIgnoreCaseSpacingAndPunctuation() {
+        //given
+        //when
+        //then
+        assertThat(CatalogueNumbers.normalise("MLPH 1622")).isEqualTo("MLPH1622");
+        assertThat(CatalogueNumbers.normalise("mlph-1622")).isEqualTo("MLPH1622");
+        assertThat(CatalogueNumbers.normalise(" MLPH.1622/ ")).isEqualTo("MLPH1622");
+    }
+
+    @Test
+    void shouldKeepNonAsciiLetters() {
+        //given
+        //when
+        //then
+        assertThat(CatalogueNumbers.normalise("Sönet slp-2536")).isEqualTo("SÖNETSLP2536");
+    }
+
+    @Test
+    void shouldNormaliseMissingCatalogueNumberToEmpty() {
+        //given
+        //when
+        //then
+        assertThat(CatalogueNumbers.normalise("none")).isEmpty();
+        assertThat(CatalogueNumbers.normalise(" - ")).isEmpty();
+    }
+}
@@ -0,0 +1,80 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingLookupFacadeTest {
+
+    private static final String CATALOGUE_NUMBER = "MLPH 1622";
+    private static final Integer RELEASE_ID = 2229646;
+
+    @Mock
+    private LookupFacade lookupFacade;
+
+    private CoalescingLookupFacade coalescingLookupFacade;
+
+    @BeforeEach
+    void setUp() {
+        coalescingLookupFacade = new CoalescingLookupFacade(lookupFacade);
+    }
+
+    @Test
+    void shouldShareInFlightCatalogueNumberLookup() {
+        //given
+        Sinks.One<String> response = Sinks.one();
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(response.asMono());
+        //when
+        Mono<String> first = coalescingLookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER);
+        Mono<String> second = coalescingLookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER);
+        //then
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> response.tryEmitValue(ExampleJsonResponses.lookupResponse()))
+                .expectNextMatches(responses -> responses.getT1().equals(ExampleJsonResponses.lookupResponse())
+                        && responses.getT2().equals(ExampleJsonResponses.lookupResponse()))
+                .verifyComplete();
+        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
+        verifyNoMoreInteractions(lookupFacade);
+    }
+
+    @Test
+    void shouldShareInFlightReleaseLookup() {
+        //given
+        Sinks.One<String> response = Sinks.one();
+        when(lookupFacade.getByReleaseId(RELEASE_ID)).thenReturn(response.asMono());
+        //when
+        Mono<String> first = coalescingLookupFacade.getByReleaseId(RELEASE_ID);
+        Mono<String> second = coalescingLookupFacade.getByReleaseId(RELEASE_ID);
+        //then
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> response.tryEmitValue(ExampleJsonResponses.releaseInfo()))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(lookupFacade).getByReleaseId(RELEASE_ID);
+        verifyNoMoreInteractions(lookupFacade);
+    }
+
+    @Test
+    void shouldRequestAgainWhenPreviousLookupHasCompleted() {
+        //given
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1))
+                .thenReturn(Mono.error(new IllegalStateException("Discogs unavailable")))
+                .thenReturn(Mono.just(ExampleJsonResponses.lookupResponse()));
+        //when
+        //then
+        StepVerifier.create(coalescingLookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER))
+                .verifyError(IllegalStateException.class);
+        StepVerifier.create(coalescingLookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER))
+                .expectNext(ExampleJsonResponses.lookupResponse())
+                .verifyComplete();
+        verify(lookupFacade, times(2)).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
+    }
+}
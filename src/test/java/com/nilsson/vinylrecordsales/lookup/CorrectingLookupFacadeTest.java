@@ -0,0 +1,101 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CorrectingLookupFacadeTest {
+
+    private static final String CATALOGUE_NUMBER = "MLPH 1622";
+    private static final Integer RELEASE_ID = 2229646;
+
+    @Mock
+    private LookupFacade lookupFacade;
+
+    private CatalogueNumberIndex catalogueNumberIndex;
+    private CorrectingLookupFacade correctingLookupFacade;
+
+    @BeforeEach
+    void setUp() {
+        catalogueNumberIndex = new CatalogueNumberIndex(100);
+        correctingLookupFacade = new CorrectingLookupFacade(lookupFacade, catalogueNumberIndex);
+    }
+
+    @Test
+    void shouldIndexCatalogueNumbersFromSearchResponse() {
+        //given
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(ExampleJsonResponses.lookupResponse()));
+        //when
+        StepVerifier.create(correctingLookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER))
+                .expectNext(ExampleJsonResponses.lookupResponse())
+                .verifyComplete();
+        //then
+        assertThat(catalogueNumberIndex.correct("mlph-1622")).contains(CATALOGUE_NUMBER);
+    }
+
+    @Test
+    void shouldIndexCatalogueNumbersFromReleaseLabels() {
+        //given
+        when(lookupFacade.getByReleaseId(RELEASE_ID)).thenReturn(Mono.just(ExampleJsonResponses.releaseInfo()));
+        //when
+        correctingLookupFacade.getByReleaseId(RELEASE_ID).block();
+        //then
+        assertThat(catalogueNumberIndex.correct("MLPH1622")).contains(CATALOGUE_NUMBER);
+    }
+
+    @Test
+    void shouldLookUpCorrectedCatalogueNumber() {
+        //given
+        catalogueNumberIndex.add(CATALOGUE_NUMBER);
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(ExampleJsonResponses.lookupResponse()));
+        //when
+        correctingLookupFacade.findByCatalogueNumber("mlph-1622").block();
+        //then
+        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
+    }
+
+    @Test
+    void shouldLookUpUnknownCatalogueNumberWithoutSurroundingWhitespace() {
+        //given
+        when(lookupFacade.findByCatalogueNumber("LBLP 008", 1)).thenReturn(Mono.just("{\"results\":[]}"));
+        //when
+        correctingLookupFacade.findByCatalogueNumber(" LBLP 008 ").block();
+        //then
+        verify(lookupFacade).findByCatalogueNumber("LBLP 008", 1);
+        assertThat(catalogueNumberIndex.size()).isZero();
+    }
+
+    @Test
+    void shouldReturnResponseWhenItCannotBeIndexed() {
+        //given
+        String response = "{\"results\":[{\"catno\":\"MLPH 1622\"";
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(response));
+        //when
+        //then
+        StepVerifier.create(correctingLookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER))
+                .expectNext(response)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldOnlyIndexCatalogueNumbersOfTheResultEntries() {
+        //given
+        String response = "{\"pagination\":{\"catno\":\"PAGE 1\"},"
+                + "\"results\":[{\"title\":\"Nationalteatern\",\"sublabel\":{\"catno\":\"SUB 1\"},\"catno\":\"MLPH 1622\"},"
+                + "{\"catno\":null},\"unexpected\"]}";
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(response));
+        //when
+        correctingLookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER).block();
+        //then
+        assertThat(catalogueNumberIndex.size()).isEqualTo(1);
+        assertThat(catalogueNumberIndex.correct("mlph-1622")).contains(CATALOGUE_NUMBER);
+    }
+}
@@ -0,0 +1,118 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiscogsRateLimiterTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private MockWebServer mockBackend;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockBackend = new MockWebServer();
+        mockBackend.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockBackend.shutdown();
+    }
+
+    @Test
+    void shouldAllowBurstAndThenSpreadRequests() {
+        //given
+        DiscogsRateLimiter rateLimiter = new DiscogsRateLimiter(60, 2, 0, nanoTime::get);
+        //when
+        //then
+        assertThat(rateLimiter.reserve()).isZero();
+        assertThat(rateLimiter.reserve()).isZero();
+        assertThat(rateLimiter.reserve()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(rateLimiter.reserve()).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void shouldRefillOverTime() {
+        //given
+        DiscogsRateLimiter rateLimiter = new DiscogsRateLimiter(60, 1, 0, nanoTime::get);
+        rateLimiter.reserve();
+        //when
+        nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+        //then
+        assertThat(rateLimiter.reserve()).isZero();
+    }
+
+    @Test
+    void shouldWaitWhenDiscogsReportsNoRemainingRequests() {
+        //given
+        DiscogsRateLimiter rateLimiter = new DiscogsRateLimiter(60, 5, 0, nanoTime::get);
+        //when
+        rateLimiter.update(60, 0);
+        //then
+        assertThat(rateLimiter.reserve()).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void shouldUseLimitReportedByDiscogs() {
+        //given
+        DiscogsRateLimiter rateLimiter = new DiscogsRateLimiter(60, 1, 0, nanoTime::get);
+        //when
+        rateLimiter.update(30, 0);
+        //then
+        assertThat(rateLimiter.reserve()).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void shouldRetryWhenRateLimited() throws InterruptedException {
+        //given
+        mockBackend.enqueue(new MockResponse()
+                .setResponseCode(HttpStatus.TOO_MANY_REQUESTS.value()));
+        mockBackend.enqueue(new MockResponse()
+                .setBody(ExampleJsonResponses.releaseInfo())
+                .addHeader(DiscogsRateLimiter.RATE_LIMIT_HEADER, "6000")
+                .addHeader(DiscogsRateLimiter.RATE_LIMIT_REMAINING_HEADER, "5999")
+                .addHeader("Content-Type", "application/json"));
+        WebClient client = rateLimitedClient(new DiscogsRateLimiter(6000, 1, 1, System::nanoTime));
+        //when
+        //then
+        StepVerifier.create(client.get().uri("/releases/1").retrieve().bodyToMono(String.class))
+                .expectNext(ExampleJsonResponses.releaseInfo())
+                .verifyComplete();
+        assertThat(mockBackend.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFailWhenStillRateLimitedAfterRetries() {
+        //given
+        mockBackend.enqueue(new MockResponse()
+                .setResponseCode(HttpStatus.TOO_MANY_REQUESTS.value()));
+        mockBackend.enqueue(new MockResponse()
+                .setResponseCode(HttpStatus.TOO_MANY_REQUESTS.value()));
+        WebClient client = rateLimitedClient(new DiscogsRateLimiter(6000, 1, 1, System::nanoTime));
+        //when
+        //then
+        StepVerifier.create(client.get().uri("/releases/1").retrieve().bodyToMono(String.class))
+                .verifyError(RateLimitExceededException.class);
+        assertThat(mockBackend.getRequestCount()).isEqualTo(2);
+    }
+
+    private WebClient rateLimitedClient(DiscogsRateLimiter rateLimiter) {
+        return WebClient.builder()
+                .baseUrl(format("http://localhost:%s", mockBackend.getPort()))
+                .filter(rateLimiter)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LookupCacheTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofDays(1);
+    private static final String KEY = "MLPH 1622";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldMissWhenNothingIsCached() {
+        //given
+        LookupCache cache = createCache(Clock.systemUTC());
+        //when
+        //then
+        StepVerifier.create(cache.get(KEY))
+                .verifyComplete();
+        assertThat(cache.getStatistics()).isEqualTo(new LookupCache.LookupCacheStatistics(0, 0, 1));
+    }
+
+    @Test
+    void shouldHitMemoryTierAfterPut() {
+        //given
+        LookupCache cache = createCache(Clock.systemUTC());
+        //when
+        cache.put(KEY, ExampleJsonResponses.lookupResponse());
+        //then
+        StepVerifier.create(cache.get(KEY))
+                .expectNext(ExampleJsonResponses.lookupResponse())
+                .verifyComplete();
+        assertThat(cache.getStatistics()).isEqualTo(new LookupCache.LookupCacheStatistics(1, 0, 0));
+    }
+
+    @Test
+    void shouldSurviveRestartThroughDiskTier() {
+        //given
+        createCache(Clock.systemUTC()).put(KEY, ExampleJsonResponses.lookupResponse());
+        //when
+        LookupCache restartedCache = createCache(Clock.systemUTC());
+        //then
+        StepVerifier.create(restartedCache.get(KEY))
+                .expectNext(ExampleJsonResponses.lookupResponse())
+                .verifyComplete();
+        StepVerifier.create(restartedCache.get(KEY))
+                .expectNext(ExampleJsonResponses.lookupResponse())
+                .verifyComplete();
+        assertThat(restartedCache.getStatistics()).isEqualTo(new LookupCache.LookupCacheStatistics(1, 1, 0));
+    }
+
+    @Test
+    void shouldNotReturnExpiredEntryFromDiskTier() {
+        //given
+        createCache(Clock.systemUTC()).put(KEY, ExampleJsonResponses.lookupResponse());
+        Clock afterExpiry = Clock.fixed(Instant.now().plus(TIME_TO_LIVE).plusSeconds(1), ZoneOffset.UTC);
+        //when
+        LookupCache restartedCache = createCache(afterExpiry);
+        //then
+        StepVerifier.create(restartedCache.get(KEY))
+                .verifyComplete();
+        assertThat(directory.resolve("search")).isEmptyDirectory();
+    }
+
+    @Test
+    void shouldPromoteDiskEntryWithRemainingTimeToLive() {
+        //given
+        createCache(Clock.systemUTC()).put(KEY, ExampleJsonResponses.lookupResponse());
+        Clock nearExpiry = Clock.fixed(Instant.now().plus(TIME_TO_LIVE).minusSeconds(60), ZoneOffset.UTC);
+        LookupCache restartedCache = createCache(nearExpiry);
+        //when
+        StepVerifier.create(restartedCache.get(KEY))
+                .expectNext(ExampleJsonResponses.lookupResponse())
+                .verifyComplete();
+        //then
+        assertThat(restartedCache.getMemoryTier().policy().expireVariably().orElseThrow().getExpiresAfter(KEY))
+                .hasValueSatisfying(expiresAfter -> assertThat(expiresAfter).isLessThanOrEqualTo(Duration.ofSeconds(60)));
+    }
+
+    @Test
+    void shouldSweepExpiredEntriesFromDiskTierOnStartup() throws Exception {
+        //given
+        LookupCache cache = createCache(Clock.systemUTC());
+        cache.put(KEY, ExampleJsonResponses.lookupResponse());
+        cache.put("SKL 5001", ExampleJsonResponses.lookupResponse());
+        try (Stream<Path> files = Files.list(directory.resolve("search"))) {
+            Path expired = files.findFirst().orElseThrow();
+            Files.setLastModifiedTime(expired, FileTime.from(Instant.now().minus(TIME_TO_LIVE).minusSeconds(1)));
+        }
+        //when
+        createCache(Clock.systemUTC());
+        //then
+        try (Stream<Path> files = Files.list(directory.resolve("search"))) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    private LookupCache createCache(Clock clock) {
+        return new LookupCache("search", 10, TIME_TO_LIVE, directory, clock, Schedulers.immediate());
+    }
+}
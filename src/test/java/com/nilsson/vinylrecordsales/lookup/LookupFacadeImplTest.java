@@ -1,6 +1,8 @@
 package com.nilsson.vinylrecordsales.lookup;
 
+import com.nilsson.vinylrecordsales.domain.ApiCredentials;
 import com.nilsson.vinylrecordsales.domain.ApiToken;
+import com.nilsson.vinylrecordsales.domain.ApiTokenProducer;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
@@ -33,7 +35,11 @@ class LookupFacadeImplTest {
         String baseUrl = String.format("http://localhost:%s",
                 mockBackend.getPort());
         when(apiToken.getToken()).thenReturn("secretToken");
-        lookupFacadeImpl = new LookupFacadeImpl(apiToken, WebClient.create(baseUrl));
+        when(apiToken.getTokenProducer()).thenReturn(ApiTokenProducer.DISCOGS);
+        lookupFacadeImpl = new LookupFacadeImpl(WebClient.builder()
+                .baseUrl(baseUrl)
+                .filter(new ApiCredentials(apiToken))
+                .build());
     }
 
 
@@ -57,6 +63,19 @@ class LookupFacadeImplTest {
 
     }
 
+    @Test
+    void canRequestLaterSearchResultPageFromApi() throws InterruptedException {
+        //given
+        mockBackend.enqueue(new MockResponse()
+                .setBody(ExampleJsonResponses.lookupResponse())
+                .addHeader("Content-Type", "application/json"));
+        //when
+        lookupFacadeImpl.findByCatalogueNumber("test", 2).block();
+        //then
+        RecordedRequest recordedRequest = mockBackend.takeRequest();
+        assertThat(recordedRequest.getPath()).isEqualTo("/database/search?catno=test&page=2");
+    }
+
     @Test
     void canRequestDataByReleaseIdFromApi() throws InterruptedException {
         //given
@@ -1,7 +1,5 @@
 package com.nilsson.vinylrecordsales.lookup;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import com.nilsson.vinylrecordsales.domain.RecordInformation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,18 +32,17 @@ class LookupServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        lookupService = new LookupServiceImpl(lookupFacade, recordInformationConverter);
+        lookupService = new LookupServiceImpl(lookupFacade, recordInformationConverter, new ReleaseMatcher(""));
     }
 
     @Test
     void shouldReturnRecordInfo() {
         //given
         String releaseInfoResponse = ExampleJsonResponses.releaseInfo();
-        JsonObject releaseResponse = new Gson().fromJson(releaseInfoResponse, JsonObject.class);
-        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER)).thenReturn(Mono.just(ExampleJsonResponses.lookupResponse()));
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(ExampleJsonResponses.lookupResponse()));
         when(lookupFacade.getByReleaseId(RELEASE_ID)).thenReturn(Mono.just(releaseInfoResponse));
         RecordInformation recordInformation = mock(RecordInformation.class);
-        when(recordInformationConverter.getRecordInformation(TITLE, releaseResponse)).thenReturn(Optional.of(recordInformation));
+        when(recordInformationConverter.getRecordInformation(TITLE, releaseInfoResponse)).thenReturn(Optional.of(recordInformation));
         InOrder inOrder = Mockito.inOrder(lookupFacade, recordInformationConverter);
         //when
         Mono<Optional<RecordInformation>> informationByCatalogueNumber =
@@ -54,17 +51,17 @@ class LookupServiceImplTest {
         StepVerifier.create(informationByCatalogueNumber.log())
                 .expectNext(Optional.of(recordInformation))
                 .verifyComplete();
-        inOrder.verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER);
+        inOrder.verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
         inOrder.verify(lookupFacade).getByReleaseId(RELEASE_ID);
 
-        verify(recordInformationConverter).getRecordInformation(TITLE, releaseResponse);
+        verify(recordInformationConverter).getRecordInformation(TITLE, releaseInfoResponse);
         verifyNoMoreInteractions(lookupFacade);
         verifyNoMoreInteractions(recordInformationConverter);
     }
 
     @Test
     void shouldReturnEmptyRecordInfoWhenResponseContainsDifferentTitles() {
-        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER)).thenReturn(Mono.just(ExampleJsonResponses.ambiguousLookupResponse()));
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(ExampleJsonResponses.ambiguousLookupResponse()));
         //when
         Optional<RecordInformation> recordInformation =
                 lookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER).block();
@@ -76,17 +73,16 @@ class LookupServiceImplTest {
     void shouldUseExtraProvidedTitleWordsWhenGatherInfo() {
         //given
         String releaseInfoResponse = ExampleJsonResponses.releaseInfo();
-        JsonObject releaseResponse = new Gson().fromJson(releaseInfoResponse, JsonObject.class);
-        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER)).thenReturn(Mono.just(ExampleJsonResponses.ambiguousLookupResponse()));
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(ExampleJsonResponses.ambiguousLookupResponse()));
         when(lookupFacade.getByReleaseId(RELEASE_ID)).thenReturn(Mono.just(releaseInfoResponse));
         InOrder inOrder = Mockito.inOrder(lookupFacade, recordInformationConverter);
         //when
         lookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER, "Lena", "Philipsson", "Evig").subscribe();
         //then
-        inOrder.verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER);
+        inOrder.verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
         inOrder.verify(lookupFacade).getByReleaseId(RELEASE_ID);
 
-        verify(recordInformationConverter).getRecordInformation(TITLE, releaseResponse);
+        verify(recordInformationConverter).getRecordInformation(TITLE, releaseInfoResponse);
         verifyNoMoreInteractions(lookupFacade);
         verifyNoMoreInteractions(recordInformationConverter);
     }
@@ -95,17 +91,16 @@ class LookupServiceImplTest {
     void providedTitleWordsIsCaseInsensitiveWhenGatheringInfo() {
         //given
         String releaseInfoResponse = ExampleJsonResponses.releaseInfo();
-        JsonObject releaseResponse = new Gson().fromJson(releaseInfoResponse, JsonObject.class);
-        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER)).thenReturn(Mono.just(ExampleJsonResponses.ambiguousLookupResponse()));
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(ExampleJsonResponses.ambiguousLookupResponse()));
         when(lookupFacade.getByReleaseId(RELEASE_ID)).thenReturn(Mono.just(releaseInfoResponse));
         InOrder inOrder = Mockito.inOrder(lookupFacade, recordInformationConverter);
         //when
         lookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER, "LeNa", "PhIlIpSsoN", "EVIG").subscribe();
         //then
-        inOrder.verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER);
+        inOrder.verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
         inOrder.verify(lookupFacade).getByReleaseId(RELEASE_ID);
 
-        verify(recordInformationConverter).getRecordInformation(TITLE, releaseResponse);
+        verify(recordInformationConverter).getRecordInformation(TITLE, releaseInfoResponse);
         verifyNoMoreInteractions(lookupFacade);
         verifyNoMoreInteractions(recordInformationConverter);
     }
@@ -113,12 +108,12 @@ class LookupServiceImplTest {
     @Test
     void shouldReturnEmptyRecordIfTitleCantBeDetermined() {
         //given
-        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER)).thenReturn(Mono.just(ExampleJsonResponses.ambiguousLookupResponse()));
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(ExampleJsonResponses.ambiguousLookupResponse()));
         //when
         Optional<RecordInformation> recordInformation =
                 lookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER, "fel", "fel2", "fel3").block();
         //then
-        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER);
+        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
         verifyNoMoreInteractions(lookupFacade);
         verifyNoInteractions(recordInformationConverter);
         assertThat(recordInformation).isEmpty();
@@ -127,12 +122,12 @@ class LookupServiceImplTest {
     @Test
     void shouldReturnEmptyRecordIfTitleCantBeDeterminedWithExtraWords() {
         //given
-        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER)).thenReturn(Mono.just(ExampleJsonResponses.ambiguousLookupResponse()));
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(ExampleJsonResponses.ambiguousLookupResponse()));
         //when
         Optional<RecordInformation> recordInformation =
                 lookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER, "Philipsson").block();
         //then
-        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER);
+        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
         verifyNoMoreInteractions(lookupFacade);
         verifyNoInteractions(recordInformationConverter);
         assertThat(recordInformation).isEmpty();
@@ -141,13 +136,13 @@ class LookupServiceImplTest {
     @Test
     void shouldReturnEmptyRecordIfAnyProvidedExtraWordDoesntMatchTitle() {
         //given
-        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER)).thenReturn(Mono.just(ExampleJsonResponses.ambiguousLookupResponse()));
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(ExampleJsonResponses.ambiguousLookupResponse()));
         //when
         Optional<RecordInformation> recordInformation =
                 lookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER, "Lena", "Philipsson", "Evig"
                         , "fel").block();
         //then
-        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER);
+        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
         verifyNoMoreInteractions(lookupFacade);
         verifyNoInteractions(recordInformationConverter);
         assertThat(recordInformation).isEmpty();
@@ -157,16 +152,15 @@ class LookupServiceImplTest {
     void shouldPickReleaseIdFromRelease() {
         //given
         String releaseInfoResponse = ExampleJsonResponses.releaseInfo();
-        JsonObject releaseResponse = new Gson().fromJson(releaseInfoResponse, JsonObject.class);
-        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER)).thenReturn(Mono.just(ExampleJsonResponses.lookupResponseContainingMasterRelease()));
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(ExampleJsonResponses.lookupResponseContainingMasterRelease()));
         when(lookupFacade.getByReleaseId(RELEASE_ID)).thenReturn(Mono.just(releaseInfoResponse));
         //when
         lookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER).subscribe();
         //then
-        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER);
+        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
         verify(lookupFacade).getByReleaseId(RELEASE_ID);
 
-        verify(recordInformationConverter).getRecordInformation(TITLE, releaseResponse);
+        verify(recordInformationConverter).getRecordInformation(TITLE, releaseInfoResponse);
         verifyNoMoreInteractions(lookupFacade);
         verifyNoMoreInteractions(recordInformationConverter);
     }
@@ -175,18 +169,76 @@ class LookupServiceImplTest {
     void shouldPickReleaseIdFromReleaseWhenProvidedWords() {
         //given
         String releaseInfoResponse = ExampleJsonResponses.releaseInfo();
-        JsonObject releaseResponse = new Gson().fromJson(releaseInfoResponse, JsonObject.class);
-        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER)).thenReturn(Mono.just(ExampleJsonResponses.lookupResponseContainingMasterRelease()));
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(ExampleJsonResponses.lookupResponseContainingMasterRelease()));
         when(lookupFacade.getByReleaseId(RELEASE_ID)).thenReturn(Mono.just(releaseInfoResponse));
         String extraTitleWords = "Philipsson";
         //when
         lookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER, extraTitleWords).subscribe();
         //then
-        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER);
+        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
         verify(lookupFacade).getByReleaseId(RELEASE_ID);
 
-        verify(recordInformationConverter).getRecordInformation(TITLE, releaseResponse);
+        verify(recordInformationConverter).getRecordInformation(TITLE, releaseInfoResponse);
         verifyNoMoreInteractions(lookupFacade);
         verifyNoMoreInteractions(recordInformationConverter);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldFollowPaginationUntilMatchingReleaseIsFound() {
+        //given
+        String releaseInfoResponse = ExampleJsonResponses.releaseInfo();
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(searchPage(1, 3, 1, "Other Artist - Other Title")));
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 2)).thenReturn(Mono.just(searchPage(2, 3, RELEASE_ID, TITLE)));
+        when(lookupFacade.getByReleaseId(RELEASE_ID)).thenReturn(Mono.just(releaseInfoResponse));
+        RecordInformation recordInformation = mock(RecordInformation.class);
+        when(recordInformationConverter.getRecordInformation(TITLE, releaseInfoResponse)).thenReturn(Optional.of(recordInformation));
+        //when
+        Optional<RecordInformation> result =
+                lookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER, "Lena").block();
+        //then
+        assertThat(result).contains(recordInformation);
+        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
+        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 2);
+        verify(lookupFacade).getByReleaseId(RELEASE_ID);
+        verifyNoMoreInteractions(lookupFacade);
+    }
+
+    @Test
+    void shouldNotRequestNextPageWhenFirstPageHasMatchingRelease() {
+        //given
+        String releaseInfoResponse = ExampleJsonResponses.releaseInfo();
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(searchPage(1, 3, RELEASE_ID, TITLE)));
+        when(lookupFacade.getByReleaseId(RELEASE_ID)).thenReturn(Mono.just(releaseInfoResponse));
+        //when
+        lookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER).block();
+        //then
+        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
+        verify(lookupFacade).getByReleaseId(RELEASE_ID);
+        verifyNoMoreInteractions(lookupFacade);
+    }
+
+    @Test
+    void shouldReturnEmptyRecordWhenNoPageHasMatchingRelease() {
+        //given
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(searchPage(1, 2, 1, "Other Artist - Other Title")));
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 2)).thenReturn(Mono.just(searchPage(2, 2, 2, "Other Artist - Other Title")));
+        //when
+        Optional<RecordInformation> result =
+                lookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER, "Lena").block();
+        //then
+        assertThat(result).isEmpty();
+        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 1);
+        verify(lookupFacade).findByCatalogueNumber(CATALOGUE_NUMBER, 2);
+        verifyNoMoreInteractions(lookupFacade);
+        verifyNoInteractions(recordInformationConverter);
+    }
+
+    private static String searchPage(int page, int pages, int releaseId, String title) {
+        return """
+                {
+                  "pagination": {"page": %d, "pages": %d, "per_page": 1, "items": %d},
+                  "results": [{"id": %d, "type": "release", "title": "%s", "catno": "MLPH 1622"}]
+                }
+                """.formatted(page, pages, pages, releaseId, title);
+    }
+}
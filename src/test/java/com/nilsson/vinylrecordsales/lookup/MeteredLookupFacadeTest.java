@@ -0,0 +1,53 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import com.nilsson.vinylrecordsales.domain.UpstreamMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MeteredLookupFacadeTest {
+
+    private static final String CATALOGUE_NUMBER = "MLPH 1622";
+    private static final Integer RELEASE_ID = 2229646;
+
+    @Mock
+    private LookupFacade lookupFacade;
+
+    private SimpleMeterRegistry registry;
+    private MeteredLookupFacade meteredLookupFacade;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        meteredLookupFacade = new MeteredLookupFacade(lookupFacade, new UpstreamMetrics(registry, "discogs"));
+    }
+
+    @Test
+    void shouldTimeSearchAndReleaseLookupsSeparately() {
+        //given
+        when(lookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER, 1)).thenReturn(Mono.just(ExampleJsonResponses.lookupResponse()));
+        when(lookupFacade.getByReleaseId(RELEASE_ID)).thenReturn(Mono.error(new IllegalStateException()));
+        //when
+        StepVerifier.create(meteredLookupFacade.findByCatalogueNumber(CATALOGUE_NUMBER))
+                .expectNext(ExampleJsonResponses.lookupResponse())
+                .verifyComplete();
+        StepVerifier.create(meteredLookupFacade.getByReleaseId(RELEASE_ID))
+                .verifyError(IllegalStateException.class);
+        //then
+        assertThat(registry.get("vinyl.upstream.requests")
+                .tags("upstream", "discogs", "operation", "search", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get("vinyl.upstream.requests")
+                .tags("upstream", "discogs", "operation", "release", "outcome", "error")
+                .timer().count()).isEqualTo(1);
+    }
+}
@@ -1,7 +1,5 @@
 package com.nilsson.vinylrecordsales.lookup;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
 import com.nilsson.vinylrecordsales.domain.RecordInformation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,7 +25,7 @@ class RecordInformationConverterTest {
     @Test
     void shouldConvertToRecordInformation() {
         //given
-        JsonObject releaseResponse = new Gson().fromJson(ExampleJsonResponses.releaseInfo(), JsonObject.class);
+        String releaseResponse = ExampleJsonResponses.releaseInfo();
 
         //when
         Optional<RecordInformation> recordInformation = recordInformationConverter.getRecordInformation(TITLE, releaseResponse);
@@ -46,7 +44,7 @@ class RecordInformationConverterTest {
     @Test
     void shouldConvertToRecordInformationWithoutYear() {
         //given
-        JsonObject releaseResponseWithoutYear = new Gson().fromJson(ExampleJsonResponses.releaseInfoWithoutYear(), JsonObject.class);
+        String releaseResponseWithoutYear = ExampleJsonResponses.releaseInfoWithoutYear();
 
         //when
         Optional<RecordInformation> recordInformation = recordInformationConverter.getRecordInformation(TITLE, releaseResponseWithoutYear);
@@ -67,7 +65,7 @@ class RecordInformationConverterTest {
     @Test
     void shouldConvertToRecordInformationWithoutStyle() {
         //given
-        JsonObject releaseResponseWithoutYear = new Gson().fromJson(ExampleJsonResponses.releaseInfoWithoutStyle(), JsonObject.class);
+        String releaseResponseWithoutYear = ExampleJsonResponses.releaseInfoWithoutStyle();
 
         //when
         Optional<RecordInformation> recordInformation = recordInformationConverter.getRecordInformation(TITLE, releaseResponseWithoutYear);
@@ -88,7 +86,7 @@ class RecordInformationConverterTest {
     @Test
     void shouldConvertToRecordInformationWithoutYearWhenYearIsZero() {
         //given
-        JsonObject releaseResponseWithoutYear = new Gson().fromJson(ExampleJsonResponses.releaseInfoWithZeroYear(), JsonObject.class);
+        String releaseResponseWithoutYear = ExampleJsonResponses.releaseInfoWithZeroYear();
 
         //when
         Optional<RecordInformation> recordInformation = recordInformationConverter.getRecordInformation(TITLE, releaseResponseWithoutYear);
@@ -106,4 +104,25 @@ class RecordInformationConverterTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldConvertToRecordInformationWhenOptionalFieldsAreMissing() {
+        //given
+        String releaseResponse = """
+                {"id": 1, "notes": "a [b] {c}", "images": [{"uri": "https://example.com"}], "genres": ["Rock"],
+                 "tracklist": [{"position": "A1", "title": "Only Track", "extraartists": []}]}
+                """;
+
+        //when
+        Optional<RecordInformation> recordInformation = recordInformationConverter.getRecordInformation(TITLE, releaseResponse);
+
+        //then
+        assertThat(recordInformation).hasValue(RecordInformation.builder()
+                .withTitle(TITLE)
+                .withYear(null)
+                .withGenre(List.of("Rock"))
+                .withStyle(Collections.emptyList())
+                .withTracklist(Map.of("Only Track", ""))
+                .build());
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.nilsson.vinylrecordsales.lookup;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReleaseMatcherTest {
+
+    private static final String TITLE = "Lena Philipsson - Kärleken Är Evig.";
+    private final ReleaseMatcher releaseMatcher = new ReleaseMatcher("Sweden");
+
+    @Test
+    void shouldPreferVinylPressingOfSameTitle() {
+        //given
+        JsonArray results = results(
+                result(1, "release", TITLE, "Sweden", "1986", "\"CD\", \"Album\""),
+                result(2, "release", TITLE, "Sweden", "1986", "\"Vinyl\", \"LP\", \"Album\""));
+        //when
+        ReleaseMatcher.Ranking ranking = releaseMatcher.rank(results);
+        //then
+        assertThat(ranking.candidates()).isEqualTo(2);
+        assertThat(ranking.bestMatch()).hasValueSatisfying(match -> {
+            assertThat(match.releaseId()).isEqualTo(2);
+            assertThat(match.title()).isEqualTo(TITLE);
+            assertThat(match.confidence()).isEqualTo(1.0);
+        });
+    }
+
+    @Test
+    void shouldPickTitleWithClearlyBetterEvidence() {
+        //given
+        JsonArray results = results(
+                result(1, "release", "Ariana Philipsson - Just Another Song.", "Germany", "", "\"CD\""),
+                result(2, "release", TITLE, "Sweden", "1986", "\"Vinyl\", \"LP\", \"Album\""));
+        //when
+        ReleaseMatcher.Ranking ranking = releaseMatcher.rank(results);
+        //then
+        assertThat(ranking.bestMatch()).hasValueSatisfying(match -> {
+            assertThat(match.releaseId()).isEqualTo(2);
+            assertThat(match.confidence()).isEqualTo(1.0);
+        });
+    }
+
+    @Test
+    void shouldNotPickAnyTitleWhenCandidatesAreTooClose() {
+        //given
+        JsonArray results = results(
+                result(1, "release", "Ariana Philipsson - Just Another Song.", "Sweden", "1986", "\"Vinyl\", \"LP\""),
+                result(2, "release", TITLE, "Sweden", "1986", "\"Vinyl\", \"LP\", \"Album\""));
+        //when
+        ReleaseMatcher.Ranking ranking = releaseMatcher.rank(results, "philipsson");
+        //then
+        assertThat(ranking.hasCandidates()).isTrue();
+        assertThat(ranking.bestMatch()).isEmpty();
+    }
+
+    @Test
+    void shouldRequireEveryExtraTitleWord() {
+        //given
+        JsonArray results = results(
+                result(1, "release", "Ariana Philipsson - Just Another Song.", "Sweden", "1986", "\"Vinyl\", \"LP\""),
+                result(2, "release", TITLE, "Sweden", "1986", "\"Vinyl\", \"LP\""));
+        //when
+        ReleaseMatcher.Ranking ranking = releaseMatcher.rank(results, "LENA", "evig");
+        //then
+        assertThat(ranking.candidates()).isEqualTo(1);
+        assertThat(ranking.bestMatch()).map(ReleaseMatch::releaseId).contains(2);
+    }
+
+    @Test
+    void shouldPreferConfiguredCountry() {
+        //given
+        JsonArray results = results(
+                result(1, "release", TITLE, "Germany", "1986", "\"Vinyl\", \"LP\""),
+                result(2, "release", TITLE, "Sweden", "1986", "\"Vinyl\", \"LP\""));
+        //when
+        //then
+        assertThat(releaseMatcher.rank(results).bestMatch()).map(ReleaseMatch::releaseId).contains(2);
+        assertThat(new ReleaseMatcher("").rank(results).bestMatch()).map(ReleaseMatch::releaseId).contains(1);
+    }
+
+    @Test
+    void shouldOnlyConsiderReleases() {
+        //given
+        JsonArray results = results(
+                result(1, "master", TITLE, "Sweden", "1986", "\"Vinyl\", \"LP\""),
+                result(2, "master", "Ariana Philipsson - Just Another Song.", "Sweden", "1986", "\"Vinyl\", \"LP\""));
+        //when
+        ReleaseMatcher.Ranking ranking = releaseMatcher.rank(results);
+        //then
+        assertThat(ranking.hasCandidates()).isFalse();
+        assertThat(ranking.bestMatch()).isEmpty();
+    }
+
+    @Test
+    void shouldRequirePreferredCountry() {
+        //given
+        MockEnvironment environment = new MockEnvironment();
+        //when
+        //then
+        assertThatThrownBy(() -> new ReleaseMatcher(environment)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static JsonArray results(String... results) {
+        return JsonParser.parseString("[" + String.join(",", results) + "]").getAsJsonArray();
+    }
+
+    private static String result(int id, String type, String title, String country, String year, String formats) {
+        return """
+                {"id": %d, "type": "%s", "title": "%s", "country": "%s", "year": "%s", "format": [%s]}
+                """.formatted(id, type, title, country, year, formats);
+    }
+}
@@ -0,0 +1,114 @@
+package com.nilsson.vinylrecordsales.lookup.mirror;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiscogsMirrorTest {
+
+    @TempDir
+    Path temporaryDirectory;
+    private Path mirrorDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mirrorDirectory = temporaryDirectory.resolve("mirror");
+    }
+
+    @Test
+    void shouldImportAllReleasesFromGzipDump() throws IOException {
+        //given
+        Path dump = fixtureDump(temporaryDirectory);
+        //when
+        int imported = new DiscogsDumpImporter(mirrorDirectory).importDump(dump);
+        //then
+        assertThat(imported).isEqualTo(5);
+        try (DiscogsMirror discogsMirror = new DiscogsMirror(mirrorDirectory)) {
+            assertThat(discogsMirror.size()).isEqualTo(5);
+            assertThat(mirrorDirectory).isDirectoryNotContaining("glob:**.tmp");
+        }
+    }
+
+    @Test
+    void shouldFindReleaseById() throws IOException {
+        //given
+        new DiscogsDumpImporter(mirrorDirectory).importDump(fixtureDump(temporaryDirectory));
+        //when
+        try (DiscogsMirror discogsMirror = new DiscogsMirror(mirrorDirectory)) {
+            JsonObject release = JsonParser.parseString(discogsMirror.getRelease(1).orElseThrow()).getAsJsonObject();
+            //then
+            assertThat(release.get("title").getAsString()).isEqualTo("Stockholm");
+            assertThat(release.get("artists_sort").getAsString()).isEqualTo("The Persuader");
+            assertThat(release.get("year").getAsInt()).isEqualTo(1999);
+            assertThat(release.get("country").getAsString()).isEqualTo("Sweden");
+            assertThat(release.getAsJsonArray("formats").get(0).getAsJsonObject().get("name").getAsString())
+                    .isEqualTo("Vinyl");
+            assertThat(release.getAsJsonArray("artists")).hasSize(1);
+            assertThat(release.getAsJsonArray("tracklist")).hasSize(2);
+            assertThat(release.getAsJsonArray("tracklist").get(0).getAsJsonObject().get("title").getAsString())
+                    .isEqualTo("Östermalm");
+            assertThat(discogsMirror.getRelease(2)).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldFindReleasesByNormalisedCatalogueNumber() throws IOException {
+        //given
+        new DiscogsDumpImporter(mirrorDirectory).importDump(fixtureDump(temporaryDirectory));
+        //when
+        try (DiscogsMirror discogsMirror = new DiscogsMirror(mirrorDirectory)) {
+            //then
+            assertThat(discogsMirror.findByCatalogueNumber("MLPH 1622")).hasSize(1)
+                    .first().asString().contains("\"id\":2229646");
+            assertThat(discogsMirror.findByCatalogueNumber("mlph-1622")).hasSize(1);
+            assertThat(discogsMirror.findByCatalogueNumber("POS1255")).hasSize(1);
+            assertThat(discogsMirror.findByCatalogueNumber("MLPH 1623")).isEmpty();
+            assertThat(discogsMirror.findByCatalogueNumber("")).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldJoinArtistNamesWithoutDisambiguationSuffix() throws IOException {
+        //given
+        new DiscogsDumpImporter(mirrorDirectory).importDump(fixtureDump(temporaryDirectory));
+        //when
+        try (DiscogsMirror discogsMirror = new DiscogsMirror(mirrorDirectory)) {
+            JsonObject release = JsonParser.parseString(discogsMirror.getRelease(3000001).orElseThrow()).getAsJsonObject();
+            //then
+            assertThat(release.get("artists_sort").getAsString()).isEqualTo("Ted Gärdestad & Annica Risberg");
+            assertThat(release.get("year").getAsInt()).isZero();
+        }
+    }
+
+    @Test
+    void shouldBeEmptyWhenNothingHasBeenImported() throws IOException {
+        //given
+        //when
+        try (DiscogsMirror discogsMirror = new DiscogsMirror(mirrorDirectory)) {
+            //then
+            assertThat(discogsMirror.isEmpty()).isTrue();
+            assertThat(discogsMirror.getRelease(1)).isEmpty();
+            assertThat(discogsMirror.findByCatalogueNumber("SK032")).isEmpty();
+        }
+    }
+
+    static Path fixtureDump(Path directory) throws IOException {
+        Path dump = directory.resolve("discogs_releases.xml.gz");
+        try (InputStream fixture = DiscogsMirrorTest.class.getResourceAsStream("/discogs/releases.xml");
+             OutputStream output = new GZIPOutputStream(Files.newOutputStream(dump))) {
+            fixture.transferTo(output);
+        }
+        return dump;
+    }
+}
@@ -0,0 +1,135 @@
+package com.nilsson.vinylrecordsales.lookup.mirror;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.nilsson.vinylrecordsales.domain.RecordInformation;
+import com.nilsson.vinylrecordsales.lookup.LookupFacade;
+import com.nilsson.vinylrecordsales.lookup.LookupServiceImpl;
+import com.nilsson.vinylrecordsales.lookup.RecordInformationConverter;
+import com.nilsson.vinylrecordsales.lookup.ReleaseMatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Year;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MirrorLookupFacadeTest {
+
+    @TempDir
+    Path temporaryDirectory;
+    @Mock
+    private LookupFacade lookupFacade;
+    private DiscogsMirror discogsMirror;
+    private MirrorLookupFacade mirrorLookupFacade;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path mirrorDirectory = temporaryDirectory.resolve("mirror");
+        new DiscogsDumpImporter(mirrorDirectory).importDump(DiscogsMirrorTest.fixtureDump(temporaryDirectory));
+        discogsMirror = new DiscogsMirror(mirrorDirectory);
+        mirrorLookupFacade = new MirrorLookupFacade(discogsMirror, lookupFacade, Schedulers.immediate());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        discogsMirror.close();
+    }
+
+    @Test
+    void shouldAnswerSearchFromMirror() {
+        //given
+        //when
+        String response = mirrorLookupFacade.findByCatalogueNumber("MLPH-1622").block();
+        //then
+        JsonObject result = JsonParser.parseString(response).getAsJsonObject().getAsJsonArray("results").get(0).getAsJsonObject();
+        assertThat(result.get("id").getAsInt()).isEqualTo(2229646);
+        assertThat(result.get("type").getAsString()).isEqualTo("release");
+        assertThat(result.get("title").getAsString()).isEqualTo("Lena Philipsson - Kärleken Är Evig.");
+        assertThat(result.get("catno").getAsString()).isEqualTo("MLPH 1622");
+        assertThat(result.get("year").getAsString()).isEqualTo("1986");
+        assertThat(result.getAsJsonArray("format")).containsExactly(
+                new JsonPrimitive("Vinyl"), new JsonPrimitive("LP"), new JsonPrimitive("Album"));
+        assertThat(result.get("country").getAsString()).isEqualTo("Sweden");
+        verifyNoInteractions(lookupFacade);
+    }
+
+    @Test
+    void shouldAnswerReleaseFromMirror() {
+        //given
+        //when
+        //then
+        StepVerifier.create(mirrorLookupFacade.getByReleaseId(2229646))
+                .assertNext(release -> assertThat(release).contains("\"title\":\"Kärleken Är Evig.\""))
+                .verifyComplete();
+        verifyNoInteractions(lookupFacade);
+    }
+
+    @Test
+    void shouldFallBackWhenCatalogueNumberIsNotMirrored() {
+        //given
+        when(lookupFacade.findByCatalogueNumber("LBLP 008", 1)).thenReturn(Mono.just("{\"results\":[]}"));
+        //when
+        //then
+        StepVerifier.create(mirrorLookupFacade.findByCatalogueNumber("LBLP 008"))
+                .expectNext("{\"results\":[]}")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFallBackWhenReleaseIsNotMirrored() {
+        //given
+        when(lookupFacade.getByReleaseId(42)).thenReturn(Mono.just("{}"));
+        //when
+        //then
+        StepVerifier.create(mirrorLookupFacade.getByReleaseId(42))
+                .expectNext("{}")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldLookUpRecordInformationOffline() {
+        //given
+        ReleaseMatcher releaseMatcher = new ReleaseMatcher(new MockEnvironment().withProperty("lookup.match.country", "Sweden"));
+        LookupServiceImpl lookupService = new LookupServiceImpl(mirrorLookupFacade, new RecordInformationConverter(), releaseMatcher);
+        //when
+        Optional<RecordInformation> recordInformation = lookupService.getRecordInformationByCatalogueNumber("MLPH 1622").block();
+        //then
+        assertThat(recordInformation).hasValueSatisfying(information -> {
+            assertThat(information.getTitle()).isEqualTo("Lena Philipsson - Kärleken Är Evig.");
+            assertThat(information.getYear()).contains(Year.of(1986));
+            assertThat(information.getGenre()).containsExactly("Electronic", "Pop");
+            assertThat(information.getStyle()).containsExactly("Synth-pop", "Schlager");
+            assertThat(information.getTracklist()).containsEntry("Åh Amadeus", "3:19");
+        });
+        verifyNoInteractions(lookupFacade);
+    }
+
+    @Test
+    void shouldRankMirroredVinylPressingAboveCd() {
+        //given
+        ReleaseMatcher releaseMatcher = new ReleaseMatcher(new MockEnvironment().withProperty("lookup.match.country", "Sweden"));
+        LookupServiceImpl lookupService = new LookupServiceImpl(mirrorLookupFacade, new RecordInformationConverter(), releaseMatcher);
+        //when
+        Optional<RecordInformation> recordInformation = lookupService.getRecordInformationByCatalogueNumber("MNW 88P").block();
+        //then
+        assertThat(recordInformation).hasValueSatisfying(information ->
+                assertThat(information.getYear()).contains(Year.of(1978)));
+        verifyNoInteractions(lookupFacade);
+    }
+}
@@ -0,0 +1,126 @@
+package com.nilsson.vinylrecordsales.outbox;
+
+import com.nilsson.vinylrecordsales.domain.AdvertisementRequest;
+import com.nilsson.vinylrecordsales.domain.ProductId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static com.nilsson.vinylrecordsales.outbox.OutboxEntry.Status.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class OutboxTest {
+
+    private static final String BATCH = "records.txt";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldReplayLatestStatusOfEveryEntry() throws IOException {
+        //given
+        Path file = directory.resolve("outbox.jsonl");
+        try (Outbox outbox = new Outbox(file)) {
+            OutboxEntry first = outbox.enqueue(BATCH, request(1, "MLPH 1622"));
+            outbox.enqueue(BATCH, request(2, "POS 1255"));
+            outbox.update(first.withImageUrls(List.of(new URL("https://httpstat.us/1"))).created(new ProductId(11)));
+        }
+        //when
+        try (Outbox reopened = new Outbox(file)) {
+            //then
+            assertThat(reopened.entries())
+                    .extracting(OutboxEntry::key, OutboxEntry::status)
+                    .containsExactly(
+                            tuple("records.txt/1/MLPH1622", CREATED),
+                            tuple("records.txt/2/POS1255", PENDING));
+            assertThat(reopened.get("records.txt/1/MLPH1622")).get()
+                    .extracting(OutboxEntry::productId)
+                    .isEqualTo(new ProductId(11));
+            assertThat(reopened.get("records.txt/1/MLPH1622")).get()
+                    .extracting(OutboxEntry::imageUrls)
+                    .isEqualTo(List.of(new URL("https://httpstat.us/1")));
+            assertThat(Files.readAllLines(file)).hasSize(2);
+        }
+    }
+
+    @Test
+    void shouldNotEnqueueTheSameRowTwiceInABatch() throws IOException {
+        //given
+        try (Outbox outbox = new Outbox(directory.resolve("outbox.jsonl"))) {
+            OutboxEntry first = outbox.enqueue(BATCH, request(1, "MLPH 1622"));
+            outbox.update(first.with(COMPLETED, null));
+            //when
+            OutboxEntry second = outbox.enqueue(BATCH, request(1, "mlph-1622"));
+            OutboxEntry otherBatch = outbox.enqueue("other.txt", request(1, "MLPH 1622"));
+            //then
+            assertThat(second.status()).isEqualTo(COMPLETED);
+            assertThat(otherBatch.status()).isEqualTo(PENDING);
+            assertThat(outbox.entries(BATCH)).hasSize(1);
+            assertThat(outbox.workable()).containsExactly(otherBatch);
+        }
+    }
+
+    @Test
+    void shouldKeepDuplicateCatalogueNumbersOnDifferentRowsOfABatch() throws IOException {
+        //given
+        Path file = directory.resolve("outbox.jsonl");
+        try (Outbox outbox = new Outbox(file)) {
+            //when
+            OutboxEntry first = outbox.enqueue(BATCH, request(1, "MLPH 1622"));
+            OutboxEntry second = outbox.enqueue(BATCH, request(7, "mlph-1622"));
+            //then
+            assertThat(first.key()).isNotEqualTo(second.key());
+            assertThat(outbox.workable()).containsExactly(first, second);
+        }
+        try (Outbox reopened = new Outbox(file)) {
+            assertThat(reopened.entries(BATCH))
+                    .extracting(entry -> entry.request().row())
+                    .containsExactly(1, 7);
+        }
+    }
+
+    @Test
+    void shouldMarkEntriesInterruptedWhileCreatingAsUncertain() throws IOException {
+        //given
+        Path file = directory.resolve("outbox.jsonl");
+        try (Outbox outbox = new Outbox(file)) {
+            OutboxEntry entry = outbox.enqueue(BATCH, request(1, "MLPH 1622"));
+            outbox.update(entry.with(CREATING, null));
+        }
+        //when
+        try (Outbox reopened = new Outbox(file)) {
+            //then
+            assertThat(reopened.get("records.txt/1/MLPH1622")).get()
+                    .extracting(OutboxEntry::status)
+                    .isEqualTo(UNCERTAIN);
+            assertThat(reopened.workable()).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldSkipUnreadableRecords() throws IOException {
+        //given
+        Path file = directory.resolve("outbox.jsonl");
+        try (Outbox outbox = new Outbox(file)) {
+            outbox.enqueue(BATCH, request(1, "MLPH 1622"));
+        }
+        Files.writeString(file, "{\"key\":\"records.txt/POS", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        //when
+        try (Outbox reopened = new Outbox(file)) {
+            //then
+            assertThat(reopened.entries()).extracting(OutboxEntry::key).containsExactly("records.txt/1/MLPH1622");
+        }
+    }
+
+    private static AdvertisementRequest request(int row, String catalogueNumber) {
+        return new AdvertisementRequest(row, catalogueNumber, List.of());
+    }
+}
@@ -0,0 +1,226 @@
+package com.nilsson.vinylrecordsales.outbox;
+
+import com.nilsson.vinylrecordsales.advertisement.AdvertisementFacade;
+import com.nilsson.vinylrecordsales.domain.AdvertisementInformation;
+import com.nilsson.vinylrecordsales.domain.AdvertisementInformationFactory;
+import com.nilsson.vinylrecordsales.domain.AdvertisementRequest;
+import com.nilsson.vinylrecordsales.domain.ProductId;
+import com.nilsson.vinylrecordsales.domain.RecordInformation;
+import com.nilsson.vinylrecordsales.image.ImageService;
+import com.nilsson.vinylrecordsales.lookup.LookupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nilsson.vinylrecordsales.outbox.OutboxEntry.Status.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxWorkerTest {
+
+    private static final String BATCH = "records.txt";
+    private static final String CATALOGUE_NUMBER = "MLPH 1622";
+    private static final String KEY = "records.txt/1/MLPH1622";
+    private static final ProductId PRODUCT_ID = new ProductId(11);
+
+    @TempDir
+    private Path directory;
+    @Mock
+    private LookupService lookupService;
+    @Mock
+    private AdvertisementInformationFactory adFactory;
+    @Mock
+    private AdvertisementFacade advertisementFacade;
+    @Mock
+    private ImageService imageService;
+    @Mock
+    private RecordInformation recordInformation;
+    @Captor
+    private ArgumentCaptor<Flux<URL>> imageUrls;
+    @Mock
+    private AdvertisementInformation advertisementInformation;
+
+    private Outbox outbox;
+    private OutboxWorker outboxWorker;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new Outbox(directory.resolve("outbox.jsonl"));
+        outboxWorker = new OutboxWorker(outbox, lookupService, adFactory, advertisementFacade, imageService,
+                Duration.ofSeconds(5), 2, 2, Schedulers.immediate());
+        outbox.enqueue(BATCH, new AdvertisementRequest(1, CATALOGUE_NUMBER, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        outbox.close();
+    }
+
+    @Test
+    void shouldCreateProductAndAddImages() throws MalformedURLException {
+        //given
+        givenRecordFound();
+        when(advertisementFacade.monoCreateProduct(advertisementInformation)).thenReturn(Mono.just(PRODUCT_ID));
+        when(imageService.haveStoredURLs()).thenReturn(true);
+        URL url = new URL("https://httpstat.us");
+        when(imageService.pollUrl()).thenReturn(Mono.just(url));
+        when(advertisementFacade.addImagesToProduct(eq(PRODUCT_ID), any())).thenReturn(Flux.just(url));
+        //when
+        StepVerifier.create(outboxWorker.drain()).verifyComplete();
+        //then
+        assertThat(entry().status()).isEqualTo(COMPLETED);
+        assertThat(entry().productId()).isEqualTo(PRODUCT_ID);
+        assertThat(entry().imageUrls()).hasSize(5).containsOnly(url);
+        verify(advertisementFacade).addImagesToProduct(eq(PRODUCT_ID), any());
+    }
+
+    @Test
+    void shouldTakeImageUrlsInFileOrderEvenForEntriesWithoutProduct() {
+        //given
+        outbox.enqueue(BATCH, new AdvertisementRequest(2, "POS 1255", List.of()));
+        outbox.enqueue(BATCH, new AdvertisementRequest(3, CATALOGUE_NUMBER, List.of()));
+        givenRecordFound();
+        when(lookupService.getRecordInformationByCatalogueNumber("POS 1255")).thenReturn(Mono.just(Optional.empty()));
+        when(advertisementFacade.monoCreateProduct(advertisementInformation)).thenReturn(Mono.just(PRODUCT_ID));
+        when(imageService.haveStoredURLs()).thenReturn(true);
+        AtomicInteger polled = new AtomicInteger();
+        when(imageService.pollUrl()).thenAnswer(invocation -> Mono.just(imageUrl(polled.incrementAndGet())));
+        when(advertisementFacade.addImagesToProduct(eq(PRODUCT_ID), any())).thenReturn(Flux.empty());
+        //when
+        StepVerifier.create(outboxWorker.drain()).verifyComplete();
+        //then
+        assertThat(outbox.entries(BATCH))
+                .extracting(OutboxEntry::status, entry -> entry.imageUrls().get(0).getPath())
+                .containsExactly(
+                        tuple(COMPLETED, "/1"),
+                        tuple(NOT_FOUND, "/6"),
+                        tuple(COMPLETED, "/11"));
+        verify(advertisementFacade, times(2)).addImagesToProduct(eq(PRODUCT_ID), imageUrls.capture());
+        assertThat(imageUrls.getAllValues())
+                .extracting(urls -> urls.map(URL::getPath).collectList().block())
+                .containsExactlyInAnyOrder(
+                        List.of("/1", "/2", "/3", "/4", "/5"),
+                        List.of("/11", "/12", "/13", "/14", "/15"));
+    }
+
+    @Test
+    void shouldReuseTakenImageUrlsWhenResumingCreatedEntry() throws MalformedURLException {
+        //given
+        URL url = new URL("https://httpstat.us/1");
+        outbox.update(entry().withImageUrls(List.of(url)).created(PRODUCT_ID));
+        when(advertisementFacade.addImagesToProduct(eq(PRODUCT_ID), any())).thenReturn(Flux.just(url));
+        //when
+        StepVerifier.create(outboxWorker.drain()).verifyComplete();
+        //then
+        assertThat(entry().status()).isEqualTo(COMPLETED);
+        verify(imageService, never()).pollUrl();
+        verifyNoInteractions(lookupService);
+    }
+
+    @Test
+    void shouldMarkEntryNotFoundWhenNoReleaseMatches() {
+        //given
+        when(lookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER)).thenReturn(Mono.just(Optional.empty()));
+        //when
+        StepVerifier.create(outboxWorker.drain()).verifyComplete();
+        //then
+        assertThat(entry().status()).isEqualTo(NOT_FOUND);
+        verifyNoInteractions(advertisementFacade);
+    }
+
+    @Test
+    void shouldNotRetryWhenSelloMayHaveCreatedTheProduct() {
+        //given
+        givenRecordFound();
+        when(advertisementFacade.monoCreateProduct(advertisementInformation)).thenReturn(Mono.error(new TimeoutException()));
+        //when
+        StepVerifier.create(outboxWorker.drain().then(outboxWorker.drain())).verifyComplete();
+        //then
+        assertThat(entry().status()).isEqualTo(UNCERTAIN);
+        verify(advertisementFacade, times(1)).monoCreateProduct(advertisementInformation);
+    }
+
+    @Test
+    void shouldRetryWhenSelloCouldNotBeReached() {
+        //given
+        givenRecordFound();
+        when(advertisementFacade.monoCreateProduct(advertisementInformation))
+                .thenReturn(Mono.error(new ConnectException("Connection refused")));
+        //when
+        StepVerifier.create(outboxWorker.drain()).verifyComplete();
+        //then
+        assertThat(entry().status()).isEqualTo(PENDING);
+        assertThat(entry().attempts()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailAfterMaxAttempts() {
+        //given
+        when(lookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER))
+                .thenReturn(Mono.error(new IllegalStateException("Discogs unavailable")));
+        //when
+        StepVerifier.create(outboxWorker.drain().then(outboxWorker.drain()).then(outboxWorker.drain())).verifyComplete();
+        //then
+        assertThat(entry().status()).isEqualTo(FAILED);
+        assertThat(entry().attempts()).isEqualTo(2);
+        verify(lookupService, times(2)).getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER);
+    }
+
+    @Test
+    void shouldCompleteWithoutImagesWhenAddingImagesFails() {
+        //given
+        givenRecordFound();
+        when(advertisementFacade.monoCreateProduct(advertisementInformation)).thenReturn(Mono.just(PRODUCT_ID));
+        when(imageService.haveStoredURLs()).thenReturn(true);
+        when(imageService.pollUrl()).thenAnswer(invocation -> Mono.just(imageUrl(1)));
+        when(advertisementFacade.addImagesToProduct(eq(PRODUCT_ID), any()))
+                .thenReturn(Flux.error(new IllegalStateException("Sello unavailable")));
+        //when
+        StepVerifier.create(outboxWorker.drain()).verifyComplete();
+        //then
+        assertThat(entry().status()).isEqualTo(COMPLETED_WITHOUT_IMAGES);
+        assertThat(entry().message()).isEqualTo("Sello unavailable");
+    }
+
+    private void givenRecordFound() {
+        when(lookupService.getRecordInformationByCatalogueNumber(CATALOGUE_NUMBER))
+                .thenReturn(Mono.just(Optional.of(recordInformation)));
+        when(adFactory.fromTemplate(recordInformation)).thenReturn(advertisementInformation);
+    }
+
+    private static URL imageUrl(int i) {
+        try {
+            return new URL("https://httpstat.us/" + i);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private OutboxEntry entry() {
+        return outbox.get(KEY).orElseThrow();
+    }
+}
@@ -0,0 +1,72 @@
+package com.nilsson.vinylrecordsales.progress;
+
+import com.nilsson.vinylrecordsales.domain.AdvertisementRequest;
+import com.nilsson.vinylrecordsales.domain.AdvertisementResult;
+import com.nilsson.vinylrecordsales.domain.ProductId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.nilsson.vinylrecordsales.progress.ProgressEvent.Stage.*;
+
+class ProgressPublisherTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T10:15:30Z");
+
+    private ProgressPublisher progressPublisher;
+
+    @BeforeEach
+    void setUp() {
+        progressPublisher = new ProgressPublisher(3, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void shouldReplayLatestEventsToNewSubscribers() {
+        //given
+        IntStream.rangeClosed(1, 5).forEach(i -> progressPublisher.publish(UPLOADED, "folder", "image" + i));
+        //when
+        //then
+        StepVerifier.create(progressPublisher.events().take(3))
+                .expectNext(new ProgressEvent(NOW, UPLOADED, "folder", "image3"))
+                .expectNext(new ProgressEvent(NOW, UPLOADED, "folder", "image4"))
+                .expectNext(new ProgressEvent(NOW, UPLOADED, "folder", "image5"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldMulticastEventsToEverySubscriber() {
+        //given
+        //when
+        //then
+        StepVerifier.create(progressPublisher.events().take(1))
+                .then(() -> StepVerifier.create(progressPublisher.events().take(1))
+                        .then(() -> progressPublisher.failed("MLPH 1622", new IllegalStateException("Sello unavailable")))
+                        .expectNext(new ProgressEvent(NOW, FAILED, "MLPH 1622", "Sello unavailable"))
+                        .verifyComplete())
+                .expectNext(new ProgressEvent(NOW, FAILED, "MLPH 1622", "Sello unavailable"))
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldPublishAdvertisementResults() {
+        //given
+        AdvertisementRequest request = new AdvertisementRequest(1, "MLPH 1622", List.of());
+        AdvertisementResult created = AdvertisementResult.created(request, new ProductId(11));
+        //when
+        progressPublisher.publish(created);
+        progressPublisher.publish(created.withoutImages(new IllegalStateException("Sello unavailable")));
+        progressPublisher.publish(AdvertisementResult.notFound(request));
+        //then
+        StepVerifier.create(progressPublisher.events().take(3))
+                .expectNext(new ProgressEvent(NOW, CREATED, "MLPH 1622", "11"))
+                .expectNext(new ProgressEvent(NOW, FAILED, "MLPH 1622", "Created product 11 without images: Sello unavailable"))
+                .expectNext(new ProgressEvent(NOW, NOT_FOUND, "MLPH 1622", "Could not determine a unique release for the catalogue number"))
+                .verifyComplete();
+    }
+}
@@ -1,20 +1,37 @@
 package com.nilsson.vinylrecordsales.web;
 
 import com.nilsson.vinylrecordsales.AdvertisementService;
+import com.nilsson.vinylrecordsales.domain.AdvertisementRequest;
+import com.nilsson.vinylrecordsales.domain.AdvertisementResult;
 import com.nilsson.vinylrecordsales.domain.ProductId;
+import com.nilsson.vinylrecordsales.file.AdvertisementRequestParser;
 import com.nilsson.vinylrecordsales.image.ImageService;
+import com.nilsson.vinylrecordsales.job.JobRegistry;
+import com.nilsson.vinylrecordsales.progress.ProgressPublisher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.ui.Model;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
 
+import static com.nilsson.vinylrecordsales.progress.ProgressEvent.Stage.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -27,13 +44,23 @@ class AdvertisementControllerTest {
     ImageService imageService;
     @Mock
     Model model;
+    @Mock
+    FilePart filePart;
+    @Mock
+    ProgressPublisher progressPublisher;
+    @Captor
+    ArgumentCaptor<Flux<URL>> thirdImages;
 
     private AdvertisementController advertisementController;
     private URL url;
 
     @BeforeEach
     void setUp() throws MalformedURLException {
-        advertisementController = new AdvertisementController(advertisementService, imageService);
+        advertisementController = new AdvertisementController(advertisementService, imageService, new AdvertisementRequestParser(),
+                progressPublisher, new JobRegistry(new MockEnvironment()
+                .withProperty("job.concurrency", "1")
+                .withProperty("job.maxqueued", "1")
+                .withProperty("job.history", "10")));
         url = new URL("https://httpstat.us");
     }
 
@@ -75,4 +102,99 @@ class AdvertisementControllerTest {
         verifyNoMoreInteractions(advertisementService);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void createAdsFromFileAndAddImagesToCreatedAds() {
+        //given
+        DataBuffer content = DefaultDataBufferFactory.sharedInstance.wrap("aCatalogueId\nanotherCatalogueId\n".getBytes(StandardCharsets.UTF_8));
+        when(filePart.content()).thenReturn(Flux.just(content));
+        AdvertisementResult created = AdvertisementResult.created(new AdvertisementRequest(1, "aCatalogueId", List.of()), new ProductId(11));
+        AdvertisementResult notFound = AdvertisementResult.notFound(new AdvertisementRequest(2, "anotherCatalogueId", List.of()));
+        when(advertisementService.createAdvertisements(any())).thenAnswer(invocation -> invocation.<Flux<AdvertisementRequest>>getArgument(0)
+                .map(request -> request.row() == 1 ? created : notFound));
+        when(imageService.haveStoredURLs()).thenReturn(true);
+        when(imageService.pollUrl()).thenReturn(Mono.just(url));
+        when(advertisementService.addImages(any(), any())).thenReturn(Flux.just(url, url, url, url, url));
+        //when
+        Flux<AdvertisementResult> results = advertisementController.createAds(Mono.just(filePart));
+        //then
+        StepVerifier.create(results)
+                .expectNext(created, notFound)
+                .verifyComplete();
+        verify(advertisementService).createAdvertisements(any());
+        verify(advertisementService).addImages(eq(new ProductId(11)), any());
+        verifyNoMoreInteractions(advertisementService);
+        verify(progressPublisher).publish(created);
+        verify(progressPublisher).publish(notFound);
+    }
+
+    @Test
+    void discardImagesOfRowWithoutProductSoLaterRowsGetTheirOwn() {
+        //given
+        DataBuffer content = DefaultDataBufferFactory.sharedInstance.wrap("first\nnotFound\nthird\n".getBytes(StandardCharsets.UTF_8));
+        when(filePart.content()).thenReturn(Flux.just(content));
+        AdvertisementResult first = AdvertisementResult.created(new AdvertisementRequest(1, "first", List.of()), new ProductId(11));
+        AdvertisementResult notFound = AdvertisementResult.notFound(new AdvertisementRequest(2, "notFound", List.of()));
+        AdvertisementResult third = AdvertisementResult.created(new AdvertisementRequest(3, "third", List.of()), new ProductId(13));
+        when(advertisementService.createAdvertisements(any())).thenAnswer(invocation -> invocation.<Flux<AdvertisementRequest>>getArgument(0)
+                .map(request -> switch (request.row()) {
+                    case 1 -> first;
+                    case 2 -> notFound;
+                    default -> third;
+                }));
+        when(imageService.haveStoredURLs()).thenReturn(true);
+        List<URL> queuedUrls = IntStream.rangeClosed(1, 15).mapToObj(AdvertisementControllerTest::imageUrl).toList();
+        Iterator<URL> polls = queuedUrls.iterator();
+        when(imageService.pollUrl()).thenAnswer(invocation -> Mono.just(polls.next()));
+        when(advertisementService.addImages(eq(new ProductId(11)), any())).thenReturn(Flux.empty());
+        when(advertisementService.addImages(eq(new ProductId(13)), thirdImages.capture())).thenReturn(Flux.empty());
+        //when
+        Flux<AdvertisementResult> results = advertisementController.createAds(Mono.just(filePart));
+        //then
+        StepVerifier.create(results)
+                .expectNext(first, notFound, third)
+                .verifyComplete();
+        StepVerifier.create(thirdImages.getValue())
+                .expectNextSequence(queuedUrls.subList(10, 15))
+                .verifyComplete();
+    }
+
+    @Test
+    void publishProgressOfCreatedAd() {
+        //given
+        final RecordFinder recordFinder = new RecordFinder();
+        recordFinder.setCatalogueId("aCatalogueId");
+        when(imageService.haveStoredURLs()).thenReturn(true);
+        when(advertisementService.createAdvertisement(recordFinder.getCatalogueId(), null)).thenReturn(Mono.just(new ProductId(11)));
+        when(advertisementService.addImages(any(), any())).thenReturn(Flux.just(url, url));
+        //when
+        advertisementController.createAd(recordFinder, model);
+        //then
+        verify(progressPublisher).publish(CREATED, "aCatalogueId", 11);
+        verify(progressPublisher, times(2)).publish(ATTACHED, "aCatalogueId", url);
+        verifyNoMoreInteractions(progressPublisher);
+    }
+
+    @Test
+    void publishFailureOfAd() {
+        //given
+        final RecordFinder recordFinder = new RecordFinder();
+        recordFinder.setCatalogueId("aCatalogueId");
+        when(imageService.haveStoredURLs()).thenReturn(true);
+        IllegalStateException error = new IllegalStateException("Sello unavailable");
+        when(advertisementService.createAdvertisement(recordFinder.getCatalogueId(), null)).thenReturn(Mono.error(error));
+        //when
+        advertisementController.createAd(recordFinder, model);
+        //then
+        verify(progressPublisher).failed("aCatalogueId", error);
+        verifyNoMoreInteractions(progressPublisher);
+    }
+
+    private static URL imageUrl(int i) {
+        try {
+            return new URL("https://httpstat.us/" + i);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}